@@ -0,0 +1,100 @@
+package com.glance.domain.stocks.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KisWebSocketService의 기존 split 기반 파싱과 KisFrameScanner 비교.
+ * 실행: ./gradlew jmh -Pjmh.includes=KisFrameScannerBenchmark (할당량은 -prof gc로 확인)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KisFrameScannerBenchmark {
+
+    private String krxFrame;
+    private String usFrame;
+    private KisFrameScanner scanner;
+
+    @Setup
+    public void setUp() {
+        krxFrame = "0|H0STCNT0|001|" + caretRecord(46, 0, "005930", 1, "093015", 2, "71500", 3, "2", 4, "500",
+                5, "0.70", 42, "2");
+        usFrame = "0|HDFSCNT0|001|" + caretRecord(26, 0, "DNASNVDA", 1, "NVDA", 11, "135.2100", 12, "5", 13,
+                "1.4300", 14, "-1.05");
+        scanner = new KisFrameScanner();
+    }
+
+    @Benchmark
+    public void splitKorea(Blackhole bh) {
+        String[] parts = krxFrame.split("\\|");
+        String[] fields = parts[3].split("\\^");
+        bh.consume(parts[1]);
+        bh.consume(fields[0]);
+        bh.consume(fields[1]);
+        bh.consume(fields[2]);
+        bh.consume(fields[4]);
+        bh.consume(fields[5]);
+        bh.consume("4".equals(fields[42]));
+    }
+
+    @Benchmark
+    public void scanKorea(Blackhole bh) {
+        scanner.scan(krxFrame);
+        bh.consume(scanner.trId());
+        bh.consume(scanner.field(0));
+        bh.consume(scanner.field(1));
+        bh.consume(scanner.field(2));
+        bh.consume(scanner.field(4));
+        bh.consume(scanner.field(5));
+        bh.consume(scanner.fieldEquals(42, '4'));
+    }
+
+    @Benchmark
+    public void splitUs(Blackhole bh) {
+        String[] parts = usFrame.split("\\|");
+        String[] fields = parts[3].split("\\^");
+        bh.consume(parts[1]);
+        bh.consume(fields[0].substring(4));
+        bh.consume(fields[1]);
+        bh.consume(fields[11]);
+        bh.consume("4".equals(fields[12]) || "5".equals(fields[12]));
+        bh.consume(fields[13]);
+        bh.consume(fields[14]);
+    }
+
+    @Benchmark
+    public void scanUs(Blackhole bh) {
+        scanner.scan(usFrame);
+        bh.consume(scanner.trId());
+        bh.consume(scanner.field(0, 4));
+        bh.consume(scanner.field(1));
+        bh.consume(scanner.field(11));
+        bh.consume(scanner.fieldEquals(12, '4') || scanner.fieldEquals(12, '5'));
+        bh.consume(scanner.field(13));
+        bh.consume(scanner.field(14));
+    }
+
+    /**
+     * Builds a caret record of {@code size} fields, filling the given
+     * index/value pairs and padding the rest with plausible numeric values.
+     */
+    private static String caretRecord(int size, Object... indexValuePairs) {
+        String[] fields = new String[size];
+        for (int i = 0; i < size; i++) {
+            fields[i] = String.valueOf(1000 + i * 7);
+        }
+        for (int i = 0; i < indexValuePairs.length; i += 2) {
+            fields[(Integer) indexValuePairs[i]] = (String) indexValuePairs[i + 1];
+        }
+        return String.join("^", fields);
+    }
+}
@@ -0,0 +1,86 @@
+package com.glance.domain.stocks.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 페이로드: 기존 JSON(StockPriceMessage)과 PriceTickCodec 바이너리의 인코딩/디코딩 비용 비교.
+ * 디코딩은 리스너와 같이 STOMP로 보낼 StockPriceMessage까지 만드는 비용.
+ * 실행: ./gradlew jmh -Pjmh.includes=PriceTickCodecBenchmark (할당량은 -prof gc로 확인)
+ * 결과의 payloadBytes 열이 페이로드 크기.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceTickCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PriceTick tick;
+    private byte[] json;
+    private byte[] binary;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        tick = PriceTick.builder()
+                .symbol("005930")
+                .price(71500)
+                .change(-500)
+                .changeRate(-69)
+                .scale(0)
+                .volume(12_345_678)
+                .epochNanos(MarketUtils.koreaEpochNanos(20250303, 93015))
+                .marketStatus(PriceTick.MarketStatus.REGULAR)
+                .venue(PriceTick.Venue.KRX)
+                .ingestNanos(EpochNanoClock.now())
+                .build();
+        json = objectMapper.writeValueAsBytes(tick.toMessage());
+        binary = PriceTickCodec.encode(tick);
+    }
+
+    @Benchmark
+    public byte[] encodeJson(Size size) throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(tick.toMessage());
+        size.payloadBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(Size size) {
+        byte[] payload = PriceTickCodec.encode(tick);
+        size.payloadBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public StockPriceMessage decodeJson() throws Exception {
+        return objectMapper.readValue(json, StockPriceMessage.class);
+    }
+
+    @Benchmark
+    public StockPriceMessage decodeBinary() {
+        return PriceTickCodec.decode("005930", binary).toMessage();
+    }
+}
@@ -6,8 +6,10 @@ import com.glance.domain.stocks.entity.SecurityType;
 import com.glance.domain.stocks.entity.StockStatus;
 import com.glance.domain.stocks.entity.StockSymbol;
 import com.glance.domain.stocks.repository.StockSymbolRepository;
+import com.glance.domain.stocks.service.StockSymbolCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,7 @@ public class KoreaStockMasterService {
 
     private final StockSymbolRepository stockSymbolRepository;
     private final KisProperties kisProperties;
+    private final ApplicationEventPublisher eventPublisher;
     private final RestClient restClient = RestClient.create();
 
     // Schedule: 05:00 KST every day
@@ -47,6 +50,7 @@ public class KoreaStockMasterService {
     public void syncKoreaStocks() {
         processMarket(kisProperties.getKospiMasterUrl(), Market.KOSPI);
         processMarket(kisProperties.getKosdaqMasterUrl(), Market.KOSDAQ);
+        eventPublisher.publishEvent(new StockSymbolCache.MasterSynced("KR"));
     }
 
     private void processMarket(String url, Market market) {
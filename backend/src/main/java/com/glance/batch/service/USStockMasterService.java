@@ -5,8 +5,10 @@ import com.glance.domain.stocks.entity.SecurityType;
 import com.glance.domain.stocks.entity.StockStatus;
 import com.glance.domain.stocks.entity.StockSymbol;
 import com.glance.domain.stocks.repository.StockSymbolRepository;
+import com.glance.domain.stocks.service.StockSymbolCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ import java.util.zip.ZipInputStream;
 public class USStockMasterService {
 
     private final StockSymbolRepository stockSymbolRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final RestTemplate restTemplate = new RestTemplate();
 
     private static final String NASDAQ_URL = "https://new.real.download.dws.co.kr/common/master/nasmst.cod.zip";
@@ -49,6 +52,7 @@ public class USStockMasterService {
         processMarket(NASDAQ_URL, Market.NASDAQ);
         processMarket(NYSE_URL, Market.NYSE);
         processMarket(AMEX_URL, Market.AMEX);
+        eventPublisher.publishEvent(new StockSymbolCache.MasterSynced("US"));
     }
 
     private void processMarket(String url, Market market) {
@@ -1,15 +1,26 @@
 package com.glance.common.config;
 
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.service.PriceDeltaStream;
+import com.glance.domain.stocks.service.PriceFanoutHub;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final PriceFanoutHub priceFanoutHub;
+    private final PriceDeltaStream priceDeltaStream;
+    private final KisProperties kisProperties;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 클라이언트에서 구독할 경로의 접두사
@@ -27,6 +38,22 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setApplicationDestinationPrefixes("/api/v1/pub");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 시세 토픽 SUBSCRIBE/UNSUBSCRIBE를 PriceFanoutHub 구독 테이블에도 반영
+        // v2 스냅샷은 허브에 구독이 등록된 뒤 보내야 하므로 순서 유지
+        registration.interceptors(priceFanoutHub, priceDeltaStream);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 전송 한도는 PriceFanoutHub 아래의 ConflatingSessionDecorator와 맞춤
+        KisProperties.Fanout fanout = kisProperties.getFanout();
+        registration.setSendTimeLimit(fanout.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(fanout.getSendBufferSizeLimit())
+                .addDecoratorFactory(priceFanoutHub::decorate);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket 연결 엔드포인트
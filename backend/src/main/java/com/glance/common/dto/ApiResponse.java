@@ -29,4 +29,8 @@ public class ApiResponse<T> {
     public static ApiResponse<Void> fail(String message) {
         return new ApiResponse<>(false, message, null);
     }
+
+    public static <T> ApiResponse<T> fail(String message, T data) {
+        return new ApiResponse<>(false, message, data);
+    }
 }
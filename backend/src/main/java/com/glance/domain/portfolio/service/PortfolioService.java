@@ -16,6 +16,7 @@ import com.glance.domain.portfolio.repository.PortfolioRepository;
 import com.glance.domain.stocks.entity.Market;
 import com.glance.domain.stocks.entity.StockSymbol;
 import com.glance.domain.stocks.repository.StockSymbolRepository;
+import com.glance.domain.stocks.service.StockSymbolCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,7 +34,8 @@ public class PortfolioService {
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioItemRepository portfolioItemRepository;
-    private final StockSymbolRepository stockSymbolRepository;
+    private final StockSymbolRepository stockSymbolRepository; // FK 참조용 (getReferenceById, 조회 쿼리 없음)
+    private final StockSymbolCache stockSymbolCache;
     private final MemberService memberService;
     private final PortfolioGroupMemberRepository portfolioGroupMemberRepository;
 
@@ -108,10 +110,12 @@ public class PortfolioService {
             } catch (IllegalArgumentException e) {
                 throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
             }
-            stockSymbol = stockSymbolRepository.findBySymbolAndMarket(request.symbol(), market)
+            stockSymbol = stockSymbolCache.find(request.symbol(), market)
+                    .map(info -> stockSymbolRepository.getReferenceById(info.id()))
                     .orElseThrow(() -> new BusinessException(ErrorCode.ENTITY_NOT_FOUND));
         } else {
-            stockSymbol = stockSymbolRepository.findBySymbol(request.symbol())
+            stockSymbol = stockSymbolCache.find(request.symbol())
+                    .map(info -> stockSymbolRepository.getReferenceById(info.id()))
                     .orElseThrow(() -> new BusinessException(ErrorCode.ENTITY_NOT_FOUND));
         }
 
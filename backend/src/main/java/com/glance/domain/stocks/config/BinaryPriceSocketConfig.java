@@ -0,0 +1,34 @@
+package com.glance.domain.stocks.config;
+
+import com.glance.domain.stocks.service.BinaryPriceSocketHandler;
+import com.glance.global.security.JwtHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Exposes {@link BinaryPriceSocketHandler} as a raw WebSocket endpoint next to
+ * the STOMP/SockJS one. The path is under /ws/** (permitted by
+ * SecurityConfig); the JWT is checked on the handshake instead.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class BinaryPriceSocketConfig implements WebSocketConfigurer {
+
+    private final BinaryPriceSocketHandler binaryPriceSocketHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+    private final KisProperties kisProperties;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        KisProperties.BinarySocket config = kisProperties.getBinarySocket();
+        if (!config.isEnabled())
+            return;
+        registry.addHandler(binaryPriceSocketHandler, config.getPath())
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setAllowedOriginPatterns("*");
+    }
+}
@@ -1,10 +1,14 @@
 package com.glance.domain.stocks.config;
 
+import com.glance.domain.stocks.service.KisIngestPipeline;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "kis")
 @Getter
@@ -21,4 +25,241 @@ public class KisProperties {
     // Master File Download URLs (Public)
     private String kospiMasterUrl = "https://new.real.download.dws.co.kr/common/master/kospi_code.mst.zip";
     private String kosdaqMasterUrl = "https://new.real.download.dws.co.kr/common/master/kosdaq_code.mst.zip";
+
+    // Real-time WebSocket session pool
+    private Pool pool = new Pool();
+
+    // Single upstream owner across backend instances (Redis lease)
+    private Leader leader = new Leader();
+
+    // Reconnect / stall detection / post-reconnect backfill
+    private Reconnect reconnect = new Reconnect();
+
+    // Debounced subscribe/unsubscribe frame emission
+    private Subscription subscription = new Subscription();
+
+    // Socket thread -> consumer thread hand-off of raw frames
+    private Ingest ingest = new Ingest();
+
+    // Raw frame recording / offline replay
+    private Journal journal = new Journal();
+
+    // KRX + NXT merge into one price stream per Korean symbol
+    private Consolidation consolidation = new Consolidation();
+
+    // Latest-value-wins per-symbol rate limit before Redis publish
+    private Conflation conflation = new Conflation();
+
+    // Node-to-node price transport over Redis (pub/sub or streams)
+    private Distribution distribution = new Distribution();
+
+    // Per-node leased subscription counts (stock:refs:{symbol})
+    private RefCount refCount = new RefCount();
+
+    // Encode-once STOMP delivery of real-time prices
+    private Fanout fanout = new Fanout();
+
+    // One multi-symbol frame per session per window (/api/v1/sub/watchlist)
+    private Watchlist watchlist = new Watchlist();
+
+    // Raw WebSocket endpoint with binary tick frames (no SockJS/STOMP)
+    private BinarySocket binarySocket = new BinarySocket();
+
+    // Cluster-wide last published price per symbol (snapshots, REST quotes)
+    private LastValue lastValue = new LastValue();
+
+    // Local KIS-protocol server for load tests (profile kis-sim)
+    private Simulator simulator = new Simulator();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int sessionsPerKey = 1;
+        // KIS 세션당 실시간 등록 한도 (국내 종목은 H0STCNT0 + H0NXMKO0 로 2개 사용)
+        private int maxRegistrationsPerSession = 41;
+        private int virtualNodes = 64;
+        // Extra app keys beyond kis.app-key, each gets its own approval key and sessions
+        private List<AppCredential> additionalKeys = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Leader {
+        // false면 리더 선출 없이 이 인스턴스가 항상 KIS 세션을 가짐 (단일 인스턴스)
+        private boolean enabled = true;
+        private String key = "kis:leader";
+        // 리더가 죽으면 최대 lease-ms + renew-interval-ms 후 다른 노드가 이어받음
+        private long leaseMs = 6000;
+        private long renewIntervalMs = 2000;
+        // 리더가 Redis의 구독 목록(kis:desired)을 다시 읽는 주기, 변경 알림이 오면 즉시
+        private long desiredSyncMs = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Reconnect {
+        private long initialBackoffMs = 1000;
+        private long maxBackoffMs = 60000;
+        private double backoffMultiplier = 2.0;
+        // 0.0 ~ 1.0, 대기 시간 중 무작위로 줄일 비율 (동시 재접속 분산)
+        private double jitter = 0.5;
+        // 장중인데 이 시간 동안 프레임이 없으면 세션이 죽은 것으로 보고 재접속
+        private long stallTimeoutSeconds = 30;
+        private boolean backfillEnabled = true;
+        private long backfillIntervalMs = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Subscription {
+        // 이 주기마다 원하는 구독 상태와 실제 등록 상태를 비교해 차이만 전송
+        private long reconcileIntervalMs = 250;
+        private double maxFramesPerSecond = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Ingest {
+        // 세션별 링 버퍼 크기 (2의 거듭제곱으로 올림)
+        private int ringSize = 8192;
+        private KisIngestPipeline.OverflowPolicy overflowPolicy = KisIngestPipeline.OverflowPolicy.DROP_NEWEST;
+    }
+
+    @Getter
+    @Setter
+    public static class Journal {
+        private boolean enabled = false;
+        private String directory = "./journal";
+        // 세그먼트 파일을 이 크기 단위로 매핑
+        private int chunkBytes = 64 * 1024 * 1024;
+        // 지정하면 기동 시 해당 세그먼트를 재생 (예: ./journal/kis-frames-20250303.journal)
+        // 재생 시세는 실시간 채널로 발행되므로 kis-sim 프로파일에서만 재생 (그 외에는 무시)
+        private String replayFile;
+        // 1.0 = 녹화 속도, N = N배속, 0 이하 = 최대 속도
+        private double replaySpeed = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Consolidation {
+        private boolean enabled = true;
+        // 주 거래소(정규장 KRX, 그 외 NXT) 체결이 이 시간 이상 없으면 다른 거래소 시세를 발행
+        private long primaryStaleMs = 3000;
+    }
+
+    @Getter
+    @Setter
+    public static class Conflation {
+        private boolean enabled = true;
+        // 종목당 초당 최대 발행 횟수 (사이 구간의 틱은 최신 값만 남김)
+        private int maxUpdatesPerSecond = 4;
+        // 플러시 주기, 조용한 종목의 최대 추가 지연
+        private long flushTickMs = 25;
+    }
+
+    @Getter
+    @Setter
+    public static class Distribution {
+        // 클러스터의 모든 노드가 같은 값을 써야 함
+        private Transport transport = Transport.PUBSUB;
+        // STREAMS: 종목을 이 개수의 스트림(stock.stream.{n})으로 나눠 기록
+        private int shards = 16;
+        // 스트림당 보관 길이 (XADD MAXLEN ~), 끊겼다 돌아온 노드가 따라잡을 수 있는 범위
+        private long maxLen = 10000;
+        private long pollTimeoutMs = 1000;
+        private int batchSize = 500;
+        // 재시작 후 마지막으로 읽은 위치부터 이어 읽기 위한 이름 (기본: 호스트명)
+        private String consumerName;
+        private long offsetFlushMs = 1000;
+        // 실시간 체결의 Redis 페이로드 형식, 수신 측은 첫 바이트로 구분하므로 노드별로 바꿔도 됨
+        private Codec codec = Codec.JSON;
+        // 수신한 시세를 종목 해시로 나눠 처리하는 스레드 수 (같은 종목은 항상 같은 스레드, 순서 유지)
+        // 0이면 Redis 수신 스레드에서 바로 처리
+        private int dispatchLanes = 4;
+        // 스레드당 대기열 길이, 넘치면 밀린 종목의 오래된 시세부터 버림 (종목별 최신 시세는 남김)
+        private int dispatchQueueCapacity = 2048;
+
+        public enum Transport {
+            PUBSUB, STREAMS
+        }
+
+        public enum Codec {
+            JSON, BINARY
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class RefCount {
+        // 이 시간 동안 하트비트가 없는 노드의 구독 수는 전체 합계에서 빠지고 정리됨
+        private long leaseMs = 30_000;
+        // 하트비트 주기, lease-ms보다 충분히 짧게
+        private long heartbeatMs = 5_000;
+        // 죽은 노드 정리 시 SCAN 한 번에 가져올 키 수
+        private int scanCount = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Fanout {
+        // false면 시세도 SimpleBroker(convertAndSend)로 전송
+        private boolean enabled = true;
+        // 한 프레임 전송이 이보다 오래 걸리는 세션은 끊음
+        private int sendTimeLimitMs = 10_000;
+        // 세션별 미전송 바이트 한도, 넘으면 끊음 (시세는 종목별 최신값만 남으므로 대개 브로커 프레임이 원인)
+        private int sendBufferSizeLimit = 512 * 1024;
+        // /metrics에 보여줄 지연이 큰 세션 수
+        private int lagReportSize = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Watchlist {
+        private boolean enabled = true;
+        // 이 주기 동안 모인 관심 종목 시세를 한 프레임으로 전송, 종목당 최신값만
+        private long windowMs = 250;
+    }
+
+    @Getter
+    @Setter
+    public static class BinarySocket {
+        private boolean enabled = true;
+        // JWT는 Authorization 헤더 또는 ?token= 으로 전달
+        private String path = "/ws/prices";
+        // 세션당 구독 가능한 종목 수, 넘으면 연결을 끊음
+        private int maxSymbolsPerSession = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class LastValue {
+        // 종목별 Redis 해시(stock:last:{symbol})의 만료, 더 이상 체결이 없는 종목 정리용
+        private long keyTtlMs = 86_400_000;
+        // 이보다 오래된 값은 무시하고 KIS REST로 다시 조회 (장 마감 후 등)
+        private long maxAgeMs = 60_000;
+        // 노드 로컬 near-cache에 둘 최대 종목 수
+        private int nearCacheSize = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Simulator {
+        // 등록된 종목(tr_key)마다 초당 생성할 체결 수
+        private double ticksPerSecond = 2.0;
+        // 구독과 무관하게 열린 세션들에 나눠 보내는 가상 종목 수 (국내 9xxxxx, 해외 SIMxxxx)
+        private int symbolCount = 0;
+        private int usSymbolCount = 0;
+        // KIS와 동일하게 세션당 등록 한도를 넘으면 MAX SUBSCRIBE OVER 응답
+        private int maxRegistrationsPerSession = 41;
+        // 생성 주기, 이 간격마다 누적된 만큼의 체결을 한꺼번에 전송
+        private long emitIntervalMs = 10;
+        private long seed = 42;
+    }
+
+    @Getter
+    @Setter
+    public static class AppCredential {
+        private String appKey;
+        private String appSecret;
+    }
 }
@@ -0,0 +1,28 @@
+package com.glance.domain.stocks.config;
+
+import com.glance.domain.stocks.service.KisSimulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Exposes the local KIS simulator as a raw WebSocket endpoint. With the
+ * {@code kis-sim} profile, kis.ws-url points here instead of the live server.
+ */
+@Configuration
+@Profile("kis-sim")
+@EnableWebSocket
+@RequiredArgsConstructor
+public class KisSimulatorConfig implements WebSocketConfigurer {
+
+    private final KisSimulator kisSimulator;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(kisSimulator, "/kis-sim/websocket")
+                .setAllowedOriginPatterns("*");
+    }
+}
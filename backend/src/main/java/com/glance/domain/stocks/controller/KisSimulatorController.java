@@ -0,0 +1,43 @@
+package com.glance.domain.stocks.controller;
+
+import com.glance.domain.stocks.service.KisSimulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * KIS OAuth endpoints of the local simulator, so KisAccessTokenService works
+ * unchanged when kis.url points here (profile kis-sim). Any app key is accepted.
+ */
+@RestController
+@Profile("kis-sim")
+@RequestMapping("/kis-sim")
+@RequiredArgsConstructor
+public class KisSimulatorController {
+
+    private final KisSimulator kisSimulator;
+
+    @PostMapping("/oauth2/Approval")
+    public Map<String, Object> approval() {
+        return Map.of("approval_key", UUID.randomUUID().toString());
+    }
+
+    @PostMapping("/oauth2/tokenP")
+    public Map<String, Object> token() {
+        return Map.of(
+                "access_token", "SIM-" + UUID.randomUUID(),
+                "token_type", "Bearer",
+                "expires_in", 86400);
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return kisSimulator.stats();
+    }
+}
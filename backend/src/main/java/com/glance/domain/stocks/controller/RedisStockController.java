@@ -27,6 +27,7 @@ public class RedisStockController {
         Map<String, Object> status = new HashMap<>();
         status.put("symbol", symbol);
         status.put("localCount", redisStockService.getLocalSubscriptionCounts().getOrDefault(symbol, 0));
+        status.put("nodeCount", redisStockService.getNodeSubscriptionCounts().getOrDefault(symbol, 0));
         status.put("globalCount", redisStockService.getGlobalSubscriptionCount(symbol));
         return ResponseEntity.ok(status);
     }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import com.glance.domain.stocks.dto.StockPriceMessage;
 import com.glance.domain.stocks.service.KisService;
+import com.glance.domain.stocks.service.PriceDeltaStream;
 
 @RestController
 @RequestMapping("/api/v1/stocks")
@@ -24,10 +25,11 @@ public class StockPriceController {
     private final com.glance.domain.stocks.service.RedisStockService redisStockService;
     private final KisService kisService;
     private final com.glance.domain.stocks.service.StockPricePollingService stockPricePollingService;
+    private final PriceDeltaStream priceDeltaStream;
 
     @GetMapping("/{symbol}/price")
     public ApiResponse<?> getCurrentPrice(@PathVariable String symbol) {
-        StockPriceMessage message = kisService.getCurrentPrice(symbol);
+        StockPriceMessage message = kisService.getLatestPrice(symbol);
         if (message != null) {
             return ApiResponse.success(message);
         }
@@ -52,26 +54,35 @@ public class StockPriceController {
     @MessageMapping("/stocks/subscribe/{symbol}")
     public void handleSubscribe(@DestinationVariable String symbol, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
+        if (sessionId == null)
+            return;
 
-        // Track that this session is watching this symbol
-        if (sessionId != null) {
-            redisStockService.addSessionSubscription(sessionId, symbol);
-        }
+        // 1. 세션에 종목 추가 + 이 노드의 카운트 증가 (한 번의 스크립트, 이미 있던 종목이면 -1)
+        long total = redisStockService.addSessionSymbol(sessionId, symbol);
+        if (total < 0)
+            return;
 
-        // 1. Subscribe to Redis Channel (Local Instance) so we can broadcast to this
+        // 2. Subscribe to Redis Channel (Local Instance) so we can broadcast to this
         // user
         redisStockService.subscribeToChannel(symbol);
 
-        // 2. Increment Redis Reference Count
-        redisStockService.subscribe(symbol);
-
-        // 3. Always attempt to subscribe to KIS (Global)
-        kisWebSocketService.subscribe(symbol);
+        // 3. First subscriber in the cluster -> Connect to KIS WS
+        if (total == 1)
+            kisWebSocketService.subscribe(symbol);
 
         // 4. 해외주식이면 폴링 폴백 대상으로 등록
         stockPricePollingService.registerUssSymbol(symbol);
     }
 
+    @MessageMapping("/stocks-v2/{symbol}/resync")
+    public void handleResync(@DestinationVariable String symbol, SimpMessageHeaderAccessor headerAccessor) {
+        // v2 스트림에서 일련번호 누락을 감지한 클라이언트에게 스냅샷을 다시 보냄
+        String sessionId = headerAccessor.getSessionId();
+        if (sessionId != null) {
+            priceDeltaStream.resync(sessionId, symbol);
+        }
+    }
+
     @PostMapping("/{symbol}/subscribe")
     public ApiResponse<Void> subscribe(@PathVariable String symbol) {
         redisStockService.subscribe(symbol);
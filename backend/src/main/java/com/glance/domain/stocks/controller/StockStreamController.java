@@ -0,0 +1,100 @@
+package com.glance.domain.stocks.controller;
+
+import com.glance.common.dto.ApiResponse;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import com.glance.domain.stocks.service.BinaryPriceSocketHandler;
+import com.glance.domain.stocks.service.KisLeaderElection;
+import com.glance.domain.stocks.service.KisWebSocketService;
+import com.glance.domain.stocks.service.LastPriceCache;
+import com.glance.domain.stocks.service.PriceConflator;
+import com.glance.domain.stocks.service.PriceDeltaStream;
+import com.glance.domain.stocks.service.PriceFanoutHub;
+import com.glance.domain.stocks.service.RedisPriceStream;
+import com.glance.domain.stocks.service.StockPriceRedisListener;
+import com.glance.domain.stocks.service.TickLatencyRecorder;
+import com.glance.domain.stocks.service.VenueConsolidator;
+import com.glance.domain.stocks.service.WatchlistBatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 실시간 시세 파이프라인 상태 조회 (KIS 세션, 처리량 등 운영용, 로그인 필요).
+ */
+@RestController
+@RequestMapping("/api/v1/stocks/stream")
+@RequiredArgsConstructor
+public class StockStreamController {
+
+    private final KisWebSocketService kisWebSocketService;
+    private final KisLeaderElection kisLeaderElection;
+    private final PriceConflator priceConflator;
+    private final VenueConsolidator venueConsolidator;
+    private final TickLatencyRecorder tickLatencyRecorder;
+    private final StockPriceRedisListener stockPriceRedisListener;
+    private final RedisPriceStream redisPriceStream;
+    private final LastPriceCache lastPriceCache;
+    private final PriceFanoutHub priceFanoutHub;
+    private final PriceDeltaStream priceDeltaStream;
+    private final WatchlistBatcher watchlistBatcher;
+    private final BinaryPriceSocketHandler binaryPriceSocketHandler;
+
+    @GetMapping("/sessions")
+    public ApiResponse<Map<String, Object>> getSessions() {
+        Map<String, Object> status = kisWebSocketService.getSessionStatus();
+        status.put("leadership", kisLeaderElection.status());
+        return ApiResponse.success(status);
+    }
+
+    @GetMapping("/metrics")
+    public ApiResponse<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("ingest", kisWebSocketService.getIngestStats());
+        metrics.put("consolidation", venueConsolidator.stats());
+        metrics.put("conflation", priceConflator.stats());
+        metrics.put("redisListener", stockPriceRedisListener.stats());
+        metrics.put("distribution", redisPriceStream.stats());
+        metrics.put("lastPrice", lastPriceCache.stats());
+        metrics.put("fanout", priceFanoutHub.stats());
+        metrics.put("deltaStream", priceDeltaStream.stats());
+        metrics.put("watchlist", watchlistBatcher.stats());
+        metrics.put("binarySocket", binaryPriceSocketHandler.stats());
+        return ApiResponse.success(metrics);
+    }
+
+    /**
+     * KIS 소켓 수신부터 구간별(파싱, Redis 발행/수신, STOMP 전송) 누적 지연 분포.
+     */
+    @GetMapping("/latency")
+    public ApiResponse<Map<String, Object>> getLatency() {
+        return ApiResponse.success(tickLatencyRecorder.stats());
+    }
+
+    @DeleteMapping("/latency")
+    public ApiResponse<Void> resetLatency() {
+        tickLatencyRecorder.reset();
+        return ApiResponse.success("지연 측정 기록을 초기화했습니다.");
+    }
+
+    /**
+     * 국내 종목의 거래소별(KRX, NXT) 최신 체결. 실시간 스트림에는 병합된 시세만 발행됩니다.
+     * 거래소별 체결은 KIS 세션을 가진 노드(리더)의 메모리에만 있으므로 다른 노드는 리더를 알려줍니다.
+     */
+    @GetMapping("/venues/{symbol}")
+    public ApiResponse<?> getVenues(@PathVariable String symbol) {
+        if (!kisWebSocketService.isUpstreamActive()) {
+            Map<String, Object> owner = new LinkedHashMap<>();
+            owner.put("currentLeader", kisLeaderElection.currentLeader());
+            return ApiResponse.fail("Venue ticks are only kept on the node holding the KIS sessions", owner);
+        }
+        Map<String, StockPriceMessage> venues = new LinkedHashMap<>();
+        venueConsolidator.venues(symbol).forEach((venue, tick) -> venues.put(venue.name(), tick.toMessage()));
+        return ApiResponse.success(venues);
+    }
+}
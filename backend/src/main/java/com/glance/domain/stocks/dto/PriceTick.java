@@ -0,0 +1,127 @@
+package com.glance.domain.stocks.dto;
+
+import com.glance.domain.stocks.utils.MarketUtils;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Internal real-time tick with numeric fields kept as scaled longs.
+ * <p>
+ * {@code price} and {@code change} are in minor units of {@code scale} decimal
+ * places (KRW: scale 0, US: usually 4), {@code changeRate} is in hundredths of
+ * a percent (0.70% = 70), {@code epochNanos} is the trade time and
+ * {@code ingestNanos} the epoch-nanos moment the KIS frame was read off the
+ * socket (0 if unknown), used for end-to-end latency. The legacy
+ * String-based {@link StockPriceMessage} is only produced at the wire edge via
+ * {@link #toMessage()}.
+ */
+public record PriceTick(
+        String symbol,
+        long price,
+        long change,
+        long changeRate,
+        int scale,
+        long volume,
+        long epochNanos,
+        MarketStatus marketStatus,
+        Venue venue,
+        long ingestNanos) {
+
+    public static final int RATE_SCALE = 2;
+
+    private static final DateTimeFormatter HHMMSS = DateTimeFormatter.ofPattern("HHmmss");
+
+    private static final double[] POW10 = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000 };
+
+    @Builder
+    public PriceTick {
+    }
+
+    public enum MarketStatus {
+        REGULAR, PRE_MARKET, AFTER_HOURS, ATS
+    }
+
+    public enum Venue {
+        KRX, NXT, US, OTHER
+    }
+
+    public double priceAsDouble() {
+        return price / POW10[scale];
+    }
+
+    public StockPriceMessage toMessage() {
+        return StockPriceMessage.builder()
+                .symbol(symbol)
+                .price(formatScaled(price, scale))
+                .change(formatScaled(change, scale))
+                .changeRate(formatScaled(changeRate, RATE_SCALE))
+                .volume(volume > 0 ? Long.toString(volume) : null)
+                .time(koreaTime(epochNanos))
+                .marketStatus(marketStatus != null ? marketStatus.name() : null)
+                .ingestNanos(ingestNanos > 0 ? ingestNanos : null)
+                .build();
+    }
+
+    /**
+     * Parses a legacy message back into a tick, for consumers that need the
+     * numeric form but received JSON (the price's fraction digits give the
+     * scale, {@code time} is taken as today in KST). Venue is not carried by
+     * the message and stays null.
+     *
+     * @throws NumberFormatException if a numeric field is not a number
+     */
+    public static PriceTick fromMessage(StockPriceMessage message) {
+        int scale = message.price() != null ? Math.max(0, new BigDecimal(message.price()).scale()) : 0;
+        return new PriceTick(
+                message.symbol(),
+                unscaled(message.price(), scale),
+                unscaled(message.change(), scale),
+                unscaled(message.changeRate(), RATE_SCALE),
+                scale,
+                message.volume() != null ? Long.parseLong(message.volume()) : 0,
+                message.time() != null ? MarketUtils.koreaEpochNanos(0, Integer.parseInt(message.time())) : 0,
+                marketStatus(message.marketStatus()),
+                null,
+                message.ingestNanos() != null ? message.ingestNanos() : 0);
+    }
+
+    private static long unscaled(String value, int scale) {
+        if (value == null || value.isEmpty())
+            return 0;
+        return new BigDecimal(value).movePointRight(scale).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static MarketStatus marketStatus(String name) {
+        if (name == null)
+            return null;
+        try {
+            return MarketStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats an unscaled value with exactly {@code scale} fraction digits, e.g.
+     * (1352100, 4) -> "135.2100", (-105, 2) -> "-1.05".
+     */
+    public static String formatScaled(long unscaled, int scale) {
+        if (scale <= 0)
+            return Long.toString(unscaled);
+        String digits = Long.toString(Math.abs(unscaled));
+        if (digits.length() <= scale)
+            digits = "0".repeat(scale + 1 - digits.length()) + digits;
+        int point = digits.length() - scale;
+        return (unscaled < 0 ? "-" : "") + digits.substring(0, point) + "." + digits.substring(point);
+    }
+
+    // 레거시 time 필드는 KST HHmmss
+    private static String koreaTime(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos).atZone(MarketUtils.KOREA_ZONE).format(HHMMSS);
+    }
+}
@@ -0,0 +1,58 @@
+package com.glance.domain.stocks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Message on the v2 price stream ({@code /api/v1/sub/stocks-v2/{symbol}}).
+ * <p>
+ * A snapshot ({@code t="s"}) carries every field plus the stream epoch; a
+ * delta ({@code t="d"}) carries only the fields that changed since the
+ * previous message. Keys are one letter and absent fields are omitted; the
+ * symbol is already in the destination.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StockPriceDelta(
+        @JsonProperty("t") String type,
+        // 종목별 일련번호, 스냅샷은 현재 값을 그대로 실음
+        @JsonProperty("q") long seq,
+        // 일련번호 공간의 식별자 (노드), 스냅샷에만
+        @JsonProperty("e") String epoch,
+        @JsonProperty("p") String price,
+        @JsonProperty("c") String change,
+        @JsonProperty("r") String changeRate,
+        @JsonProperty("v") String volume,
+        @JsonProperty("h") String time,
+        @JsonProperty("m") String marketStatus) {
+
+    public static final String SNAPSHOT = "s";
+    public static final String DELTA = "d";
+
+    public static StockPriceDelta snapshot(long seq, String epoch, StockPriceMessage message) {
+        if (message == null)
+            return new StockPriceDelta(SNAPSHOT, seq, epoch, null, null, null, null, null, null);
+        return new StockPriceDelta(SNAPSHOT, seq, epoch, message.price(), message.change(), message.changeRate(),
+                message.volume(), message.time(), message.marketStatus());
+    }
+
+    /**
+     * Fields of {@code current} that differ from {@code previous}; all of them
+     * when there is no previous message.
+     */
+    public static StockPriceDelta delta(long seq, StockPriceMessage previous, StockPriceMessage current) {
+        if (previous == null)
+            return new StockPriceDelta(DELTA, seq, null, current.price(), current.change(), current.changeRate(),
+                    current.volume(), current.time(), current.marketStatus());
+        return new StockPriceDelta(DELTA, seq, null,
+                changed(previous.price(), current.price()),
+                changed(previous.change(), current.change()),
+                changed(previous.changeRate(), current.changeRate()),
+                changed(previous.volume(), current.volume()),
+                changed(previous.time(), current.time()),
+                changed(previous.marketStatus(), current.marketStatus()));
+    }
+
+    private static String changed(String previous, String current) {
+        return current != null && !current.equals(previous) ? current : null;
+    }
+}
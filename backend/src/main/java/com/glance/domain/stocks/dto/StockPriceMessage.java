@@ -9,7 +9,9 @@ public record StockPriceMessage(
         String changeRate,
         String volume,
         String time,
-        String marketStatus) {
+        String marketStatus,
+        // KIS 소켓 수신 시각 (epoch nanos), 지연 측정용. REST 스냅샷은 null
+        Long ingestNanos) {
     @Builder
     public StockPriceMessage {
     }
@@ -0,0 +1,31 @@
+package com.glance.domain.stocks.dto;
+
+import com.glance.domain.stocks.entity.Market;
+import com.glance.domain.stocks.entity.SecurityType;
+import com.glance.domain.stocks.entity.StockStatus;
+import com.glance.domain.stocks.entity.StockSymbol;
+
+/**
+ * Detached, immutable view of a {@link StockSymbol} row held by the in-process
+ * symbol cache.
+ */
+public record StockSymbolInfo(
+        Long id,
+        String symbol,
+        Market market,
+        String nameKr,
+        String nameEn,
+        StockStatus status,
+        SecurityType securityType) {
+
+    public static StockSymbolInfo from(StockSymbol entity) {
+        return new StockSymbolInfo(
+                entity.getId(),
+                entity.getSymbol(),
+                entity.getMarket(),
+                entity.getNameKr(),
+                entity.getNameEn(),
+                entity.getStatus(),
+                entity.getSecurityType());
+    }
+}
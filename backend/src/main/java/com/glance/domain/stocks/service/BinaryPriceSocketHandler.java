@@ -0,0 +1,259 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import com.glance.domain.stocks.utils.PriceTickCodec;
+import com.glance.global.security.JwtHandshakeInterceptor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Raw WebSocket price endpoint ({@code kis.binary-socket.path}) for clients
+ * that only need prices: no SockJS, no STOMP, no JSON.
+ * <p>
+ * The client sends text commands, one or more per frame separated by spaces
+ * or commas: {@code +005930} subscribes, {@code -005930} unsubscribes. The
+ * server answers each subscription with the last known price and then pushes
+ * one binary frame per tick:
+ * <pre>
+ * [0] frame type   0x01 (tick)
+ * [1] symbol length n
+ *     symbol       n ASCII bytes
+ *     tick         {@link PriceTickCodec} payload (version byte first)
+ * </pre>
+ * A Korean tick is about 40 bytes. With {@code kis.distribution.codec=BINARY}
+ * the Redis payload is forwarded as is; JSON payloads are encoded once per
+ * tick. Subscriptions go through the same session bookkeeping and refcounts
+ * in {@link RedisStockService} as STOMP sessions, but not the member's
+ * session list, so interest list changes leave them alone. The first
+ * subscriber of a symbol subscribes it on KIS. Sends use {@link ConflatingSessionDecorator}
+ * keyed by symbol, so a slow client gets the latest tick of each symbol.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BinaryPriceSocketHandler extends AbstractWebSocketHandler
+        implements StockPriceRedisListener.TickSink {
+
+    public static final byte FRAME_TICK = 0x01;
+    // Redis 세션 키에서 STOMP 세션과 구분
+    private static final String SESSION_PREFIX = "bin:";
+    private static final Pattern SYMBOL = Pattern.compile("[A-Za-z0-9.:_-]{1,32}");
+    private static final Pattern SEPARATOR = Pattern.compile("[,\\s]+");
+
+    private final RedisStockService redisStockService;
+    private final KisWebSocketService kisWebSocketService;
+    private final LastPriceCache lastPriceCache;
+    private final KisProperties kisProperties;
+    private final StockPriceRedisListener stockPriceRedisListener;
+
+    private static final class Client {
+        final ConflatingSessionDecorator socket;
+        final String sessionKey;
+        final Set<String> symbols = ConcurrentHashMap.newKeySet();
+
+        Client(ConflatingSessionDecorator socket) {
+            this.socket = socket;
+            this.sessionKey = SESSION_PREFIX + socket.getId();
+        }
+    }
+
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    // symbol -> 구독 중인 클라이언트
+    private final Map<String, Set<Client>> topics = new ConcurrentHashMap<>();
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void attach() {
+        if (kisProperties.getBinarySocket().isEnabled())
+            stockPriceRedisListener.setTickSink(this);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        KisProperties.Fanout fanout = kisProperties.getFanout();
+        ConflatingSessionDecorator socket = new ConflatingSessionDecorator(session, fanout.getSendTimeLimitMs(),
+                fanout.getSendBufferSizeLimit(), () -> {
+                    slowDisconnects.increment();
+                    log.warn("[BinarySocket] Disconnecting slow session {}", session.getId());
+                });
+        log.debug("[BinarySocket] Member {} connected (session {})",
+                session.getAttributes().get(JwtHandshakeInterceptor.MEMBER_ID_ATTRIBUTE), session.getId());
+        clients.put(session.getId(), new Client(socket));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Client client = clients.get(session.getId());
+        if (client == null)
+            return;
+        for (String command : SEPARATOR.split(message.getPayload().trim())) {
+            if (command.isEmpty())
+                continue;
+            String symbol = command.substring(1);
+            char op = command.charAt(0);
+            if ((op != '+' && op != '-') || !SYMBOL.matcher(symbol).matches()) {
+                reject(session, CloseStatus.BAD_DATA.withReason("Unknown command " + command));
+                return;
+            }
+            if (op == '-') {
+                unsubscribe(client, symbol);
+            } else if (client.symbols.size() >= kisProperties.getBinarySocket().getMaxSymbolsPerSession()
+                    && !client.symbols.contains(symbol)) {
+                reject(session, CloseStatus.POLICY_VIOLATION.withReason("Too many symbols"));
+                return;
+            } else {
+                subscribe(client, symbol);
+            }
+        }
+    }
+
+    private void reject(WebSocketSession session, CloseStatus status) throws IOException {
+        rejected.increment();
+        session.close(status);
+    }
+
+    private void subscribe(Client client, String symbol) {
+        if (!client.symbols.add(symbol))
+            return;
+        // PriceFanoutHub와 같이 종목 단위 원자 연산으로 빈 집합 정리와 경합하지 않게
+        topics.compute(symbol, (k, set) -> {
+            Set<Client> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(client);
+            return s;
+        });
+        redisStockService.subscribeToChannel(symbol);
+        // 회원 세션 목록(user:sessions)에는 넣지 않음: 종목은 클라이언트 명령으로만 바뀌고 관심 종목 변경과 무관
+        for (String first : redisStockService.registerSession(null, client.sessionKey, List.of(symbol))) {
+            // First subscriber -> Connect to KIS WS
+            kisWebSocketService.subscribe(first);
+        }
+
+        StockPriceMessage last = lastPriceCache.get(symbol);
+        byte[] payload = last != null ? encode(last) : null;
+        if (payload != null && send(client, symbol, frame(symbol, payload)))
+            snapshots.increment();
+    }
+
+    private void unsubscribe(Client client, String symbol) {
+        if (!client.symbols.remove(symbol))
+            return;
+        removeFromTopic(symbol, client);
+        redisStockService.unsubscribeFromChannel(symbol);
+        if (redisStockService.removeSessionSymbol(client.sessionKey, symbol) == 0) {
+            // Last subscriber -> Disconnect from KIS
+            kisWebSocketService.unsubscribe(symbol);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Client client = clients.remove(session.getId());
+        if (client == null)
+            return;
+        for (String symbol : client.symbols) {
+            removeFromTopic(symbol, client);
+            redisStockService.unsubscribeFromChannel(symbol);
+        }
+        RedisStockService.SessionTeardown teardown = redisStockService.unregisterSession(null, client.sessionKey);
+        for (String symbol : teardown.lastUnsubscribed()) {
+            kisWebSocketService.unsubscribe(symbol);
+        }
+    }
+
+    private void removeFromTopic(String symbol, Client client) {
+        topics.computeIfPresent(symbol, (k, set) -> {
+            set.remove(client);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * A tick forwarded on this node; called on the symbol's dispatch lane.
+     */
+    @Override
+    public void onTick(String symbol, byte[] codecPayload, StockPriceMessage message) {
+        Set<Client> subscribers = topics.get(symbol);
+        if (subscribers == null || subscribers.isEmpty())
+            return;
+        byte[] payload = codecPayload != null ? codecPayload : encode(message);
+        if (payload == null)
+            return;
+        ticks.increment();
+        byte[] frame = frame(symbol, payload);
+        for (Client client : subscribers) {
+            send(client, symbol, frame);
+        }
+    }
+
+    private boolean send(Client client, String symbol, byte[] frame) {
+        try {
+            // BinaryMessage의 ByteBuffer는 전송 시 소비되므로 세션마다 새로 감쌈 (배열 복사 없음)
+            client.socket.sendPrice(symbol, new BinaryMessage(frame));
+            framesSent.increment();
+            return true;
+        } catch (Exception e) {
+            sendFailures.increment();
+            log.debug("[BinarySocket] Send to {} failed: {}", client.socket.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static byte[] encode(StockPriceMessage message) {
+        try {
+            return PriceTickCodec.encode(PriceTick.fromMessage(message));
+        } catch (NumberFormatException | ArithmeticException e) {
+            log.debug("[BinarySocket] Cannot encode {}: {}", message, e.getMessage());
+            return null;
+        }
+    }
+
+    static byte[] frame(String symbol, byte[] payload) {
+        byte[] name = symbol.getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[2 + name.length + payload.length];
+        frame[0] = FRAME_TICK;
+        frame[1] = (byte) name.length;
+        System.arraycopy(name, 0, frame, 2, name.length);
+        System.arraycopy(payload, 0, frame, 2 + name.length, payload.length);
+        return frame;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", kisProperties.getBinarySocket().isEnabled());
+        stats.put("sessions", clients.size());
+        stats.put("symbols", topics.size());
+        stats.put("ticks", ticks.sum());
+        stats.put("framesSent", framesSent.sum());
+        stats.put("snapshots", snapshots.sum());
+        stats.put("sendFailures", sendFailures.sum());
+        stats.put("slowDisconnects", slowDisconnects.sum());
+        // 잘못된 명령이나 종목 수 초과로 끊은 세션
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,219 @@
+package com.glance.domain.stocks.service;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-session outbound queue that never lets a slow client hold up the
+ * threads feeding it.
+ * <p>
+ * Whoever finds the socket idle sends; everyone else only queues and
+ * returns. Frames from the broker (receipts, heartbeats, snapshots) queue in
+ * order and are never dropped. Price frames queue per STOMP subscription and
+ * a newer price replaces the one still waiting, so a client that falls
+ * behind gets the latest value of each symbol instead of every tick it
+ * missed. A session whose current send has been stuck longer than
+ * {@code sendTimeLimitMs}, or whose queued bytes exceed
+ * {@code bufferSizeLimit}, is closed with {@link CloseStatus#SESSION_NOT_RELIABLE}.
+ */
+public class ConflatingSessionDecorator extends WebSocketSessionDecorator {
+
+    private final long sendTimeLimitMs;
+    private final int bufferSizeLimit;
+    private final Runnable onSlowClose;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 아래 세 필드는 queueLock으로 보호
+    private final Object queueLock = new Object();
+    private final ArrayDeque<WebSocketMessage<?>> control = new ArrayDeque<>();
+    private final LinkedHashMap<String, Pending> prices = new LinkedHashMap<>();
+    private int bufferedBytes;
+
+    // 0이면 전송 중이 아님
+    private volatile long sendStartedAt;
+    private volatile boolean closed;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+
+    private record Pending(WebSocketMessage<?> frame, long firstQueuedAt) {
+    }
+
+    public ConflatingSessionDecorator(WebSocketSession delegate, long sendTimeLimitMs, int bufferSizeLimit,
+            Runnable onSlowClose) {
+        super(delegate);
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.onSlowClose = onSlowClose;
+    }
+
+    /**
+     * Broker path: queued in order, never conflated.
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed)
+            return;
+        synchronized (queueLock) {
+            control.addLast(message);
+            bufferedBytes += size(message);
+        }
+        flush();
+    }
+
+    /**
+     * Price path: replaces a frame with the same key (STOMP subscription id,
+     * or symbol on the binary endpoint) that is still waiting to be sent.
+     */
+    public void sendPrice(String key, WebSocketMessage<?> frame) throws IOException {
+        if (closed)
+            return;
+        synchronized (queueLock) {
+            Pending previous = prices.get(key);
+            if (previous != null) {
+                conflated.increment();
+                bufferedBytes -= size(previous.frame());
+                // 처음 밀리기 시작한 시각을 유지해야 지연이 제대로 보임
+                prices.put(key, new Pending(frame, previous.firstQueuedAt()));
+            } else {
+                prices.put(key, new Pending(frame, System.currentTimeMillis()));
+            }
+            bufferedBytes += size(frame);
+        }
+        flush();
+    }
+
+    private void flush() throws IOException {
+        do {
+            if (!flushLock.tryLock()) {
+                // 다른 스레드가 보내는 중, 그 스레드가 이 프레임까지 보냄
+                checkLimits();
+                return;
+            }
+            try {
+                WebSocketMessage<?> next;
+                while (!closed && (next = poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    try {
+                        getDelegate().sendMessage(next);
+                        sent.increment();
+                    } catch (IOException e) {
+                        discard();
+                        throw e;
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+            } finally {
+                flushLock.unlock();
+            }
+            // 마지막 poll과 unlock 사이에 들어온 프레임
+        } while (!closed && hasPending());
+    }
+
+    private WebSocketMessage<?> poll() {
+        synchronized (queueLock) {
+            WebSocketMessage<?> message = control.pollFirst();
+            if (message == null) {
+                Iterator<Pending> it = prices.values().iterator();
+                if (!it.hasNext())
+                    return null;
+                message = it.next().frame();
+                it.remove();
+            }
+            bufferedBytes -= size(message);
+            return message;
+        }
+    }
+
+    private boolean hasPending() {
+        synchronized (queueLock) {
+            return !control.isEmpty() || !prices.isEmpty();
+        }
+    }
+
+    private void checkLimits() {
+        long started = sendStartedAt;
+        String reason = null;
+        if (started > 0 && System.currentTimeMillis() - started > sendTimeLimitMs) {
+            reason = "send time limit " + sendTimeLimitMs + " ms";
+        } else if (getBufferedBytes() > bufferSizeLimit) {
+            reason = "buffer size limit " + bufferSizeLimit + " bytes";
+        }
+        if (reason == null || closed)
+            return;
+        discard();
+        onSlowClose.run();
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+        } catch (IOException ignored) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    private void discard() {
+        closed = true;
+        synchronized (queueLock) {
+            control.clear();
+            prices.clear();
+            bufferedBytes = 0;
+        }
+    }
+
+    private static int size(WebSocketMessage<?> message) {
+        // TextMessage.getPayloadLength()는 매번 UTF-8 바이트 배열을 만듦, 시세 프레임은 ASCII
+        return message instanceof TextMessage text ? text.getPayload().length() : message.getPayloadLength();
+    }
+
+    public int getBufferedBytes() {
+        synchronized (queueLock) {
+            return bufferedBytes;
+        }
+    }
+
+    /**
+     * How far behind the client is: age of the oldest unsent price, or of the
+     * send in progress, whichever is larger.
+     */
+    public long lagMs() {
+        long now = System.currentTimeMillis();
+        long started = sendStartedAt;
+        long lag = started > 0 ? now - started : 0;
+        synchronized (queueLock) {
+            // 삽입 순서상 첫 항목이 가장 오래됨
+            Iterator<Pending> it = prices.values().iterator();
+            if (it.hasNext())
+                lag = Math.max(lag, now - it.next().firstQueuedAt());
+        }
+        return lag;
+    }
+
+    public long getConflated() {
+        return conflated.sum();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("session", getId());
+        stats.put("lagMs", lagMs());
+        synchronized (queueLock) {
+            stats.put("pendingPrices", prices.size());
+            stats.put("pendingOther", control.size());
+            stats.put("bufferedBytes", bufferedBytes);
+        }
+        stats.put("sent", sent.sum());
+        stats.put("conflated", conflated.sum());
+        return stats;
+    }
+}
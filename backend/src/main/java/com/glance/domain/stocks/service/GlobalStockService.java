@@ -25,10 +25,10 @@ public class GlobalStockService {
 
     @EventListener(ApplicationReadyEvent.class)
     public void initGlobalSubscriptions() {
-        // Reset Redis Subscription Counts to 0 on startup
-        // This prevents "stale" counts (e.g. count=5 but no active websocket) from
-        // blocking re-subscriptions
-        redisStockService.resetSubscriptionCounts();
+        // Drop counts left by nodes that died without a clean disconnect.
+        // Counts are leased per node, so live nodes' counts are never touched
+        // and this is safe on any start, cold or not.
+        redisStockService.sweepExpiredNodes();
 
         log.info("🌍 Initializing Global Stock Subscriptions for Public Ticker...");
 
@@ -38,7 +38,8 @@ public class GlobalStockService {
 
             // 2. Increment Global RefCount but ALWAYS subscribe to KIS
             // This ensures "System Subscriptions" are always active even if Redis count is
-            // messed up
+            // messed up. The cluster-wide KIS list is a set, so every node adding the
+            // popular stocks still registers them only once on the owner node
             redisStockService.subscribe(symbol);
             kisWebSocketService.subscribe(symbol);
         }
@@ -4,18 +4,17 @@ import com.glance.domain.member.entity.Member;
 import com.glance.domain.member.repository.MemberRepository;
 import com.glance.domain.stocks.entity.InterestStock;
 import com.glance.domain.stocks.repository.InterestStockRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.glance.domain.stocks.dto.InterestStockResponse;
-import com.glance.domain.stocks.entity.StockSymbol;
-import com.glance.domain.stocks.repository.StockSymbolRepository;
+import com.glance.domain.stocks.dto.StockSymbolInfo;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.List;
-import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +23,11 @@ public class InterestStockService {
 
     private final InterestStockRepository interestStockRepository;
     private final MemberRepository memberRepository;
-    private final StockSymbolRepository stockSymbolRepository;
+    private final StockSymbolCache stockSymbolCache;
     private final KisWebSocketService kisWebSocketService;
     private final RedisStockService redisStockService;
+    private final WatchlistBatcher watchlistBatcher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void addInterestStock(String memberIdStr, String symbol, String market) {
@@ -50,18 +51,8 @@ public class InterestStockService {
                     .market(market)
                     .build());
 
-            // For all active sessions of this user, add subscription
-            Set<String> sessions = redisStockService.getUserSessions(memberIdStr);
-            for (String sessionId : sessions) {
-                redisStockService.addSessionSubscription(sessionId, upperSymbol);
-                // Subscribe to Redis Channel (Local Instance)
-                redisStockService.subscribeToChannel(upperSymbol);
-
-                // Increment global refcount (once per session adding it)
-                if (redisStockService.subscribe(upperSymbol)) {
-                    kisWebSocketService.subscribe(upperSymbol);
-                }
-            }
+            // Every node applies it to the user's sessions it owns (applyInterestChange), after commit
+            eventPublisher.publishEvent(new RedisStockService.InterestChange(memberIdStr, upperSymbol, true));
 
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             // Ignore duplicate entry if race condition occurred
@@ -75,17 +66,52 @@ public class InterestStockService {
                 .orElseThrow(() -> new IllegalArgumentException("Member not found"));
         interestStockRepository.deleteByMemberIdAndSymbol(member.getId(), symbol);
 
-        // For all active sessions of this user, remove subscription
-        Set<String> sessions = redisStockService.getUserSessions(memberIdStr);
-        for (String sessionId : sessions) {
-            redisStockService.removeSessionSubscription(sessionId, symbol);
+        eventPublisher.publishEvent(new RedisStockService.InterestChange(memberIdStr, symbol, false));
+    }
 
-            // Unsubscribe from Redis Channel (Local Instance)
-            redisStockService.unsubscribeFromChannel(symbol);
+    // 커밋된 변경만 다른 노드에 알림 (롤백되면 발행하지 않음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestCommitted(RedisStockService.InterestChange change) {
+        redisStockService.publishInterestChange(change.userId(), change.symbol(), change.added());
+    }
 
-            // Decrement global refcount
-            if (redisStockService.unsubscribe(symbol)) {
-                kisWebSocketService.unsubscribe(symbol);
+    @PostConstruct
+    void listenToInterestChanges() {
+        redisStockService.onInterestChanged(this::applyInterestChange);
+    }
+
+    /**
+     * Applies an interest change to the member's sessions on this node only.
+     * Runs off the Redis receive thread (see {@link RedisStockService#onInterestChanged}).
+     * A session's counts are charged to the node that owns it, which is also
+     * the node that releases them when the session disconnects.
+     */
+    public void applyInterestChange(RedisStockService.InterestChange change) {
+        String symbol = change.symbol();
+        for (String sessionId : redisStockService.getLocalUserSessions(change.userId())) {
+            if (change.added()) {
+                // 이미 세션에 있던 종목이면 (접속 중 경합) 아무것도 바꾸지 않음
+                long total = redisStockService.addSessionSymbol(sessionId, symbol);
+                if (total < 0)
+                    continue;
+                watchlistBatcher.addSymbol(sessionId, symbol);
+                // Subscribe to Redis Channel (Local Instance)
+                redisStockService.subscribeToChannel(symbol);
+                if (total == 1) {
+                    // First subscriber -> Connect to KIS WS
+                    kisWebSocketService.subscribe(symbol);
+                }
+            } else {
+                long total = redisStockService.removeSessionSymbol(sessionId, symbol);
+                if (total < 0)
+                    continue;
+                watchlistBatcher.removeSymbol(sessionId, symbol);
+                // Unsubscribe from Redis Channel (Local Instance)
+                redisStockService.unsubscribeFromChannel(symbol);
+                if (total == 0) {
+                    // Last subscriber -> Disconnect from KIS
+                    kisWebSocketService.unsubscribe(symbol);
+                }
             }
         }
     }
@@ -100,20 +126,18 @@ public class InterestStockService {
                 .map(InterestStock::getSymbol)
                 .toList();
 
-        Map<String, StockSymbol> symbolMap = stockSymbolRepository.findAllBySymbolIn(symbols).stream()
-                .collect(Collectors.toMap(StockSymbol::getSymbol, Function.identity(),
-                        (existing, replacement) -> existing));
+        Map<String, StockSymbolInfo> symbolMap = stockSymbolCache.findAll(symbols);
 
         return interestStocks.stream()
                 .map(stock -> {
-                    StockSymbol stockSymbol = symbolMap.get(stock.getSymbol());
+                    StockSymbolInfo stockSymbol = symbolMap.get(stock.getSymbol());
                     return InterestStockResponse.builder()
                             .id(stock.getId())
                             .symbol(stock.getSymbol())
                             .market(stock.getMarket())
-                            .nameKr(stockSymbol != null ? stockSymbol.getNameKr() : null)
-                            .nameEn(stockSymbol != null ? stockSymbol.getNameEn() : null)
-                            .securityType(stockSymbol != null ? stockSymbol.getSecurityType().name() : "STOCK")
+                            .nameKr(stockSymbol != null ? stockSymbol.nameKr() : null)
+                            .nameEn(stockSymbol != null ? stockSymbol.nameEn() : null)
+                            .securityType(stockSymbol != null ? stockSymbol.securityType().name() : "STOCK")
                             .build();
                 })
                 .toList();
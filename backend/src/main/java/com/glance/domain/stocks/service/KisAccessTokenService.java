@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -22,7 +23,7 @@ public class KisAccessTokenService {
     private final KisProperties kisProperties;
     private String accessToken;
     private LocalDateTime expiryDate;
-    private String approvalKey;
+    private final Map<String, String> approvalKeys = new HashMap<>(); // appKey -> approval key
 
     public synchronized String getAccessToken() {
         if (accessToken != null && expiryDate != null && expiryDate.isAfter(LocalDateTime.now().plusMinutes(10))) {
@@ -58,9 +59,18 @@ public class KisAccessTokenService {
         }
     }
 
-    public synchronized String getApprovalKey() {
-        if (this.approvalKey != null) {
-            return this.approvalKey;
+    public String getApprovalKey() {
+        return getApprovalKey(kisProperties.getAppKey(), kisProperties.getAppSecret());
+    }
+
+    /**
+     * WebSocket approval key for a specific app key. Used by the session pool when
+     * additional app keys are configured (kis.pool.additional-keys).
+     */
+    public synchronized String getApprovalKey(String appKey, String appSecret) {
+        String cached = approvalKeys.get(appKey);
+        if (cached != null) {
+            return cached;
         }
 
         log.info("🔑 Requesting KIS WebSocket Approval Key...");
@@ -72,8 +82,8 @@ public class KisAccessTokenService {
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(Map.of(
                             "grant_type", "client_credentials",
-                            "appkey", kisProperties.getAppKey(),
-                            "secretkey", kisProperties.getAppSecret()))
+                            "appkey", appKey,
+                            "secretkey", appSecret))
                     .retrieve()
                     .body(Map.class);
 
@@ -81,8 +91,9 @@ public class KisAccessTokenService {
                 throw new BusinessException("KIS Approval Key 발급 실패", ErrorCode.INTERNAL_SERVER_ERROR);
             }
 
-            this.approvalKey = (String) response.get("approval_key");
-            return this.approvalKey;
+            String approvalKey = (String) response.get("approval_key");
+            approvalKeys.put(appKey, approvalKey);
+            return approvalKey;
         } catch (Exception e) {
             log.error("Failed to get KIS Approval Key", e);
             throw new BusinessException("KIS WebSocket 인증 실패", ErrorCode.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,230 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.ExponentialBackoff;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * One upstream KIS WebSocket session, bound to a single app key.
+ * <p>
+ * Reconnects on its own: a failed handshake or a closed session moves the
+ * connection to {@link State#BACKOFF} and schedules the next attempt with
+ * jittered exponential backoff. Connecting never blocks the caller.
+ * <p>
+ * Symbol assignments and slot usage are owned by {@link KisSessionPool} and are
+ * only read or modified while holding the pool's lock.
+ */
+@Slf4j
+public class KisConnection extends TextWebSocketHandler {
+
+    public enum State {
+        DISCONNECTED, CONNECTING, CONNECTED, BACKOFF, STOPPED
+    }
+
+    public interface Listener {
+        void onConnected(KisConnection connection);
+
+        void onFrame(KisConnection connection, String payload);
+
+        void onClosed(KisConnection connection, CloseStatus status);
+    }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final String appKey;
+    @Getter
+    private final String appSecret;
+    private final Listener listener;
+    // 접속 시도마다 새 클라이언트 (테스트에서는 핸드셰이크를 대신하는 클라이언트)
+    private final Supplier<WebSocketClient> clientFactory;
+
+    private String wsUrl;
+    private ScheduledExecutorService scheduler;
+    private ExponentialBackoff backoff;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.DISCONNECTED);
+    private volatile WebSocketSession session;
+    private volatile int attempts;
+    @Getter
+    private volatile int connectCount;
+    // 마지막 프레임 수신 시각 (System.nanoTime, 멈춤 감지용)
+    @Getter
+    private volatile long lastFrameNanos = System.nanoTime();
+
+    // Guarded by KisSessionPool: assigned symbols, what is live upstream, and
+    // removed symbols whose unsubscribe frame has not gone out yet
+    final Set<String> symbols = new LinkedHashSet<>();
+    final Set<String> registered = new HashSet<>();
+    final Set<String> draining = new LinkedHashSet<>();
+    int usedSlots;
+
+    public KisConnection(String id, String appKey, String appSecret, Listener listener) {
+        this(id, appKey, appSecret, listener, StandardWebSocketClient::new);
+    }
+
+    KisConnection(String id, String appKey, String appSecret, Listener listener,
+            Supplier<WebSocketClient> clientFactory) {
+        this.id = id;
+        this.appKey = appKey;
+        this.appSecret = appSecret;
+        this.listener = listener;
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * Starts connecting in the background. Later drops are retried with backoff
+     * until {@link #stop()} is called; a stopped connection can be started again.
+     */
+    public void start(String wsUrl, ScheduledExecutorService scheduler, ExponentialBackoff backoff) {
+        this.wsUrl = wsUrl;
+        this.scheduler = scheduler;
+        this.backoff = backoff;
+        if (state.compareAndSet(State.DISCONNECTED, State.CONNECTING)
+                || state.compareAndSet(State.STOPPED, State.CONNECTING)) {
+            attempts = 0;
+            doConnect();
+        }
+    }
+
+    /**
+     * Closes the session and stops reconnecting. The listener is told right away
+     * instead of from the close callback, so a later {@link #start} can't race
+     * with the old session's late close event.
+     */
+    public void stop() {
+        state.set(State.STOPPED);
+        WebSocketSession current = session;
+        session = null;
+        if (current == null)
+            return;
+        try {
+            current.close(CloseStatus.GOING_AWAY);
+        } catch (IOException e) {
+            log.debug("[{}] Error while closing KIS session", id, e);
+        }
+        listener.onClosed(this, CloseStatus.GOING_AWAY);
+    }
+
+    /**
+     * Drops a session that looks alive but has gone silent; the close callback
+     * then takes the normal backoff path.
+     */
+    public void forceReconnect(String reason) {
+        if (state.get() != State.CONNECTED)
+            return;
+        log.warn("🩺 [{}] Forcing reconnect: {}", id, reason);
+        closeQuietly(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isOpen() {
+        WebSocketSession current = session;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * WebSocketSession.sendMessage is not thread-safe, so every write goes through
+     * this lock.
+     */
+    public synchronized void send(String text) throws IOException {
+        WebSocketSession current = session;
+        if (current == null || !current.isOpen()) {
+            throw new IOException("KIS session " + id + " is not open");
+        }
+        current.sendMessage(new TextMessage(text));
+    }
+
+    private void doConnect() {
+        if (state.get() == State.STOPPED)
+            return;
+        state.set(State.CONNECTING);
+        try {
+            clientFactory.get().execute(this, wsUrl)
+                    .whenComplete((s, ex) -> {
+                        if (ex != null) {
+                            log.error("[{}] Failed to connect to KIS WebSocket: {}", id, ex.getMessage());
+                            scheduleReconnect();
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("[{}] Failed to connect to KIS WebSocket", id, e);
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        State current = state.get();
+        if (current == State.STOPPED || current == State.BACKOFF)
+            return;
+        if (!state.compareAndSet(current, State.BACKOFF))
+            return;
+        long delay = backoff.delayMs(attempts++);
+        log.info("⏳ [{}] Reconnecting in {} ms (attempt {})", id, delay, attempts);
+        scheduler.schedule(this::doConnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        WebSocketSession current = session;
+        if (current == null)
+            return;
+        try {
+            current.close(status);
+        } catch (IOException e) {
+            log.debug("[{}] Error while closing KIS session", id, e);
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        this.session = session;
+        this.lastFrameNanos = System.nanoTime();
+        this.attempts = 0;
+        this.connectCount++;
+        if (!state.compareAndSet(State.CONNECTING, State.CONNECTED)) {
+            // stop() raced with the handshake
+            closeQuietly(CloseStatus.GOING_AWAY);
+            return;
+        }
+        log.info("🚀 [{}] Connected to KIS WebSocket", id);
+        listener.onConnected(this);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        lastFrameNanos = System.nanoTime();
+        listener.onFrame(this, message.getPayload());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        if (this.session != session)
+            return; // already released by stop()
+        this.session = null;
+        listener.onClosed(this, status);
+        scheduleReconnect();
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,208 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.MarketUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only, memory-mapped journal of raw KIS frames.
+ * <p>
+ * One segment file per KST trading day ({@code kis-frames-yyyyMMdd.journal}).
+ * The file is mapped in fixed-size chunks and each append is a plain memory
+ * copy into the mapping; the OS writes pages back. Record layout:
+ *
+ * <pre>
+ * int    payload length (0 marks the end of the segment)
+ * long   receive time, epoch nanos
+ * byte   session id length, followed by the id (UTF-8)
+ * byte[] payload (UTF-8)
+ * </pre>
+ *
+ * Reopening an existing segment (restart on the same day) continues after
+ * the last record. Use {@link Reader} to read a segment back.
+ */
+@Slf4j
+public class KisFrameJournal implements Closeable {
+
+    private static final DateTimeFormatter SEGMENT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    private static final long KST_OFFSET_NANOS = 9 * 3_600_000_000_000L;
+
+    public record Record(String sessionId, long epochNanos, String payload) {
+    }
+
+    private final Path directory;
+    private final int chunkBytes;
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long mappedBase;
+    private long segmentDay = Long.MIN_VALUE;
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public KisFrameJournal(Path directory, int chunkBytes) {
+        this.directory = directory;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public static String segmentName(long epochNanos) {
+        return "kis-frames-" + Instant.ofEpochSecond(0, epochNanos).atZone(MarketUtils.KOREA_ZONE)
+                .format(SEGMENT_DATE) + ".journal";
+    }
+
+    /**
+     * Appends one frame. Safe to call from several ingest threads; failures are
+     * counted and logged, never thrown, so recording can't break the live feed.
+     */
+    public synchronized void append(String sessionId, long epochNanos, String payload) {
+        try {
+            long day = Math.floorDiv(epochNanos + KST_OFFSET_NANOS, NANOS_PER_DAY);
+            if (day != segmentDay)
+                openSegment(day, epochNanos);
+
+            byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+            byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+            int idLength = Math.min(id.length, 255);
+            int recordBytes = Integer.BYTES + Long.BYTES + 1 + idLength + data.length;
+            // 끝 표시(0)를 쓸 자리까지 남겨 둠
+            if (mapped.remaining() < recordBytes + Integer.BYTES)
+                remap(recordBytes + Integer.BYTES);
+
+            mapped.putInt(data.length);
+            mapped.putLong(epochNanos);
+            mapped.put((byte) idLength);
+            mapped.put(id, 0, idLength);
+            mapped.put(data);
+            frames.increment();
+            bytes.add(recordBytes);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to journal KIS frame: {}", e.getMessage());
+        }
+    }
+
+    private void openSegment(long day, long epochNanos) throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(segmentName(epochNanos));
+        long end = 0;
+        if (Files.exists(file)) {
+            try (Reader reader = new Reader(file)) {
+                while (reader.next() != null) {
+                    // 마지막 레코드 뒤에서 이어 쓰기
+                }
+                end = reader.position();
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        mappedBase = end;
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, mappedBase, chunkBytes);
+        segmentDay = day;
+        log.info("📼 Journaling KIS frames to {} (offset {})", file, end);
+    }
+
+    private void remap(int minBytes) throws IOException {
+        mappedBase += mapped.position();
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, mappedBase, Math.max(chunkBytes, minBytes));
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel == null)
+            return;
+        long end = mappedBase + mapped.position();
+        mapped.force();
+        mapped = null;
+        // 미리 매핑해 둔 빈 영역 제거
+        channel.truncate(end);
+        channel.close();
+        channel = null;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            log.warn("Failed to close KIS frame journal", e);
+        }
+    }
+
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Sequential reader over one segment file.
+     */
+    public static class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private long position;
+
+        public Reader(Path file) throws IOException {
+            InputStream stream = Files.newInputStream(file);
+            this.in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        }
+
+        /**
+         * @return the next record, or null at the end of the segment
+         */
+        public Record next() throws IOException {
+            try {
+                int length = in.readInt();
+                if (length <= 0)
+                    return null;
+                long epochNanos = in.readLong();
+                int idLength = in.readUnsignedByte();
+                byte[] id = in.readNBytes(idLength);
+                byte[] data = in.readNBytes(length);
+                if (id.length < idLength || data.length < length)
+                    return null; // 기록 도중 잘린 레코드
+                position += Integer.BYTES + Long.BYTES + 1 + idLength + length;
+                return new Record(new String(id, StandardCharsets.UTF_8), epochNanos,
+                        new String(data, StandardCharsets.UTF_8));
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Byte offset just after the last record returned by {@link #next()}.
+         */
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
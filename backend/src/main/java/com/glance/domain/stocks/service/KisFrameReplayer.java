@@ -0,0 +1,83 @@
+package com.glance.domain.stocks.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a {@link KisFrameJournal} segment back into the ingest pipeline,
+ * as if the frames had just arrived on a KIS session. Stops when its thread
+ * is interrupted.
+ * <p>
+ * {@code speed} 1.0 replays with the recorded inter-frame gaps, N compresses
+ * them N times, and 0 (or less) replays as fast as the handler accepts frames.
+ */
+@Slf4j
+public class KisFrameReplayer implements Runnable {
+
+    public interface FrameSink {
+        void accept(String sessionId, String payload, long recordedEpochNanos);
+    }
+
+    private final Path segment;
+    private final double speed;
+    private final FrameSink sink;
+
+    @Getter
+    private volatile long replayed;
+    @Getter
+    private volatile boolean finished;
+    private volatile long elapsedNanos;
+
+    public KisFrameReplayer(Path segment, double speed, FrameSink sink) {
+        this.segment = segment;
+        this.speed = speed;
+        this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+        log.info("▶️ Replaying {} at {}", segment, speed > 0 ? speed + "x" : "max speed");
+        long started = System.nanoTime();
+        long firstRecorded = Long.MIN_VALUE;
+        try (KisFrameJournal.Reader reader = new KisFrameJournal.Reader(segment)) {
+            KisFrameJournal.Record record;
+            while ((record = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                if (firstRecorded == Long.MIN_VALUE)
+                    firstRecorded = record.epochNanos();
+                if (speed > 0) {
+                    long due = started + (long) ((record.epochNanos() - firstRecorded) / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0)
+                        LockSupport.parkNanos(wait);
+                }
+                sink.accept(record.sessionId(), record.payload(), record.epochNanos());
+                replayed++;
+            }
+        } catch (IOException e) {
+            log.error("Failed to replay {}", segment, e);
+        } finally {
+            elapsedNanos = System.nanoTime() - started;
+            finished = true;
+        }
+        log.info("⏹️ Replayed {} frames from {} in {} ms", replayed, segment,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("segment", segment.toString());
+        stats.put("speed", speed);
+        stats.put("replayed", replayed);
+        stats.put("finished", finished);
+        if (finished)
+            stats.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return stats;
+    }
+}
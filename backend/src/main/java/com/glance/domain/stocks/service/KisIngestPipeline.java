@@ -0,0 +1,218 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.EpochNanoClock;
+import com.glance.domain.stocks.utils.SpscRingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands raw KIS frames from the WebSocket read thread to a dedicated consumer
+ * thread per session, so parsing, enrichment and publishing never hold up the
+ * socket read loop.
+ * <p>
+ * Each {@link KisConnection} gets its own {@link SpscRingBuffer} (one socket
+ * thread produces, one consumer thread drains). When a ring is full the
+ * {@link OverflowPolicy} decides whether the frame is dropped or the socket
+ * thread waits for the consumer to catch up. The policy is set for the whole
+ * pipeline and can be overridden per connection; a dropped frame is still
+ * handed to the overflow handler, on the offering thread, if one is set.
+ */
+@Slf4j
+public class KisIngestPipeline {
+
+    public enum OverflowPolicy {
+        // 링이 가득 차면 새 프레임을 버림 (소켓 스레드는 절대 대기하지 않음)
+        DROP_NEWEST,
+        // 링에 자리가 날 때까지 소켓 스레드가 대기 (유실 없음, 대신 KIS 쪽 버퍼가 쌓임)
+        BLOCK
+    }
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final Map<KisConnection, Lane> lanes = new LinkedHashMap<>();
+    private final OverflowPolicy overflowPolicy;
+    private final FrameHandler handler;
+    // 링이 가득 차 버린 프레임을 받는 핸들러 (버리는 스레드에서 호출, 없으면 null)
+    private FrameHandler overflowHandler;
+
+    public interface FrameHandler {
+        void onFrame(KisConnection connection, String payload, long receivedEpochNanos);
+    }
+
+    private static final class FrameEvent {
+        String payload;
+        long receivedEpochNanos;
+    }
+
+    private final class Lane implements Runnable {
+        final KisConnection connection;
+        final SpscRingBuffer<FrameEvent> ring;
+        final LongAdder dropped = new LongAdder();
+        final LongAdder processed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        OverflowPolicy policy;
+        volatile int highWater;
+        volatile long lastQueueNanos;
+        volatile boolean running;
+        volatile boolean waiting;
+        Thread thread;
+
+        Lane(KisConnection connection, int ringSize, OverflowPolicy policy) {
+            this.connection = connection;
+            this.ring = new SpscRingBuffer<>(ringSize, FrameEvent::new);
+            this.policy = policy;
+        }
+
+        void offer(String payload) {
+            FrameEvent event = ring.claim();
+            while (event == null) {
+                // BLOCK이어도 파이프라인이 멈췄거나 보내는 스레드가 인터럽트되면 버림
+                if (policy == OverflowPolicy.DROP_NEWEST || !running || Thread.currentThread().isInterrupted()) {
+                    drop(payload);
+                    return;
+                }
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                event = ring.claim();
+            }
+            event.payload = payload;
+            event.receivedEpochNanos = EpochNanoClock.now();
+            ring.publish();
+
+            int depth = ring.size();
+            if (depth > highWater)
+                highWater = depth;
+            if (waiting)
+                LockSupport.unpark(thread);
+        }
+
+        private void drop(String payload) {
+            dropped.increment();
+            FrameHandler onOverflow = overflowHandler;
+            if (onOverflow == null)
+                return;
+            try {
+                onOverflow.onFrame(connection, payload, EpochNanoClock.now());
+            } catch (Exception e) {
+                log.error("[{}] Failed to handle dropped KIS frame", connection.getId(), e);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                if (ring.drain(this::process, DRAIN_BATCH) > 0)
+                    continue;
+                waiting = true;
+                if (ring.isEmpty())
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                waiting = false;
+            }
+        }
+
+        private void process(FrameEvent event) {
+            String payload = event.payload;
+            event.payload = null;
+            lastQueueNanos = EpochNanoClock.now() - event.receivedEpochNanos;
+            try {
+                handler.onFrame(connection, payload, event.receivedEpochNanos);
+                processed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.error("[{}] Failed to process KIS frame", connection.getId(), e);
+            }
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("overflowPolicy", policy.name());
+            stats.put("depth", ring.size());
+            stats.put("capacity", ring.capacity());
+            stats.put("highWater", highWater);
+            stats.put("processed", processed.sum());
+            stats.put("dropped", dropped.sum());
+            stats.put("failed", failed.sum());
+            stats.put("lastQueueMicros", TimeUnit.NANOSECONDS.toMicros(lastQueueNanos));
+            return stats;
+        }
+    }
+
+    public KisIngestPipeline(List<KisConnection> connections, int ringSize, OverflowPolicy overflowPolicy,
+            FrameHandler handler) {
+        this.overflowPolicy = overflowPolicy;
+        this.handler = handler;
+        // 2의 거듭제곱으로 올림
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        connections.forEach(c -> lanes.put(c, new Lane(c, capacity, overflowPolicy)));
+    }
+
+    /**
+     * Overrides the overflow policy of one connection's ring. Call before {@link #start()}.
+     */
+    public void setOverflowPolicy(KisConnection connection, OverflowPolicy policy) {
+        Lane lane = lanes.get(connection);
+        if (lane == null)
+            throw new IllegalArgumentException("Unknown connection: " + connection.getId());
+        lane.policy = policy;
+    }
+
+    /**
+     * Receives every frame a full ring drops, on the thread that offered it
+     * (so it must be cheap). Call before {@link #start()}.
+     */
+    public void setOverflowHandler(FrameHandler overflowHandler) {
+        this.overflowHandler = overflowHandler;
+    }
+
+    public void start() {
+        lanes.values().forEach(lane -> {
+            lane.running = true;
+            lane.thread = new Thread(lane, "kis-ingest-" + lane.connection.getId());
+            lane.thread.setDaemon(true);
+            lane.thread.start();
+        });
+    }
+
+    public void stop() {
+        lanes.values().forEach(lane -> {
+            lane.running = false;
+            if (lane.thread != null)
+                LockSupport.unpark(lane.thread);
+        });
+    }
+
+    /**
+     * Called on the connection's socket thread. Returns as soon as the frame is
+     * in the ring (or dropped).
+     */
+    public void offer(KisConnection connection, String payload) {
+        Lane lane = lanes.get(connection);
+        if (lane == null || lane.thread == null) {
+            // 파이프라인 시작 전에는 호출 스레드에서 바로 처리
+            handler.onFrame(connection, payload, EpochNanoClock.now());
+            return;
+        }
+        lane.offer(payload);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("overflowPolicy", overflowPolicy.name());
+        long dropped = 0;
+        Map<String, Object> perSession = new LinkedHashMap<>();
+        for (Lane lane : lanes.values()) {
+            perSession.put(lane.connection.getId(), lane.stats());
+            dropped += lane.dropped.sum();
+        }
+        stats.put("dropped", dropped);
+        stats.put("sessions", perSession);
+        return stats;
+    }
+}
@@ -0,0 +1,168 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.ClusterNodeId;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the one backend instance that owns the upstream KIS sessions.
+ * <p>
+ * Ownership is a Redis lease ({@code SET key nodeId NX PX lease}). The owner
+ * renews it every {@code renew-interval-ms} with a compare-and-expire script;
+ * everyone else retries the {@code SET NX} on the same cadence, so a crashed
+ * owner is replaced within one lease plus one interval, and a graceful
+ * shutdown hands over within one interval. An owner that cannot renew in time
+ * (Redis unreachable) stops its sessions before the lease can expire, so two
+ * nodes never feed the same ticks into Redis.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KisLeaderElection {
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final KisProperties kisProperties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final KisWebSocketService kisWebSocketService;
+
+    @Getter
+    private final String nodeId = ClusterNodeId.LOCAL;
+    private ScheduledExecutorService scheduler;
+
+    // Only touched by the election thread (and shutdown)
+    private volatile boolean leader;
+    private long lastRenewedNanos;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        KisProperties.Leader config = kisProperties.getLeader();
+        if (!config.isEnabled()) {
+            log.info("KIS leader election disabled, this node owns the upstream sessions");
+            leader = true;
+            kisWebSocketService.startUpstream();
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "kis-leader"));
+        scheduler.scheduleWithFixedDelay(this::tickSafely, 0, config.getRenewIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("🗳️ KIS leader election started as {} (lease {} ms)", nodeId, config.getLeaseMs());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler == null)
+            return;
+        scheduler.shutdownNow();
+        if (leader) {
+            kisWebSocketService.stopUpstream();
+            leader = false;
+            try {
+                // 다음 노드가 리스 만료를 기다리지 않고 바로 이어받도록
+                redisTemplate.execute(RELEASE, List.of(kisProperties.getLeader().getKey()), nodeId);
+            } catch (Exception e) {
+                log.warn("Failed to release KIS lease: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception e) {
+            log.warn("KIS leader election round failed: {}", e.getMessage());
+            stepDownIfLeaseAtRisk();
+        }
+    }
+
+    /**
+     * One election round: renew when owner, otherwise try to take the lease.
+     */
+    void tick() {
+        KisProperties.Leader config = kisProperties.getLeader();
+        if (leader) {
+            Long renewed = redisTemplate.execute(RENEW, List.of(config.getKey()), nodeId,
+                    Long.toString(config.getLeaseMs()));
+            if (renewed != null && renewed > 0) {
+                lastRenewedNanos = System.nanoTime();
+            } else {
+                stepDown("lease taken over or expired");
+            }
+            return;
+        }
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(config.getKey(), nodeId,
+                Duration.ofMillis(config.getLeaseMs()));
+        if (Boolean.TRUE.equals(acquired)) {
+            leader = true;
+            lastRenewedNanos = System.nanoTime();
+            log.info("👑 {} acquired the KIS lease", nodeId);
+            kisWebSocketService.startUpstream();
+        }
+    }
+
+    // 갱신이 안 되는 상태로 리스 만료가 다가오면 다른 노드가 가져가기 전에 먼저 내려놓음
+    private void stepDownIfLeaseAtRisk() {
+        if (!leader)
+            return;
+        KisProperties.Leader config = kisProperties.getLeader();
+        long sinceRenew = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRenewedNanos);
+        if (sinceRenew >= config.getLeaseMs() - config.getRenewIntervalMs()) {
+            stepDown("could not renew for " + sinceRenew + " ms");
+        }
+    }
+
+    private void stepDown(String reason) {
+        leader = false;
+        log.warn("🏳️ {} lost the KIS lease: {}", nodeId, reason);
+        kisWebSocketService.stopUpstream();
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * @return the node currently holding the lease, or null if nobody does
+     */
+    public String currentLeader() {
+        if (!kisProperties.getLeader().isEnabled())
+            return nodeId;
+        Object owner = redisTemplate.opsForValue().get(kisProperties.getLeader().getKey());
+        return owner != null ? owner.toString() : null;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", kisProperties.getLeader().isEnabled());
+        status.put("nodeId", nodeId);
+        status.put("leader", leader);
+        try {
+            status.put("currentLeader", currentLeader());
+        } catch (Exception e) {
+            status.put("currentLeader", null);
+        }
+        return status;
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.glance.domain.stocks.config.KisProperties;
 import com.glance.domain.stocks.dto.StockPriceMessage;
-import com.glance.domain.stocks.repository.StockSymbolRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
@@ -20,6 +19,10 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.glance.domain.stocks.dto.ChartDataResponse;
 import com.glance.domain.stocks.dto.ChartDataResponse.ChartPoint;
@@ -31,23 +34,53 @@ public class KisService {
 
     private final KisProperties kisProperties;
     private final KisAccessTokenService tokenService;
-    private final StockSymbolRepository stockSymbolRepository;
+    private final StockSymbolCache stockSymbolCache;
     private final FinnhubService finnhubService;
+    private final LastPriceCache lastPriceCache;
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
+    // 캐시 미스로 진행 중인 REST 조회, 같은 종목의 동시 요청은 이 결과를 함께 기다림
+    private final Map<String, CompletableFuture<StockPriceMessage>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Last published price from the cluster-wide cache; KIS REST is called only
+     * on a miss, and its answer is cached for the other nodes too. Concurrent
+     * misses for the same symbol share one REST call.
+     */
+    public StockPriceMessage getLatestPrice(String symbol) {
+        if (symbol == null || symbol.isEmpty())
+            return null;
+        StockPriceMessage cached = lastPriceCache.get(symbol);
+        if (cached != null)
+            return cached;
 
-    private static class CachedPrice {
-        public final StockPriceMessage message;
-        public final long timestamp;
-
-        public CachedPrice(StockPriceMessage message, long timestamp) {
-            this.message = message;
-            this.timestamp = timestamp;
+        CompletableFuture<StockPriceMessage> mine = new CompletableFuture<>();
+        CompletableFuture<StockPriceMessage> running = inFlight.putIfAbsent(symbol, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                // 먼저 조회한 요청이 실패하면 함께 실패 (호출 측은 null을 실패로 처리)
+                return null;
+            }
+        }
+        try {
+            StockPriceMessage fetched = getCurrentPrice(symbol);
+            if (fetched != null)
+                lastPriceCache.put(symbol, fetched);
+            mine.complete(fetched);
+            return fetched;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(symbol, mine);
         }
     }
 
-    private final java.util.concurrent.ConcurrentHashMap<String, CachedPrice> priceCache = new java.util.concurrent.ConcurrentHashMap<>();
-
+    /**
+     * Fresh quote straight from KIS (or Finnhub for US fallbacks).
+     */
     public StockPriceMessage getCurrentPrice(String symbol) {
         if (symbol == null || symbol.isEmpty())
             return null;
@@ -73,12 +106,6 @@ public class KisService {
     }
 
     private StockPriceMessage getKoreaCurrentPrice(String symbol) {
-        long now = System.currentTimeMillis();
-        CachedPrice cached = priceCache.get(symbol);
-        if (cached != null && (now - cached.timestamp) < 3000) { // 3-second cache
-            return cached.message;
-        }
-
         try {
             String urlBasePath = kisProperties.getUrl() + "/uapi/domestic-stock/v1/quotations/inquire-price";
 
@@ -136,7 +163,6 @@ public class KisService {
                     .marketStatus(marketStatus)
                     .build();
 
-            priceCache.put(symbol, new CachedPrice(result, System.currentTimeMillis()));
             return result;
 
         } catch (Exception e) {
@@ -159,9 +185,9 @@ public class KisService {
         try {
             // Determine Market Code (NAS/NYS/AMS)
             String marketCode = "NAS"; // Default
-            var stockSymbol = stockSymbolRepository.findBySymbol(symbol);
+            var stockSymbol = stockSymbolCache.find(symbol);
             if (stockSymbol.isPresent()) {
-                switch (stockSymbol.get().getMarket()) {
+                switch (stockSymbol.get().market()) {
                     case NYSE:
                         marketCode = "NYS";
                         break;
@@ -0,0 +1,297 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.ConsistentHashRing;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Spreads real-time symbol registrations across several KIS sessions.
+ * <p>
+ * Symbols are placed by consistent hashing; if the owning session has no free
+ * registration slots the next session on the ring is tried. When a session
+ * drops, only that session's symbols are moved, and a restored session rejoins
+ * the ring without pulling symbols back from their current owner. Symbols that
+ * fit nowhere wait in {@code unassigned} until slots free up.
+ * <p>
+ * Placement and wire state are tracked separately: a symbol is first assigned
+ * to a session and only counts as registered once {@link #pendingActions(int)}
+ * has handed out its subscribe frame. A removed symbol keeps its slots until
+ * its unsubscribe frame has been handed out.
+ */
+@Slf4j
+public class KisSessionPool {
+
+    public record Action(KisConnection connection, String symbol, boolean subscribe) {
+    }
+
+    private final List<KisConnection> connections;
+    private final int maxSlotsPerSession;
+    private final ToIntFunction<String> slotCost;
+
+    private final ConsistentHashRing<KisConnection> ring;
+    private final Map<String, KisConnection> assignments = new HashMap<>();
+    private final Set<String> unassigned = new LinkedHashSet<>();
+
+    public KisSessionPool(List<KisConnection> connections, int maxSlotsPerSession, int virtualNodes,
+            ToIntFunction<String> slotCost) {
+        this.connections = List.copyOf(connections);
+        this.maxSlotsPerSession = maxSlotsPerSession;
+        this.slotCost = slotCost;
+        this.ring = new ConsistentHashRing<>(virtualNodes);
+        for (KisConnection connection : this.connections) {
+            ring.add(connection, connection.getId());
+        }
+    }
+
+    public List<KisConnection> getConnections() {
+        return connections;
+    }
+
+    public int slotCost(String symbol) {
+        return slotCost.applyAsInt(symbol);
+    }
+
+    public synchronized boolean contains(String symbol) {
+        return assignments.containsKey(symbol) || unassigned.contains(symbol);
+    }
+
+    public synchronized Set<String> symbols() {
+        Set<String> all = new LinkedHashSet<>(assignments.keySet());
+        all.addAll(unassigned);
+        return all;
+    }
+
+    public synchronized KisConnection ownerOf(String symbol) {
+        return assignments.get(symbol);
+    }
+
+    /**
+     * @return false if the symbol was already in the pool
+     */
+    public synchronized boolean add(String symbol) {
+        if (contains(symbol))
+            return false;
+
+        KisConnection target = findTarget(symbol, null);
+        if (target == null) {
+            unassigned.add(symbol);
+            log.warn("⚠️ KIS registration capacity exhausted, {} is waiting for a free slot", symbol);
+            return true;
+        }
+        place(symbol, target);
+        return true;
+    }
+
+    /**
+     * @return false if the symbol was not in the pool
+     */
+    public synchronized boolean remove(String symbol) {
+        if (unassigned.remove(symbol))
+            return true;
+
+        KisConnection owner = assignments.remove(symbol);
+        if (owner == null)
+            return false;
+        owner.symbols.remove(symbol);
+        if (owner.registered.remove(symbol)) {
+            owner.draining.add(symbol); // slots are held until the unsubscribe frame is sent
+        } else {
+            owner.usedSlots -= slotCost(symbol);
+            drainUnassigned();
+        }
+        return true;
+    }
+
+    /**
+     * Takes a dropped session off the ring and moves its symbols to sessions with
+     * free slots. Symbols that fit nowhere stay with the dropped session and are
+     * re-registered when it reconnects.
+     */
+    public synchronized void connectionLost(KisConnection lost) {
+        resetWireState(lost);
+        if (!ring.contains(lost))
+            return;
+        ring.remove(lost);
+
+        int moved = 0;
+        for (String symbol : new ArrayList<>(lost.symbols)) {
+            KisConnection target = findTarget(symbol, lost);
+            if (target == null)
+                continue;
+            lost.symbols.remove(symbol);
+            lost.usedSlots -= slotCost(symbol);
+            place(symbol, target);
+            moved++;
+        }
+        log.info("🔀 [{}] dropped: moved {} symbols, {} stay until it reconnects", lost.getId(), moved,
+                lost.symbols.size());
+    }
+
+    /**
+     * Puts a (re)connected session back on the ring and hands it any symbols that
+     * were waiting for capacity. The fresh upstream session has no registrations,
+     * so all of its symbols become pending again.
+     *
+     * @return the session's own symbols at the time of the reconnect
+     */
+    public synchronized List<String> connectionEstablished(KisConnection connection) {
+        resetWireState(connection);
+        if (!ring.contains(connection)) {
+            ring.add(connection, connection.getId());
+        }
+        List<String> own = new ArrayList<>(connection.symbols);
+        drainUnassigned();
+        return own;
+    }
+
+    public synchronized List<String> symbolsOf(KisConnection connection) {
+        return new ArrayList<>(connection.symbols);
+    }
+
+    /**
+     * Forgets what has been sent on open sessions so every registration goes out
+     * again.
+     */
+    public synchronized void reregisterAll() {
+        for (KisConnection connection : connections) {
+            if (connection.isOpen()) {
+                connection.registered.clear();
+            }
+        }
+    }
+
+    /**
+     * Hands out the next frames to send and marks them as done on the wire.
+     * Unsubscribes go first so their slots can be reused in the same pass.
+     *
+     * @param frameBudget maximum number of KIS frames (a Korean symbol is two)
+     */
+    public synchronized List<Action> pendingActions(int frameBudget) {
+        List<Action> actions = new ArrayList<>();
+        int budget = frameBudget;
+        for (KisConnection connection : connections) {
+            if (!connection.isOpen())
+                continue;
+            Iterator<String> it = connection.draining.iterator();
+            while (it.hasNext()) {
+                String symbol = it.next();
+                int cost = slotCost(symbol);
+                if (budget < cost)
+                    return actions;
+                it.remove();
+                connection.usedSlots -= cost;
+                budget -= cost;
+                actions.add(new Action(connection, symbol, false));
+            }
+        }
+        drainUnassigned();
+        for (KisConnection connection : connections) {
+            if (!connection.isOpen())
+                continue;
+            for (String symbol : connection.symbols) {
+                if (connection.registered.contains(symbol))
+                    continue;
+                int cost = slotCost(symbol);
+                if (budget < cost)
+                    return actions;
+                connection.registered.add(symbol);
+                budget -= cost;
+                actions.add(new Action(connection, symbol, true));
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Frames still owed to KIS on open sessions.
+     */
+    public synchronized int pendingFrames() {
+        int frames = 0;
+        for (KisConnection connection : connections) {
+            if (!connection.isOpen())
+                continue;
+            for (String symbol : connection.draining) {
+                frames += slotCost(symbol);
+            }
+            for (String symbol : connection.symbols) {
+                if (!connection.registered.contains(symbol))
+                    frames += slotCost(symbol);
+            }
+        }
+        return frames;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        List<Map<String, Object>> sessions = new ArrayList<>();
+        for (KisConnection connection : connections) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("id", connection.getId());
+            s.put("state", connection.getState());
+            s.put("connects", connection.getConnectCount());
+            s.put("onRing", ring.contains(connection));
+            s.put("usedSlots", connection.usedSlots);
+            s.put("maxSlots", maxSlotsPerSession);
+            s.put("symbols", connection.symbols.size());
+            s.put("registered", connection.registered.size());
+            sessions.add(s);
+        }
+        status.put("sessions", sessions);
+        status.put("unassigned", new ArrayList<>(unassigned));
+        return status;
+    }
+
+    private void resetWireState(KisConnection connection) {
+        for (String symbol : connection.draining) {
+            connection.usedSlots -= slotCost(symbol);
+        }
+        connection.draining.clear();
+        connection.registered.clear();
+    }
+
+    private void drainUnassigned() {
+        Iterator<String> it = unassigned.iterator();
+        while (it.hasNext()) {
+            String symbol = it.next();
+            KisConnection target = findTarget(symbol, null);
+            if (target == null)
+                continue;
+            it.remove();
+            place(symbol, target);
+        }
+    }
+
+    private KisConnection findTarget(String symbol, KisConnection exclude) {
+        int cost = slotCost(symbol);
+        for (KisConnection candidate : ring.walk(symbol)) {
+            if (candidate == exclude)
+                continue;
+            // 해지 대기 중인 같은 종목은 슬롯을 그대로 재사용
+            int needed = candidate.draining.contains(symbol) ? 0 : cost;
+            if (candidate.usedSlots + needed <= maxSlotsPerSession) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void place(String symbol, KisConnection target) {
+        assignments.put(symbol, target);
+        target.symbols.add(symbol);
+        if (target.draining.remove(symbol)) {
+            // Unsubscribe never went out, so the upstream registration is still live
+            target.registered.add(symbol);
+        } else {
+            target.usedSlots += slotCost(symbol);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.EpochNanoClock;
+import com.glance.domain.stocks.utils.MarketUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the KIS real-time WebSocket (profile {@code kis-sim}).
+ * <p>
+ * Accepts the same subscribe/unsubscribe JSON as KIS, answers with the same
+ * ACK and error bodies (including {@code MAX SUBSCRIBE OVER} past the
+ * per-session limit) and emits {@code H0STCNT0}, {@code H0NXMKO0} and
+ * {@code HDFSCNT0} caret frames for every registered tr_key at
+ * {@code kis.simulator.ticks-per-second}. {@code symbol-count} and
+ * {@code us-symbol-count} add synthetic symbols that are pushed unsolicited,
+ * spread over the open sessions, so opening-bell scale load can be generated
+ * without anyone subscribing to them.
+ * <p>
+ * Prices are a bounded random walk on the KRX tick grid (one cent for US
+ * symbols), seeded by {@code kis.simulator.seed} and the tr_key.
+ */
+@Slf4j
+@Component
+@Profile("kis-sim")
+@RequiredArgsConstructor
+public class KisSimulator extends TextWebSocketHandler {
+
+    private static final int KOREA_FIELDS = 46;
+    private static final int US_FIELDS = 26;
+    private static final int US_SCALE = 4;
+    private static final long US_UNIT = 10_000L;
+
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT = 16 * 1024 * 1024;
+
+    private final KisProperties kisProperties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, SimSession> sessions = new ConcurrentHashMap<>();
+    // Synthetic symbols, only touched by the emitter thread after start()
+    private final List<Instrument> unsolicited = new ArrayList<>();
+    private final Random random = new Random();
+    private ScheduledExecutorService emitter;
+
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    static final class Instrument {
+        final String trId;
+        final String trKey;
+        final boolean us;
+        final long prevClose;
+        // Only touched by the emitter thread
+        long price;
+        long volume;
+        double credit;
+
+        Instrument(String trId, String trKey, long prevClose) {
+            this.trId = trId;
+            this.trKey = trKey;
+            this.us = "HDFSCNT0".equals(trId);
+            this.prevClose = prevClose;
+            this.price = prevClose;
+        }
+    }
+
+    private static final class SimSession {
+        final WebSocketSession session;
+        // trId|trKey -> instrument
+        final Map<String, Instrument> registrations = new ConcurrentHashMap<>();
+
+        SimSession(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        KisProperties.Simulator config = kisProperties.getSimulator();
+        random.setSeed(config.getSeed());
+        for (int i = 0; i < config.getSymbolCount(); i++) {
+            unsolicited.add(instrument("H0STCNT0", String.format("9%05d", i)));
+        }
+        for (int i = 0; i < config.getUsSymbolCount(); i++) {
+            unsolicited.add(instrument("HDFSCNT0", String.format("DNASSIM%04d", i)));
+        }
+
+        long interval = Math.max(1, config.getEmitIntervalMs());
+        emitter = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "kis-sim-emitter"));
+        emitter.scheduleAtFixedRate(this::emitSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("🧪 KIS simulator: {} tick/s per tr_key, {} synthetic symbols, {} registrations per session",
+                config.getTicksPerSecond(), unsolicited.size(), config.getMaxRegistrationsPerSession());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (emitter != null)
+            emitter.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // The emitter thread and request handling both write, so serialize sends
+        sessions.put(session.getId(), new SimSession(
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT)));
+        log.info("🧪 [KIS-SIM] Session {} connected ({} open)", session.getId(), sessions.size());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        log.info("🧪 [KIS-SIM] Session {} closed: {}", session.getId(), status);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        SimSession sim = sessions.get(session.getId());
+        if (sim == null)
+            return;
+        String reply = onRequest(sim.registrations, message.getPayload());
+        if (reply != null)
+            send(sim, reply);
+    }
+
+    /**
+     * Applies one client request to a session's registrations.
+     *
+     * @return the KIS-style JSON reply, or null for requests KIS doesn't answer
+     *         (text PING)
+     */
+    String onRequest(Map<String, Instrument> registrations, String payload) {
+        if (!payload.startsWith("{"))
+            return null;
+        requests.increment();
+        try {
+            JsonNode request = objectMapper.readTree(payload);
+            boolean subscribe = !"2".equals(request.path("header").path("tr_type").asText("1"));
+            String trId = request.path("body").path("input").path("tr_id").asText("");
+            String trKey = request.path("body").path("input").path("tr_key").asText("");
+            String key = trId + "|" + trKey;
+
+            if (!subscribe) {
+                if (registrations.remove(key) == null)
+                    return reply(trId, trKey, "1", "OPSP0003", "UNSUBSCRIBE ERROR(not found!)");
+                return reply(trId, trKey, "0", "OPSP0001", "UNSUBSCRIBE SUCCESS");
+            }
+            if (registrations.containsKey(key))
+                return reply(trId, trKey, "1", "OPSP0002", "ALREADY IN SUBSCRIBE");
+            if (registrations.size() >= kisProperties.getSimulator().getMaxRegistrationsPerSession()) {
+                rejected.increment();
+                return reply(trId, trKey, "1", "OPSP0008", "MAX SUBSCRIBE OVER");
+            }
+            registrations.put(key, instrument(trId, trKey));
+            return reply(trId, trKey, "0", "OPSP0000", "SUBSCRIBE SUCCESS");
+        } catch (Exception e) {
+            return reply("", "", "1", "OPSP9999", "JSON PARSING ERROR");
+        }
+    }
+
+    private String reply(String trId, String trKey, String rtCd, String msgCd, String msg) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("tr_id", trId);
+        header.put("tr_key", trKey);
+        header.put("encrypt", "N");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("rt_cd", rtCd);
+        body.put("msg_cd", msgCd);
+        body.put("msg1", msg);
+        try {
+            return objectMapper.writeValueAsString(Map.of("header", header, "body", body));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Instrument instrument(String trId, String trKey) {
+        // NXT registrations use the plain code, so both venues of a symbol start from the same price
+        Random seeded = new Random(kisProperties.getSimulator().getSeed() ^ trKey.hashCode());
+        if ("HDFSCNT0".equals(trId)) {
+            return new Instrument(trId, trKey, (10 + seeded.nextInt(490)) * US_UNIT + seeded.nextInt(100) * 100L);
+        }
+        long base = 1_000 + seeded.nextInt(300_000);
+        return new Instrument(trId, trKey, base - base % koreaTickSize(base));
+    }
+
+    private void emitSafely() {
+        try {
+            emitRound();
+        } catch (Exception e) {
+            log.error("KIS simulator emit failed", e);
+        }
+    }
+
+    private void emitRound() {
+        KisProperties.Simulator config = kisProperties.getSimulator();
+        double perRound = config.getTicksPerSecond() * Math.max(1, config.getEmitIntervalMs()) / 1000.0;
+        int hhmmss = MarketUtils.koreaHhmmss(EpochNanoClock.now());
+        LocalDate today = LocalDate.now(MarketUtils.KOREA_ZONE);
+        int yyyymmdd = today.getYear() * 10000 + today.getMonthValue() * 100 + today.getDayOfMonth();
+
+        List<SimSession> open = new ArrayList<>(sessions.values());
+        for (SimSession sim : open) {
+            for (Instrument instrument : sim.registrations.values()) {
+                emit(sim, instrument, perRound, yyyymmdd, hhmmss);
+            }
+        }
+        if (open.isEmpty())
+            return;
+        for (int i = 0; i < unsolicited.size(); i++) {
+            emit(open.get(i % open.size()), unsolicited.get(i), perRound, yyyymmdd, hhmmss);
+        }
+    }
+
+    private void emit(SimSession sim, Instrument instrument, double perRound, int yyyymmdd, int hhmmss) {
+        instrument.credit += perRound;
+        while (instrument.credit >= 1) {
+            instrument.credit -= 1;
+            send(sim, nextFrame(instrument, yyyymmdd, hhmmss));
+            framesSent.increment();
+        }
+    }
+
+    private void send(SimSession sim, String text) {
+        try {
+            sim.session.sendMessage(new TextMessage(text));
+        } catch (Exception e) {
+            // Closed, or the client can't keep up (decorator buffer/time limit)
+            log.debug("[KIS-SIM] Send failed on {}: {}", sim.session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the instrument one step and renders a {@code 0|TR_ID|001|...} frame.
+     */
+    String nextFrame(Instrument instrument, int yyyymmdd, int hhmmss) {
+        long step = instrument.us ? 100 : koreaTickSize(instrument.price);
+        long moved = instrument.price + (random.nextInt(5) - 2) / 2 * step;
+        // ±30% daily price limit
+        if (moved > instrument.prevClose * 13 / 10 || moved < instrument.prevClose * 7 / 10 || moved <= 0)
+            moved = instrument.price;
+        instrument.price = moved;
+        long quantity = 1 + random.nextInt(200);
+        instrument.volume += quantity;
+        return instrument.us ? usFrame(instrument, quantity, yyyymmdd, hhmmss)
+                : koreaFrame(instrument, quantity, hhmmss);
+    }
+
+    private String koreaFrame(Instrument instrument, long quantity, int hhmmss) {
+        long change = instrument.price - instrument.prevClose;
+        String[] fields = new String[KOREA_FIELDS];
+        Arrays.fill(fields, "0");
+        fields[0] = instrument.trKey;
+        fields[1] = String.format("%06d", hhmmss);
+        fields[2] = Long.toString(instrument.price);
+        fields[3] = sign(change);
+        fields[4] = Long.toString(change);
+        fields[5] = rate(change, instrument.prevClose);
+        fields[7] = Long.toString(instrument.prevClose);
+        fields[12] = Long.toString(quantity);
+        fields[13] = Long.toString(instrument.volume);
+        fields[42] = "2"; // 시장운영구분코드: 정규장
+        return "0|" + instrument.trId + "|001|" + String.join("^", fields);
+    }
+
+    private String usFrame(Instrument instrument, long quantity, int yyyymmdd, int hhmmss) {
+        long change = instrument.price - instrument.prevClose;
+        String[] fields = new String[US_FIELDS];
+        Arrays.fill(fields, "0");
+        fields[0] = instrument.trKey;
+        fields[1] = instrument.trKey.substring(4);
+        fields[2] = Integer.toString(US_SCALE);
+        fields[6] = Integer.toString(yyyymmdd); // KYMD
+        fields[7] = String.format("%06d", hhmmss); // KHMS
+        fields[8] = decimal(instrument.prevClose, US_SCALE);
+        fields[11] = decimal(instrument.price, US_SCALE);
+        fields[12] = sign(change);
+        fields[13] = decimal(Math.abs(change), US_SCALE);
+        fields[14] = rate(change, instrument.prevClose);
+        fields[19] = Long.toString(quantity);
+        fields[20] = Long.toString(instrument.volume);
+        fields[25] = "1";
+        return "0|" + instrument.trId + "|001|" + String.join("^", fields);
+    }
+
+    // 1: 상한, 2: 상승, 3: 보합, 4: 하한, 5: 하락
+    private static String sign(long change) {
+        return change > 0 ? "2" : change < 0 ? "5" : "3";
+    }
+
+    private static String rate(long change, long prevClose) {
+        return decimal(change * 10_000 / prevClose, 2);
+    }
+
+    private static String decimal(long scaled, int scale) {
+        long unit = 1;
+        for (int i = 0; i < scale; i++)
+            unit *= 10;
+        String fraction = Long.toString(Math.abs(scaled) % unit + unit).substring(1);
+        return (scaled < 0 ? "-" : "") + Math.abs(scaled) / unit + "." + fraction;
+    }
+
+    // KRX 호가 가격 단위 (2023 개편 기준)
+    static long koreaTickSize(long price) {
+        if (price < 2_000)
+            return 1;
+        if (price < 5_000)
+            return 5;
+        if (price < 20_000)
+            return 10;
+        if (price < 50_000)
+            return 50;
+        if (price < 200_000)
+            return 100;
+        if (price < 500_000)
+            return 500;
+        return 1_000;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("registrations", sessions.values().stream().mapToInt(s -> s.registrations.size()).sum());
+        stats.put("syntheticSymbols", unsolicited.size());
+        stats.put("framesSent", framesSent.sum());
+        stats.put("requests", requests.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,125 @@
+package com.glance.domain.stocks.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Desired-state vs. actual-state reconciler for KIS registrations.
+ * <p>
+ * {@link #want(String)} and {@link #drop(String)} only flip a flag in the
+ * desired set, so a subscribe followed by an unsubscribe inside one interval
+ * never reaches KIS. {@link #reconcile()} runs periodically, applies the
+ * difference to the {@link KisSessionPool}, and sends the resulting frames
+ * through a token bucket so that connect/disconnect storms are spread out
+ * instead of being rejected upstream.
+ */
+@Slf4j
+public class KisSubscriptionReconciler {
+
+    private final KisSessionPool pool;
+    private final Consumer<KisSessionPool.Action> frameSender;
+    private final double framesPerSecond;
+    // 버킷 용량, 한 번에 가장 비싼 종목(국내 2프레임)도 보낼 수 있어야 함
+    private final double burst;
+
+    private final Set<String> desired = ConcurrentHashMap.newKeySet();
+
+    // Token bucket, only touched from reconcile()
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+
+    /**
+     * @param maxFrameCost frames the most expensive symbol takes at once
+     *                     ({@link KisSessionPool#slotCost}); the bucket holds
+     *                     at least this many so a rate below it still sends
+     */
+    public KisSubscriptionReconciler(KisSessionPool pool, double framesPerSecond, int maxFrameCost,
+            Consumer<KisSessionPool.Action> frameSender) {
+        this.pool = pool;
+        this.framesPerSecond = Math.max(1, framesPerSecond);
+        this.burst = Math.max(this.framesPerSecond, maxFrameCost);
+        this.frameSender = frameSender;
+        this.tokens = this.burst;
+    }
+
+    public void want(String symbol) {
+        if (desired.add(symbol))
+            requests.increment();
+    }
+
+    public void drop(String symbol) {
+        if (desired.remove(symbol))
+            requests.increment();
+    }
+
+    /**
+     * Replaces the desired set with {@code symbols} (the cluster-wide list kept
+     * in Redis), going through want/drop so counters stay meaningful.
+     */
+    public void syncDesired(Set<String> symbols) {
+        symbols.forEach(this::want);
+        for (String symbol : desired) {
+            if (!symbols.contains(symbol))
+                drop(symbol);
+        }
+    }
+
+    public boolean isDesired(String symbol) {
+        return desired.contains(symbol);
+    }
+
+    public synchronized void reconcile() {
+        Set<String> actual = pool.symbols();
+        for (String symbol : desired) {
+            if (!actual.contains(symbol) && pool.add(symbol))
+                applied.increment();
+        }
+        for (String symbol : actual) {
+            if (!desired.contains(symbol) && pool.remove(symbol))
+                applied.increment();
+        }
+
+        refill();
+        if (tokens < 1)
+            return;
+        List<KisSessionPool.Action> actions = pool.pendingActions((int) tokens);
+        for (KisSessionPool.Action action : actions) {
+            int frames = pool.slotCost(action.symbol());
+            tokens -= frames;
+            framesSent.add(frames);
+            frameSender.accept(action);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        lastRefillNanos = now;
+        // 최대 1초 분량까지만 누적 (버스트 상한), 단 가장 비싼 종목 하나는 보낼 수 있게
+        tokens = Math.min(burst, tokens + elapsedSeconds * framesPerSecond);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("desired", desired.size());
+        stats.put("requests", requests.sum());
+        stats.put("applied", applied.sum());
+        // 같은 주기 안에서 구독/해지가 상쇄되어 KIS까지 가지 않은 요청 수
+        stats.put("cancelled", Math.max(0, requests.sum() - applied.sum()));
+        stats.put("framesSent", framesSent.sum());
+        stats.put("pendingFrames", pool.pendingFrames());
+        return stats;
+    }
+}
@@ -2,99 +2,372 @@ package com.glance.domain.stocks.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
 import com.glance.domain.stocks.dto.StockPriceMessage;
-import com.glance.domain.stocks.repository.StockSymbolRepository;
+import com.glance.domain.stocks.utils.KisFrameScanner;
+import com.glance.domain.stocks.utils.MarketUtils;
+import com.glance.domain.stocks.utils.ExponentialBackoff;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.CloseStatus;
-import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.client.standard.StandardWebSocketClient;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.time.ZonedDateTime;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class KisWebSocketService extends TextWebSocketHandler {
+public class KisWebSocketService implements KisConnection.Listener {
 
     private final KisProperties kisProperties;
     private final KisAccessTokenService tokenService;
     private final SimpMessagingTemplate messagingTemplate;
     private final RedisStockService redisStockService; // Use Redis service instead of DB repo
-    private final StockSymbolRepository stockSymbolRepository; // Look up market info
+    private final StockSymbolCache stockSymbolCache; // Look up market info (in-memory master)
+    private final KisService kisService; // REST snapshot for post-reconnect backfill
+    private final VenueConsolidator venueConsolidator; // KRX/NXT 시세를 종목당 하나의 스트림으로 병합
+    private final PriceConflator priceConflator; // 종목별 최신 값만 주기적으로 Redis 발행
+    private final TickLatencyRecorder latencyRecorder; // 소켓 수신 ~ STOMP 전송 구간별 지연
+    private final Environment environment; // kis-sim 프로파일 여부 (재생 허용 판단)
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private WebSocketSession session;
-    private final Set<String> subscribedSymbols = ConcurrentHashMap.newKeySet();
-
-    // 심볼별 마지막 실시간 데이터 수신 시각 (폴링 폴백 판단용)
-    private final Map<String, Instant> lastReceivedTime = new ConcurrentHashMap<>();
+    // 국내 종목 한 건의 등록 수 (H0STCNT0 + H0NXMKO0)
+    private static final int DOMESTIC_SLOT_COST = 2;
+
+    // 여러 KIS 세션(앱 키별)에 종목 등록을 분산
+    private KisSessionPool pool;
+    // subscribe/unsubscribe 요청을 모아 주기적으로 차이만 KIS에 전송
+    private KisSubscriptionReconciler reconciler;
+    // 소켓 스레드에서 받은 프레임을 세션별 링 버퍼로 넘겨 별도 스레드에서 처리
+    private KisIngestPipeline ingest;
+    // 수신한 원본 프레임 기록 (kis.journal.enabled)
+    private KisFrameJournal journal;
+    private KisFrameReplayer replayer;
+    // 재생 프레임이 들어오는 가상 세션, 실시간 세션과 같은 ingest 링을 거침 (재생 파일이 없으면 null)
+    private KisConnection replayConnection;
+
+    // 이 노드가 KIS 리스를 가진 동안만 세션을 열고 구독을 조정 (KisLeaderElection)
+    private volatile boolean upstreamActive;
+    private ScheduledFuture<?> reconcileTask;
+    // Redis의 클러스터 구독 목록(kis:desired)을 다시 읽어야 하는지 (reconcile 스레드에서만 읽음)
+    private final AtomicBoolean desiredDirty = new AtomicBoolean(true);
+    private long lastDesiredSyncNanos;
+
+    // 재접속 대기/구독 조정용 스케줄러, REST 백필은 별도 스레드에서 순차 실행
+    private final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(
+            r -> new Thread(r, "kis-reconnect"));
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "kis-backfill"));
+
+    // 수신 스레드별 재사용 스캐너 (틱마다 split 배열을 만들지 않도록)
+    private final ThreadLocal<KisFrameScanner> scannerHolder = ThreadLocal.withInitial(KisFrameScanner::new);
+
+    @PostConstruct
+    void initPool() {
+        KisProperties.Pool poolProps = kisProperties.getPool();
+        List<KisProperties.AppCredential> keys = new ArrayList<>();
+        KisProperties.AppCredential primary = new KisProperties.AppCredential();
+        primary.setAppKey(kisProperties.getAppKey());
+        primary.setAppSecret(kisProperties.getAppSecret());
+        keys.add(primary);
+        keys.addAll(poolProps.getAdditionalKeys());
+
+        List<KisConnection> connections = new ArrayList<>();
+        for (int k = 0; k < keys.size(); k++) {
+            for (int i = 0; i < Math.max(1, poolProps.getSessionsPerKey()); i++) {
+                KisProperties.AppCredential key = keys.get(k);
+                connections.add(new KisConnection("kis-" + k + "-" + i, key.getAppKey(), key.getAppSecret(), this));
+            }
+        }
 
-    public Instant getLastReceivedTime(String symbol) {
-        return lastReceivedTime.getOrDefault(symbol, Instant.EPOCH);
+        // 국내 종목은 KRX + NXT 두 건을 등록하므로 슬롯 2개
+        this.pool = new KisSessionPool(connections, poolProps.getMaxRegistrationsPerSession(),
+                poolProps.getVirtualNodes(), symbol -> MarketUtils.isGlobalSymbol(symbol) ? 1 : DOMESTIC_SLOT_COST);
+        KisProperties.Journal journalProps = kisProperties.getJournal();
+        if (journalProps.isEnabled()) {
+            this.journal = new KisFrameJournal(Path.of(journalProps.getDirectory()), journalProps.getChunkBytes());
+        }
+        List<KisConnection> ingestSources = new ArrayList<>(connections);
+        String replayFile = journalProps.getReplayFile();
+        if (replayFile != null && !replayFile.isBlank()) {
+            replayConnection = new KisConnection("replay", null, null, this);
+            ingestSources.add(replayConnection);
+        }
+        this.ingest = new KisIngestPipeline(ingestSources, kisProperties.getIngest().getRingSize(),
+                kisProperties.getIngest().getOverflowPolicy(), this::handleFrame);
+        // 재생은 소켓이 아니므로 최대 속도여도 프레임을 버리지 않고 기다림
+        if (replayConnection != null)
+            ingest.setOverflowPolicy(replayConnection, KisIngestPipeline.OverflowPolicy.BLOCK);
+        // 링이 넘쳐 버린 프레임도 기록해 두어야 재생 시 실제 수신 부하가 재현됨
+        if (journal != null)
+            ingest.setOverflowHandler(this::recordFrame);
+        this.reconciler = new KisSubscriptionReconciler(pool,
+                kisProperties.getSubscription().getMaxFramesPerSecond(), DOMESTIC_SLOT_COST, this::sendAction);
+        redisStockService.onDesiredKisSymbolsChanged(() -> desiredDirty.set(true));
+        log.info("KIS session pool: {} sessions x {} slots", connections.size(),
+                poolProps.getMaxRegistrationsPerSession());
     }
 
     // Add heartbeat scheduler
     // Note: Requires @EnableScheduling in the application configuration
     @org.springframework.scheduling.annotation.Scheduled(fixedRate = 60000) // Send Ping every 60 seconds
     public void sendHeartbeat() {
-        if (session != null && session.isOpen()) {
+        for (KisConnection connection : pool.getConnections()) {
+            if (!connection.isOpen())
+                continue;
             try {
                 // KIS often keeps alive with simple traffic.
                 // Try sending text "PING" which is sometimes more checks compatible
-                session.sendMessage(new TextMessage("PING"));
-                log.debug("💓 Sent KIS Heartbeat (Text PING)");
+                connection.send("PING");
+                log.debug("💓 [{}] Sent KIS Heartbeat (Text PING)", connection.getId());
             } catch (Exception e) {
-                log.warn("Failed to send heartbeat to KIS", e);
+                log.warn("Failed to send heartbeat to KIS [{}]", connection.getId(), e);
             }
         }
     }
 
     @EventListener(ApplicationReadyEvent.class)
-    public void connect() {
+    public void startIngest() {
+        ingest.start();
+        startReplayIfConfigured();
+    }
+
+    /**
+     * Opens the upstream KIS sessions and starts applying the cluster-wide
+     * subscription list. Only the node holding the KIS lease calls this
+     * ({@link KisLeaderElection}); the others just consume stock.price.*.
+     */
+    public synchronized void startUpstream() {
+        if (upstreamActive)
+            return;
+        upstreamActive = true;
+        desiredDirty.set(true);
+        KisProperties.Reconnect reconnect = kisProperties.getReconnect();
+        ExponentialBackoff backoff = new ExponentialBackoff(reconnect.getInitialBackoffMs(),
+                reconnect.getMaxBackoffMs(), reconnect.getBackoffMultiplier(), reconnect.getJitter());
+        pool.getConnections().forEach(c -> c.start(kisProperties.getWsUrl(), reconnectScheduler, backoff));
+
+        long interval = kisProperties.getSubscription().getReconcileIntervalMs();
+        reconcileTask = reconnectScheduler.scheduleWithFixedDelay(this::reconcileSafely, 0, interval,
+                TimeUnit.MILLISECONDS);
+        log.info("👑 Upstream KIS sessions started on this node");
+    }
+
+    /**
+     * Closes the upstream sessions after losing the KIS lease. Registrations
+     * stay in the pool and are sent again if this node becomes owner later.
+     */
+    public synchronized void stopUpstream() {
+        if (!upstreamActive)
+            return;
+        upstreamActive = false;
+        if (reconcileTask != null)
+            reconcileTask.cancel(false);
+        pool.getConnections().forEach(KisConnection::stop);
+        log.info("Upstream KIS sessions stopped on this node");
+    }
+
+    public boolean isUpstreamActive() {
+        return upstreamActive;
+    }
+
+    private void reconcileSafely() {
         try {
-            StandardWebSocketClient client = new StandardWebSocketClient();
-            client.execute(this, kisProperties.getWsUrl()).get();
+            syncDesiredIfDue();
+            reconciler.reconcile();
         } catch (Exception e) {
-            log.error("Failed to connect to KIS WebSocket", e);
+            log.error("Failed to reconcile KIS subscriptions", e);
         }
     }
 
+    /**
+     * Pulls the cluster-wide subscription list when another node changed it, and
+     * periodically in case a change notification was missed.
+     */
+    private void syncDesiredIfDue() {
+        long now = System.nanoTime();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(kisProperties.getLeader().getDesiredSyncMs());
+        if (!desiredDirty.getAndSet(false) && now - lastDesiredSyncNanos < intervalNanos)
+            return;
+        lastDesiredSyncNanos = now;
+        try {
+            reconciler.syncDesired(redisStockService.getDesiredKisSymbols());
+        } catch (Exception e) {
+            // Redis 장애 중에는 로컬 구독 상태로 계속 조정하고 다음 주기에 재시도
+            log.warn("Failed to read KIS subscription list from Redis: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.getConnections().forEach(KisConnection::stop);
+        ingest.stop();
+        if (journal != null)
+            journal.close();
+        reconnectScheduler.shutdownNow();
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * 장중인데 일정 시간 프레임이 전혀 없는 세션은 끊긴 것으로 보고 재접속합니다.
+     * KIS는 소켓을 닫지 않은 채 데이터만 멈추는 경우가 있어 close 이벤트만으로는 감지되지 않습니다.
+     */
+    @Scheduled(fixedRate = 5000)
+    public void detectStalledSessions() {
+        detectStalledSessions(ZonedDateTime.now(), System.nanoTime());
+    }
+
+    void detectStalledSessions(ZonedDateTime now, long nowNanos) {
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(kisProperties.getReconnect().getStallTimeoutSeconds());
+        for (KisConnection connection : pool.getConnections()) {
+            if (connection.getState() != KisConnection.State.CONNECTED)
+                continue;
+            long silentNanos = nowNanos - connection.getLastFrameNanos();
+            if (isStalled(pool.symbolsOf(connection), silentNanos, timeoutNanos, now)) {
+                connection.forceReconnect("no frames for " + TimeUnit.NANOSECONDS.toSeconds(silentNanos) + "s");
+            }
+        }
+    }
+
+    // 타임아웃 이상 프레임이 없고, 지금 체결이 있어야 할 종목이 하나라도 있으면 멈춘 세션
+    static boolean isStalled(List<String> symbols, long silentNanos, long timeoutNanos, ZonedDateTime now) {
+        if (silentNanos < timeoutNanos)
+            return false;
+        return symbols.stream().anyMatch(symbol -> MarketUtils.isTradingHours(symbol, now));
+    }
+
     // Allow external services to trigger re-subscription logic if needed
-    public synchronized void resubscribeAll() {
-        subscribedSymbols.forEach(s -> sendSubscribeRequest(s, true));
+    public void resubscribeAll() {
+        pool.reregisterAll();
+    }
+
+    public Map<String, Object> getSessionStatus() {
+        Map<String, Object> status = pool.status();
+        status.put("upstreamActive", upstreamActive);
+        status.put("subscriptions", reconciler.stats());
+        return status;
     }
 
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) {
-        this.session = session;
-        log.info("🚀 Connected to KIS WebSocket");
-
-        // Re-subscribe any already in memory (redundant but safe)
-        int count = subscribedSymbols.size();
-        log.info("🔄 Re-subscribing to {} symbols...", count);
-        subscribedSymbols.forEach(s -> sendSubscribeRequest(s, true));
+    public void onConnected(KisConnection connection) {
+        // Registrations of this session are pending again; the reconciler re-sends
+        // them at the configured frame rate
+        List<String> symbols = pool.connectionEstablished(connection);
+        log.info("🔄 [{}] Re-subscribing {} assigned symbols...", connection.getId(), symbols.size());
+        if (connection.getConnectCount() > 1) {
+            backfill(symbols);
+        }
     }
 
     @Override
-    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        log.warn("❌ KIS WebSocket Closed: {}. Reconnecting...", status);
-        this.session = null;
-        connect();
+    public void onClosed(KisConnection connection, CloseStatus status) {
+        log.warn("❌ [{}] KIS WebSocket Closed: {}. Reconnecting...", connection.getId(), status);
+        pool.connectionLost(connection);
+    }
+
+    /**
+     * 재접속 사이에 놓친 시세를 REST 스냅샷으로 채워, 다음 체결이 올 때까지 클라이언트가
+     * 오래된 가격을 보지 않도록 합니다.
+     */
+    private void backfill(List<String> symbols) {
+        KisProperties.Reconnect reconnect = kisProperties.getReconnect();
+        if (!reconnect.isBackfillEnabled() || symbols.isEmpty())
+            return;
+        backfillExecutor.execute(() -> {
+            int filled = 0;
+            for (String symbol : symbols) {
+                if (!pool.contains(symbol))
+                    continue;
+                try {
+                    StockPriceMessage snapshot = kisService.getCurrentPrice(symbol);
+                    if (snapshot != null) {
+                        redisStockService.publish(symbol, snapshot);
+                        filled++;
+                    }
+                    Thread.sleep(reconnect.getBackfillIntervalMs()); // KIS REST 초당 호출 제한
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.warn("[Backfill] Failed for {}: {}", symbol, e.getMessage());
+                }
+            }
+            log.info("🩹 Backfilled {} of {} symbols after reconnect", filled, symbols.size());
+        });
+    }
+
+    public Map<String, Object> getIngestStats() {
+        Map<String, Object> stats = ingest.stats();
+        if (journal != null) {
+            stats.put("journal", Map.of("frames", journal.getFrames(), "bytes", journal.getBytes(),
+                    "failures", journal.getFailures()));
+        }
+        if (replayer != null)
+            stats.put("replay", replayer.stats());
+        return stats;
+    }
+
+    /**
+     * kis.journal.replay-file이 지정되면 녹화된 프레임을 실시간 수신과 같은 ingest 링으로 재생합니다.
+     * (장 시작 부하 재현/프로파일링용, 재생 프레임은 다시 기록하지 않음)
+     * 재생 시세도 실시간과 같은 stock.price.* 채널과 마지막 시세 키로 발행되므로
+     * kis-sim 프로파일(부하 테스트 환경)에서만 재생합니다.
+     */
+    private void startReplayIfConfigured() {
+        if (replayConnection == null)
+            return;
+        if (!environment.acceptsProfiles(Profiles.of("kis-sim"))) {
+            log.warn("Skipping replay of {}: replay publishes into the live price channels and needs profile kis-sim",
+                    kisProperties.getJournal().getReplayFile());
+            return;
+        }
+        KisProperties.Journal journalProps = kisProperties.getJournal();
+        replayer = new KisFrameReplayer(Path.of(journalProps.getReplayFile()), journalProps.getReplaySpeed(),
+                (sessionId, payload, recordedEpochNanos) -> ingest.offer(replayConnection, payload));
+        Thread replayThread = new Thread(replayer, "kis-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
     }
 
+    /**
+     * Socket thread: only hands the frame to the connection's ingest ring.
+     */
     @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
-        String payload = message.getPayload();
+    public void onFrame(KisConnection connection, String payload) {
+        ingest.offer(connection, payload);
+    }
+
+    // Ingest consumer thread: record -> parse -> enrich -> publish (conflator)
+    private void handleFrame(KisConnection connection, String payload, long receivedEpochNanos) {
+        if (journal != null)
+            recordFrame(connection, payload, receivedEpochNanos);
+        processFrame(connection, payload, receivedEpochNanos);
+    }
+
+    private void recordFrame(KisConnection connection, String payload, long receivedEpochNanos) {
+        if (connection != replayConnection)
+            journal.append(connection.getId(), receivedEpochNanos, payload);
+    }
+
+    private void processFrame(KisConnection connection, String payload, long ingestNanos) {
         log.debug("RAW KIS MSG: {}", payload);
 
         if (payload.startsWith("{")) {
@@ -123,166 +396,175 @@ public class KisWebSocketService extends TextWebSocketHandler {
 
         try {
             // Data format: Encrypted/Plain | TR_ID | Count | Data (Pipe separated)
-            String[] parts = payload.split("\\|");
-            if (parts.length < 4) {
+            KisFrameScanner scanner = scannerHolder.get();
+            if (!scanner.scan(payload)) {
                 log.warn("KIS WS Message too short: {}", payload);
                 return;
             }
 
-            String trId = parts[1];
-            // log.info("KIS WS TR_ID: {}", trId); // Debugging line
-
-            if ("H0STCNT0".equals(trId)) { // 국내주식 실시간 체결 (KRX)
-                parseAndBroadcastKorea(parts[3], "KRX");
-            } else if ("H0NXMKO0".equals(trId)) { // 국내주식 실시간 체결 (Nextrade ATS)
-                parseAndBroadcastKorea(parts[3], "ATS");
-            } else if ("HDFSASP0".equals(trId) || "HDFSCNT0".equals(trId)) { // 해외주식 실시간 호가 or 체결
-                parseAndBroadcastUS(parts[3]);
-            } else {
-                log.warn("Unknown TR_ID: {}", trId);
+            switch (scanner.trId()) {
+                case KRX_TRADE -> parseAndBroadcastKorea(scanner, PriceTick.Venue.KRX, ingestNanos); // 국내주식 실시간 체결 (KRX)
+                case NXT_TRADE -> parseAndBroadcastKorea(scanner, PriceTick.Venue.NXT, ingestNanos); // 국내주식 실시간 체결 (Nextrade ATS)
+                case US_QUOTE, US_TRADE -> parseAndBroadcastUS(scanner, ingestNanos); // 해외주식 실시간 호가 or 체결
+                default -> log.warn("Unknown TR_ID: {}", scanner.trIdText());
             }
         } catch (Exception e) {
             log.error("Failed to parse KIS message", e);
         }
     }
 
-    private void parseAndBroadcastKorea(String data, String exchangeHint) {
-        String[] fields = data.split("\\^");
-        if (fields.length < 6)
+    private void parseAndBroadcastKorea(KisFrameScanner fields, PriceTick.Venue venue, long ingestNanos) {
+        if (fields.fieldCount() < 6)
             return;
 
-        String symbol = fields[0];
-        String price = fields[2];
-        String change = fields[4];
-        String changeRate = fields[5];
-        String time = fields[1];
+        String symbol = fields.field(0);
+        int time = (int) fields.decimal(1, 0); // HHmmss
 
-        String marketStatus;
-        if ("ATS".equals(exchangeHint)) {
+        PriceTick.MarketStatus marketStatus;
+        if (venue == PriceTick.Venue.NXT) {
             // H0NXMKO0: This is Nextrade (ATS) data
             // Determine if pre-market or after-market by time
-            if (time.compareTo("090000") < 0) {
-                marketStatus = "PRE_MARKET";
-            } else if (time.compareTo("153000") >= 0) {
-                marketStatus = "AFTER_HOURS";
+            if (time < 90000) {
+                marketStatus = PriceTick.MarketStatus.PRE_MARKET;
+            } else if (time >= 153000) {
+                marketStatus = PriceTick.MarketStatus.AFTER_HOURS;
             } else {
-                marketStatus = "ATS";
+                marketStatus = PriceTick.MarketStatus.ATS;
             }
         } else {
             // H0STCNT0: KRX market
             // Extract Market Operation Code or rely on time for after-hours
-            marketStatus = "REGULAR";
-            if (fields.length > 42) {
-                String mkopClsCode = fields[42]; // 시장운영구분코드
-                if ("4".equals(mkopClsCode))
-                    marketStatus = "AFTER_HOURS";
-                else if ("1".equals(mkopClsCode))
-                    marketStatus = "PRE_MARKET";
+            marketStatus = PriceTick.MarketStatus.REGULAR;
+            if (fields.fieldCount() > 42) {
+                // 시장운영구분코드
+                if (fields.fieldEquals(42, '4'))
+                    marketStatus = PriceTick.MarketStatus.AFTER_HOURS;
+                else if (fields.fieldEquals(42, '1'))
+                    marketStatus = PriceTick.MarketStatus.PRE_MARKET;
             } else {
                 // Fallback to time-based
-                if (time.compareTo("153000") >= 0 && time.compareTo("200000") <= 0)
-                    marketStatus = "AFTER_HOURS";
-                else if (time.compareTo("080000") >= 0 && time.compareTo("090000") < 0)
-                    marketStatus = "PRE_MARKET";
+                if (time >= 153000 && time <= 200000)
+                    marketStatus = PriceTick.MarketStatus.AFTER_HOURS;
+                else if (time >= 80000 && time < 90000)
+                    marketStatus = PriceTick.MarketStatus.PRE_MARKET;
             }
         }
 
-        broadcast(symbol, price, change, changeRate, time, marketStatus);
+        broadcast(PriceTick.builder()
+                .symbol(symbol)
+                .price(fields.decimal(2, 0))
+                .change(fields.decimal(4, 0))
+                .changeRate(fields.decimal(5, PriceTick.RATE_SCALE))
+                .scale(0)
+                .volume(fields.fieldCount() > 13 ? fields.decimal(13, 0) : 0) // 누적거래량
+                .epochNanos(MarketUtils.koreaEpochNanos(0, time))
+                .marketStatus(marketStatus)
+                .venue(venue)
+                .ingestNanos(ingestNanos)
+                .build());
     }
 
-    private void parseAndBroadcastUS(String data) {
-        log.debug("RAW US DATA: {}", data);
-        String[] fields = data.split("\\^");
-        if (fields.length < 26)
+    private void parseAndBroadcastUS(KisFrameScanner fields, long ingestNanos) {
+        if (fields.fieldCount() < 26)
             return;
 
-        String symbol = fields[0];
         // Remove market prefix (DNAS, DNYS, DAMS)
-        if (symbol.length() > 4) {
-            symbol = symbol.substring(4);
-        }
+        String symbol = fields.fieldLength(0) > 4 ? fields.field(0, 4) : fields.field(0);
 
         try {
-            String price = fields[11];
-            String sign = fields[12];
-            String change = fields[13];
-            String changeRate = fields[14];
-            String time = fields[1];
+            int scale = fields.fractionDigits(11);
+            long change = fields.decimal(13, scale);
 
             // Apply direction to change value based on sign (1:Upper, 2:Up, 3:Steady,
             // 4:Down, 5:Lower)
-            if ("4".equals(sign) || "5".equals(sign)) {
-                change = "-" + change;
+            if (fields.fieldEquals(12, '4') || fields.fieldEquals(12, '5')) {
+                change = -Math.abs(change);
             }
 
             // US After-Hours/Pre-Market Logic (Time-based fallback for now)
-            String marketStatus = "REGULAR";
-            if (fields.length > 43) {
-                String mkopClsCode = fields[43]; // US 시장운영구분코드 (1: 프리, 2: 정규, 5: 애프터)
-                if ("1".equals(mkopClsCode) || "6".equals(mkopClsCode))
-                    marketStatus = "PRE_MARKET";
-                else if ("5".equals(mkopClsCode) || "7".equals(mkopClsCode))
-                    marketStatus = "AFTER_HOURS";
+            PriceTick.MarketStatus marketStatus = PriceTick.MarketStatus.REGULAR;
+            if (fields.fieldCount() > 43) {
+                // US 시장운영구분코드 (1: 프리, 2: 정규, 5: 애프터)
+                if (fields.fieldEquals(43, '1') || fields.fieldEquals(43, '6'))
+                    marketStatus = PriceTick.MarketStatus.PRE_MARKET;
+                else if (fields.fieldEquals(43, '5') || fields.fieldEquals(43, '7'))
+                    marketStatus = PriceTick.MarketStatus.AFTER_HOURS;
             }
 
-            broadcast(symbol, price, change, changeRate, time, marketStatus);
+            broadcast(PriceTick.builder()
+                    .symbol(symbol)
+                    .price(fields.decimal(11, scale))
+                    .change(change)
+                    .changeRate(fields.decimal(14, PriceTick.RATE_SCALE))
+                    .scale(scale)
+                    .volume(fields.decimal(20, 0)) // TVOL 거래량
+                    // KYMD/KHMS: 한국 기준 일자/시각
+                    .epochNanos(MarketUtils.koreaEpochNanos((int) fields.decimal(6, 0), (int) fields.decimal(7, 0)))
+                    .marketStatus(marketStatus)
+                    .venue(PriceTick.Venue.US)
+                    .ingestNanos(ingestNanos)
+                    .build());
         } catch (Exception e) {
             log.error("Failed to parse pricing data for {}", symbol);
         }
     }
 
-    private void broadcast(String symbol, String price, String change, String changeRate, String time,
-            String marketStatus) {
-        StockPriceMessage msg = StockPriceMessage.builder()
-                .symbol(symbol)
-                .price(price)
-                .change(change)
-                .changeRate(changeRate)
-                .time(time)
-                .marketStatus(marketStatus)
-                .build();
+    private void broadcast(PriceTick tick) {
+        latencyRecorder.record(TickLatencyRecorder.Stage.PARSE, tick.ingestNanos());
+        PriceTick best = venueConsolidator.accept(tick);
+        if (best == null)
+            return;
+        priceConflator.offer(best);
+        log.debug("📡 Queued for publish: {} - {}", tick.symbol(), tick.price());
+    }
 
-        redisStockService.publish(symbol, msg);
-        lastReceivedTime.put(symbol, Instant.now()); // 실시간 수신 시각 기록
-        log.debug("📡 Published to Redis: {} - {} ({}%)", symbol, price, changeRate);
+    /**
+     * Adds the symbol to the cluster-wide KIS subscription list; the owner node
+     * registers it upstream. Applied locally right away when this node is the
+     * owner.
+     */
+    public void subscribe(String symbol) {
+        reconciler.want(symbol);
+        try {
+            redisStockService.addDesiredKisSymbol(symbol);
+        } catch (Exception e) {
+            log.warn("Failed to publish KIS subscription for {}: {}", symbol, e.getMessage());
+        }
     }
 
-    public synchronized void subscribe(String symbol) {
-        if (subscribedSymbols.contains(symbol))
-            return;
-        subscribedSymbols.add(symbol);
-        if (session != null && session.isOpen()) {
-            sendSubscribeRequest(symbol, true);
+    public void unsubscribe(String symbol) {
+        reconciler.drop(symbol);
+        try {
+            redisStockService.removeDesiredKisSymbol(symbol);
+        } catch (Exception e) {
+            log.warn("Failed to publish KIS unsubscription for {}: {}", symbol, e.getMessage());
         }
     }
 
-    public synchronized void unsubscribe(String symbol) {
-        if (!subscribedSymbols.contains(symbol))
-            return;
-        subscribedSymbols.remove(symbol);
-        if (session != null && session.isOpen()) {
-            sendSubscribeRequest(symbol, false);
+    private void sendAction(KisSessionPool.Action action) {
+        if (action.connection().isOpen()) {
+            sendSubscribeRequest(action.connection(), action.symbol(), action.subscribe());
         }
     }
 
-    private synchronized void sendSubscribeRequest(String symbol, boolean subscribe) {
-        boolean isUS = com.glance.domain.stocks.utils.MarketUtils.isGlobalSymbol(symbol);
+    private void sendSubscribeRequest(KisConnection connection, String symbol, boolean subscribe) {
+        boolean isUS = MarketUtils.isGlobalSymbol(symbol);
 
         if (!isUS) {
             // For Korean stocks, subscribe to KRX and also Nextrade (ATS)
             // H0NXMKO0 uses plain stock code (strip Q-prefix if present)
             String nxtKey = symbol.startsWith("Q") ? symbol.substring(1) : symbol;
-            sendSingleSubscribeRequest("H0STCNT0", symbol, subscribe);
-            sendSingleSubscribeRequest("H0NXMKO0", nxtKey, subscribe);
+            sendSingleSubscribeRequest(connection, "H0STCNT0", symbol, subscribe);
+            sendSingleSubscribeRequest(connection, "H0NXMKO0", nxtKey, subscribe);
             return;
         }
 
         // US stocks
         String marketCode = "DNAS";
         try {
-            var stockSymbol = stockSymbolRepository.findBySymbol(symbol);
+            var stockSymbol = stockSymbolCache.find(symbol);
             if (stockSymbol.isPresent()) {
-                switch (stockSymbol.get().getMarket()) {
+                switch (stockSymbol.get().market()) {
                     case NYSE:
                         marketCode = "DNYS";
                         break;
@@ -298,14 +580,16 @@ public class KisWebSocketService extends TextWebSocketHandler {
         }
         String trKey = marketCode + symbol;
 
-        sendSingleSubscribeRequest("HDFSCNT0", trKey, subscribe);
+        sendSingleSubscribeRequest(connection, "HDFSCNT0", trKey, subscribe);
     }
 
-    private void sendSingleSubscribeRequest(String trId, String trKey, boolean subscribe) {
+    private void sendSingleSubscribeRequest(KisConnection connection, String trId, String trKey,
+            boolean subscribe) {
         try {
             Map<String, Object> request = Map.of(
                     "header", Map.of(
-                            "approval_key", tokenService.getApprovalKey(),
+                            "approval_key",
+                            tokenService.getApprovalKey(connection.getAppKey(), connection.getAppSecret()),
                             "custtype", "P",
                             "tr_type", subscribe ? "1" : "2", // 1: Subscribe, 2: Unsubscribe
                             "content-type", "utf-8"),
@@ -313,10 +597,10 @@ public class KisWebSocketService extends TextWebSocketHandler {
                             "input", Map.of(
                                     "tr_id", trId,
                                     "tr_key", trKey)));
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(request)));
+            connection.send(objectMapper.writeValueAsString(request));
             log.debug("{} Requested {} subscription for: {} (TR_ID: {}, TR_KEY: {})",
                     subscribe ? "📤" : "🗑️",
-                    "KIS", trKey, trId, trKey);
+                    connection.getId(), trKey, trId, trKey);
         } catch (Exception e) {
             log.error("Failed to send subscription request for {} {}", trId, trKey, e);
         }
@@ -0,0 +1,180 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Last published price per symbol, shared by the cluster.
+ * <p>
+ * Every price that goes out through {@link RedisStockService#publish} is also
+ * written to the hash {@code stock:last:{symbol}}, so connect-time snapshots
+ * and {@code /price} lookups read one Redis hash instead of calling KIS. In
+ * front of Redis sits a bounded per-node near-cache: it is refreshed by the
+ * ticks this node forwards anyway and invalidated by the ones it drops, so a
+ * hit never serves a price older than what Redis holds by more than the
+ * in-flight tick. Entries older than {@code max-age-ms} count as misses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastPriceCache {
+
+    private static final String KEY_PREFIX = "stock:last:";
+    private static final String FIELD_UPDATED = "updatedMs";
+    // HSET + PEXPIRE in one round trip
+    private static final RedisScript<Long> WRITE = new DefaultRedisScript<>(
+            "redis.call('hset', KEYS[1], unpack(ARGV, 2)) redis.call('pexpire', KEYS[1], ARGV[1]) return 1",
+            Long.class);
+
+    private final KisProperties kisProperties;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private record Entry(StockPriceMessage message, long updatedMs) {
+    }
+
+    private final Map<String, Entry> near = new ConcurrentHashMap<>();
+
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    /**
+     * @return the last price if it is younger than {@code max-age-ms}, else null
+     */
+    public StockPriceMessage get(String symbol) {
+        long now = System.currentTimeMillis();
+        long maxAgeMs = kisProperties.getLastValue().getMaxAgeMs();
+        Entry entry = near.get(symbol);
+        if (entry != null && now - entry.updatedMs() < maxAgeMs) {
+            nearHits.increment();
+            return entry.message();
+        }
+        try {
+            entry = fromHash(symbol, redisTemplate.opsForHash().entries(KEY_PREFIX + symbol));
+        } catch (Exception e) {
+            log.warn("[LastPrice] Redis read failed for {}: {}", symbol, e.getMessage());
+            entry = null;
+        }
+        if (entry == null || now - entry.updatedMs() >= maxAgeMs) {
+            misses.increment();
+            return null;
+        }
+        redisHits.increment();
+        putLocal(symbol, entry);
+        return entry.message();
+    }
+
+    /**
+     * Stores a published price in Redis and in this node's near-cache.
+     */
+    public void put(String symbol, StockPriceMessage message) {
+        Entry entry = new Entry(withoutStamp(message), System.currentTimeMillis());
+        List<Object> args = new ArrayList<>(18);
+        args.add(Long.toString(kisProperties.getLastValue().getKeyTtlMs()));
+        addField(args, "symbol", symbol);
+        addField(args, "price", message.price());
+        addField(args, "change", message.change());
+        addField(args, "changeRate", message.changeRate());
+        addField(args, "volume", message.volume());
+        addField(args, "time", message.time());
+        addField(args, "marketStatus", message.marketStatus());
+        addField(args, FIELD_UPDATED, Long.toString(entry.updatedMs()));
+        try {
+            redisTemplate.execute(WRITE, List.of(KEY_PREFIX + symbol), args.toArray());
+        } catch (Exception e) {
+            writeFailures.increment();
+            log.warn("[LastPrice] Redis write failed for {}: {}", symbol, e.getMessage());
+        }
+        putLocal(symbol, entry);
+    }
+
+    /**
+     * A tick this node forwarded to its subscribers; refreshes the near-cache
+     * without touching Redis (the publisher already wrote it).
+     */
+    public void onDelivered(String symbol, StockPriceMessage message) {
+        putLocal(symbol, new Entry(withoutStamp(message), System.currentTimeMillis()));
+    }
+
+    /**
+     * A tick this node dropped without parsing; the local copy is now stale.
+     */
+    public void invalidateLocal(String symbol) {
+        if (near.containsKey(symbol))
+            near.remove(symbol);
+    }
+
+    private void putLocal(String symbol, Entry entry) {
+        int limit = kisProperties.getLastValue().getNearCacheSize();
+        if (limit <= 0)
+            return;
+        if (near.size() >= limit && !near.containsKey(symbol)) {
+            // 대략적인 상한: 임의의 한 종목을 내보냄
+            Iterator<String> it = near.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        near.put(symbol, entry);
+    }
+
+    private static void addField(List<Object> args, String field, String value) {
+        if (value == null)
+            return;
+        args.add(field);
+        args.add(value);
+    }
+
+    // 스냅샷은 지연 측정 대상이 아니므로 수신 시각을 지움
+    private static StockPriceMessage withoutStamp(StockPriceMessage message) {
+        if (message.ingestNanos() == null)
+            return message;
+        return new StockPriceMessage(message.symbol(), message.price(), message.change(), message.changeRate(),
+                message.volume(), message.time(), message.marketStatus(), null);
+    }
+
+    static Entry fromHash(String symbol, Map<Object, Object> hash) {
+        if (hash == null || hash.isEmpty() || hash.get(FIELD_UPDATED) == null)
+            return null;
+        StockPriceMessage message = StockPriceMessage.builder()
+                .symbol(symbol)
+                .price(string(hash.get("price")))
+                .change(string(hash.get("change")))
+                .changeRate(string(hash.get("changeRate")))
+                .volume(string(hash.get("volume")))
+                .time(string(hash.get("time")))
+                .marketStatus(string(hash.get("marketStatus")))
+                .build();
+        return new Entry(message, Long.parseLong(hash.get(FIELD_UPDATED).toString()));
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nearSize", near.size());
+        stats.put("nearHits", nearHits.sum());
+        stats.put("redisHits", redisHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("writeFailures", writeFailures.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,145 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latest-value-wins conflation between KIS ingest and the Redis publish.
+ * <p>
+ * {@link #offer(PriceTick)} only swaps the pending tick of the symbol's slot;
+ * a slot that goes from empty to pending is put on a dirty queue once. A
+ * single flusher thread drains that queue and publishes at most
+ * {@code maxUpdatesPerSecond} ticks per symbol, so a hot symbol that ticks 50
+ * times a second reaches Redis (and every STOMP client) a few times a second
+ * with the newest price, while a quiet symbol is published within one flush
+ * tick.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceConflator {
+
+    private final RedisStockService redisStockService;
+    private final KisProperties kisProperties;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Queue<Slot> dirty = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+
+    private ScheduledExecutorService flusher;
+
+    static final class Slot {
+        final AtomicReference<PriceTick> pending = new AtomicReference<>();
+        // Only touched by the flusher thread
+        long lastPublishNanos;
+    }
+
+    @PostConstruct
+    void start() {
+        KisProperties.Conflation config = kisProperties.getConflation();
+        if (!config.isEnabled()) {
+            log.info("Price conflation disabled, publishing every tick");
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "price-conflator"));
+        flusher.scheduleWithFixedDelay(this::flushSafely, config.getFlushTickMs(), config.getFlushTickMs(),
+                TimeUnit.MILLISECONDS);
+        log.info("🧮 Price conflation: max {} updates/s per symbol", config.getMaxUpdatesPerSecond());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null)
+            flusher.shutdownNow();
+    }
+
+    /**
+     * Hot path, called from the ingest thread. Never blocks.
+     */
+    public void offer(PriceTick tick) {
+        received.increment();
+        if (!kisProperties.getConflation().isEnabled()) {
+            publish(tick);
+            return;
+        }
+        Slot slot = slots.get(tick.symbol());
+        if (slot == null)
+            slot = slots.computeIfAbsent(tick.symbol(), s -> new Slot());
+
+        PriceTick previous = slot.pending.getAndSet(tick);
+        if (previous == null) {
+            dirty.offer(slot);
+        } else {
+            conflated.increment();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush(System.nanoTime());
+        } catch (Exception e) {
+            log.error("Price conflation flush failed", e);
+        }
+    }
+
+    /**
+     * Publishes every dirty slot whose per-symbol interval has elapsed; the rest
+     * stay dirty for the next tick.
+     */
+    void flush(long nowNanos) {
+        long minIntervalNanos = TimeUnit.SECONDS.toNanos(1)
+                / Math.max(1, kisProperties.getConflation().getMaxUpdatesPerSecond());
+        int size = dirty.size();
+        for (int i = 0; i < size; i++) {
+            Slot slot = dirty.poll();
+            if (slot == null)
+                break;
+            if (slot.lastPublishNanos != 0 && nowNanos - slot.lastPublishNanos < minIntervalNanos) {
+                dirty.offer(slot);
+                continue;
+            }
+            PriceTick tick = slot.pending.getAndSet(null);
+            if (tick == null)
+                continue;
+            slot.lastPublishNanos = nowNanos;
+            publish(tick);
+        }
+    }
+
+    private void publish(PriceTick tick) {
+        published.increment();
+        redisStockService.publish(tick);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", kisProperties.getConflation().isEnabled());
+        stats.put("maxUpdatesPerSecond", kisProperties.getConflation().getMaxUpdatesPerSecond());
+        stats.put("received", received.sum());
+        stats.put("published", published.sum());
+        // 최신 값으로 덮어써져 Redis까지 가지 않은 틱 수
+        stats.put("conflated", conflated.sum());
+        stats.put("pendingSymbols", dirty.size());
+        stats.put("symbols", slots.size());
+        return stats;
+    }
+}
@@ -0,0 +1,159 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.dto.StockPriceDelta;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import com.glance.domain.stocks.utils.ClusterNodeId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in v2 price stream on {@code /api/v1/sub/stocks-v2/{symbol}}: a
+ * snapshot on SUBSCRIBE, then deltas with only the changed fields (see
+ * {@link StockPriceDelta}).
+ * <p>
+ * Every tick this node forwards for a symbol takes the next per-symbol
+ * sequence number. A client applies a delta whose {@code q} is one past its
+ * own, ignores one at or below it, and on a gap sends
+ * {@code /api/v1/pub/stocks-v2/{symbol}/resync} to get a fresh snapshot.
+ * Sequences are per node; the snapshot's epoch ({@code e}) tells a client
+ * that reconnected elsewhere that it is in a new sequence space. Routing
+ * interest is unchanged: clients still subscribe through the interest list
+ * or {@code /api/v1/pub/stocks/subscribe/{symbol}} as for v1.
+ * <p>
+ * Deltas go through {@link PriceFanoutHub#publishOrdered}, never conflated,
+ * since a replaced delta would lose fields.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceDeltaStream implements ChannelInterceptor {
+
+    public static final String DESTINATION_PREFIX = "/api/v1/sub/stocks-v2/";
+
+    private final ObjectMapper objectMapper;
+    private final PriceFanoutHub priceFanoutHub;
+    private final LastPriceCache lastPriceCache;
+
+    private static final class State {
+        long seq;
+        // 클라이언트가 들고 있어야 할 값 (델타를 누적한 결과)
+        StockPriceMessage last;
+    }
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder deltaBytes = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    /**
+     * A tick forwarded on this node; called on the symbol's dispatch lane.
+     */
+    public void onTick(String symbol, StockPriceMessage message) {
+        State state = states.computeIfAbsent(symbol, k -> new State());
+        String destination = DESTINATION_PREFIX + symbol;
+        // 스냅샷과 델타의 순서를 맞추기 위해 전송까지 상태 잠금 안에서
+        synchronized (state) {
+            StockPriceMessage previous = state.last;
+            state.seq++;
+            state.last = merge(previous, message);
+            if (!priceFanoutHub.hasSubscribers(destination))
+                return;
+            byte[] json = write(StockPriceDelta.delta(state.seq, previous, message));
+            if (json == null)
+                return;
+            priceFanoutHub.publishOrdered(destination, json);
+            deltas.increment();
+            deltaBytes.add(json.length);
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getSessionId() == null)
+            return message;
+        String destination = accessor.getDestination();
+        // PriceFanoutHub가 앞선 인터셉터에서 구독을 등록한 뒤
+        if (destination != null && destination.startsWith(DESTINATION_PREFIX)
+                && destination.length() > DESTINATION_PREFIX.length()) {
+            sendSnapshot(accessor.getSessionId(), destination.substring(DESTINATION_PREFIX.length()));
+        }
+        return message;
+    }
+
+    /**
+     * Client detected a gap: sends a fresh snapshot to that session only.
+     */
+    public void resync(String sessionId, String symbol) {
+        resyncs.increment();
+        sendSnapshot(sessionId, symbol);
+    }
+
+    private void sendSnapshot(String sessionId, String symbol) {
+        State state = states.computeIfAbsent(symbol, k -> new State());
+        boolean empty;
+        synchronized (state) {
+            empty = state.last == null;
+        }
+        // 이 노드가 아직 체결을 받지 못한 종목은 공유 최종가에서 시작
+        // (Redis 조회는 락 밖에서, 그 사이 체결이 들어왔으면 그쪽이 최신)
+        StockPriceMessage shared = empty ? lastPriceCache.get(symbol) : null;
+        synchronized (state) {
+            if (state.last == null)
+                state.last = shared;
+            byte[] json = write(StockPriceDelta.snapshot(state.seq, ClusterNodeId.LOCAL, state.last));
+            if (json != null && priceFanoutHub.sendTo(sessionId, DESTINATION_PREFIX + symbol, json) > 0)
+                snapshots.increment();
+        }
+    }
+
+    // null 필드는 "변경 없음"이므로 이전 값을 유지
+    private static StockPriceMessage merge(StockPriceMessage previous, StockPriceMessage current) {
+        if (previous == null)
+            return current;
+        return new StockPriceMessage(current.symbol(),
+                current.price() != null ? current.price() : previous.price(),
+                current.change() != null ? current.change() : previous.change(),
+                current.changeRate() != null ? current.changeRate() : previous.changeRate(),
+                current.volume() != null ? current.volume() : previous.volume(),
+                current.time() != null ? current.time() : previous.time(),
+                current.marketStatus() != null ? current.marketStatus() : previous.marketStatus(),
+                null);
+    }
+
+    private byte[] write(StockPriceDelta delta) {
+        try {
+            return objectMapper.writeValueAsBytes(delta);
+        } catch (JsonProcessingException e) {
+            log.error("[DeltaStream] Failed to serialize {}", delta, e);
+            return null;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long deltaCount = deltas.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("symbols", states.size());
+        stats.put("snapshots", snapshots.sum());
+        stats.put("deltas", deltaCount);
+        stats.put("avgDeltaBytes", deltaCount > 0 ? deltaBytes.sum() / deltaCount : 0);
+        stats.put("resyncs", resyncs.sum());
+        return stats;
+    }
+}
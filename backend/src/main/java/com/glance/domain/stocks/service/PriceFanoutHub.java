@@ -0,0 +1,339 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers real-time prices on {@code /api/v1/sub/stocks/{symbol}} (and the v2
+ * delta stream and watchlist batches, see {@link PriceDeltaStream} and
+ * {@link WatchlistBatcher}) straight to the subscribed WebSocket sessions,
+ * bypassing the SimpleBroker.
+ * <p>
+ * Through the broker every tick is copied into a new message per subscriber,
+ * STOMP-encoded per subscriber and turned into a new text frame per
+ * subscriber. The hub keeps its own per-symbol subscriber table (fed by the
+ * inbound SUBSCRIBE/UNSUBSCRIBE frames) grouped by STOMP subscription id, and
+ * builds one MESSAGE frame per distinct id; the same frame object is then
+ * written to every session in the group. Clients number their subscriptions
+ * the same way (sub-0, sub-1, ...), so a popular symbol usually needs only a
+ * handful of encodes no matter how many sessions watch it.
+ * <p>
+ * The broker still sees the subscriptions, so anything sent with
+ * {@code convertAndSend} (connect-time snapshots) keeps working. Writes go
+ * through a {@link ConflatingSessionDecorator} that sits under Spring's own,
+ * so hub frames and broker frames never interleave on a socket, a session
+ * that falls behind only keeps the latest price per subscription, and a
+ * hopeless one is disconnected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceFanoutHub implements ChannelInterceptor {
+
+    public static final String DESTINATION_PREFIX = "/api/v1/sub/stocks/";
+    // 허브가 직접 전달하는 목적지
+    private static final String[] ROUTED_PREFIXES = { DESTINATION_PREFIX, PriceDeltaStream.DESTINATION_PREFIX };
+    private static final String[] ROUTED_DESTINATIONS = { WatchlistBatcher.DESTINATION };
+    private final KisProperties kisProperties;
+
+    // sessionId -> 직렬화된 전송 경로
+    private final Map<String, ConflatingSessionDecorator> sockets = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> destination), UNSUBSCRIBE에는 destination이 없으므로
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    // destination -> (subscriptionId -> sessions)
+    private final Map<String, Map<String, Set<ConflatingSessionDecorator>>> topics = new ConcurrentHashMap<>();
+
+    private final AtomicLong messageIds = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder framesEncoded = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    public boolean isEnabled() {
+        return kisProperties.getFanout().isEnabled();
+    }
+
+    /**
+     * Wraps the STOMP WebSocket handler so the hub learns every session's
+     * transport; registered in WebSocketConfig.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                KisProperties.Fanout fanout = kisProperties.getFanout();
+                ConflatingSessionDecorator socket = new ConflatingSessionDecorator(session,
+                        fanout.getSendTimeLimitMs(), fanout.getSendBufferSizeLimit(), () -> {
+                            slowDisconnects.increment();
+                            log.warn("[Fanout] Disconnecting slow session {}", session.getId());
+                        });
+                sockets.put(session.getId(), socket);
+                super.afterConnectionEstablished(socket);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                WebSocketSession socket = sockets.get(session.getId());
+                super.handleMessage(socket != null ? socket : session, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                removeSession(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null)
+            return message;
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (isRouted(destination))
+                subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), destination);
+        } else if (command == StompCommand.UNSUBSCRIBE) {
+            unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+        return message;
+    }
+
+    private static boolean isRouted(String destination) {
+        if (destination == null)
+            return false;
+        for (String routed : ROUTED_DESTINATIONS) {
+            if (destination.equals(routed))
+                return true;
+        }
+        for (String prefix : ROUTED_PREFIXES) {
+            if (destination.startsWith(prefix) && destination.length() > prefix.length())
+                return true;
+        }
+        return false;
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        ConflatingSessionDecorator socket = sockets.get(sessionId);
+        if (socket == null || subscriptionId == null)
+            return;
+        String previous = sessionSubscriptions.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null && !previous.equals(destination))
+            removeFromTopic(previous, subscriptionId, sessionId);
+        // removeFromTopic과 같은 목적지 단위 원자 연산으로 빈 그룹 정리와 경합하지 않게
+        topics.compute(destination, (k, groups) -> {
+            Map<String, Set<ConflatingSessionDecorator>> g = groups != null ? groups : new ConcurrentHashMap<>();
+            g.computeIfAbsent(subscriptionId, id -> ConcurrentHashMap.newKeySet()).add(socket);
+            return g;
+        });
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null)
+            return;
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null)
+            removeFromTopic(destination, subscriptionId, sessionId);
+    }
+
+    private void removeSession(String sessionId) {
+        sockets.remove(sessionId);
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null)
+            subscriptions.forEach((subscriptionId, destination) ->
+                    removeFromTopic(destination, subscriptionId, sessionId));
+    }
+
+    private void removeFromTopic(String destination, String subscriptionId, String sessionId) {
+        topics.computeIfPresent(destination, (k, groups) -> {
+            groups.computeIfPresent(subscriptionId, (id, sessions) -> {
+                sessions.removeIf(s -> s.getId().equals(sessionId));
+                return sessions.isEmpty() ? null : sessions;
+            });
+            return groups.isEmpty() ? null : groups;
+        });
+    }
+
+    /**
+     * Sends one price to every session subscribed to the symbol.
+     *
+     * @param json the message body, already serialized
+     * @return number of sessions written to
+     */
+    public int publish(String symbol, byte[] json) {
+        // 밀린 세션에서는 같은 구독의 대기 프레임을 교체
+        return send(DESTINATION_PREFIX + symbol, json, true);
+    }
+
+    /**
+     * Like {@link #publish} for any hub-routed destination, but frames are
+     * never conflated: every one reaches a slow session in order or the
+     * session is disconnected. For streams where a skipped message matters
+     * (v2 deltas).
+     */
+    public int publishOrdered(String destination, byte[] json) {
+        return send(destination, json, false);
+    }
+
+    public boolean hasSubscribers(String destination) {
+        Map<String, Set<ConflatingSessionDecorator>> groups = topics.get(destination);
+        return groups != null && !groups.isEmpty();
+    }
+
+    public boolean isSubscribed(String sessionId, String destination) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        return subscriptions != null && subscriptions.containsValue(destination);
+    }
+
+    /**
+     * Sends a message to one session only, on each of its subscriptions to the
+     * destination (snapshots, resync replies).
+     *
+     * @return number of frames written
+     */
+    public int sendTo(String sessionId, String destination, byte[] json) {
+        ConflatingSessionDecorator socket = sockets.get(sessionId);
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (socket == null || subscriptions == null)
+            return 0;
+        String body = new String(json, StandardCharsets.UTF_8);
+        int sent = 0;
+        for (Map.Entry<String, String> subscription : subscriptions.entrySet()) {
+            if (!subscription.getValue().equals(destination))
+                continue;
+            TextMessage frame = new TextMessage(frame(destination, subscription.getKey(),
+                    Long.toString(messageIds.incrementAndGet()), body, json.length));
+            framesEncoded.increment();
+            if (write(socket, subscription.getKey(), frame, false))
+                sent++;
+        }
+        framesSent.add(sent);
+        return sent;
+    }
+
+    private int send(String destination, byte[] json, boolean conflate) {
+        Map<String, Set<ConflatingSessionDecorator>> groups = topics.get(destination);
+        if (groups == null || groups.isEmpty())
+            return 0;
+        published.increment();
+        String messageId = Long.toString(messageIds.incrementAndGet());
+        String body = new String(json, StandardCharsets.UTF_8);
+        int sent = 0;
+        for (Map.Entry<String, Set<ConflatingSessionDecorator>> group : groups.entrySet()) {
+            if (group.getValue().isEmpty())
+                continue;
+            TextMessage frame = new TextMessage(frame(destination, group.getKey(), messageId, body, json.length));
+            framesEncoded.increment();
+            for (ConflatingSessionDecorator socket : group.getValue()) {
+                if (write(socket, group.getKey(), frame, conflate))
+                    sent++;
+            }
+        }
+        framesSent.add(sent);
+        return sent;
+    }
+
+    private boolean write(ConflatingSessionDecorator socket, String subscriptionId, TextMessage frame,
+            boolean conflate) {
+        try {
+            if (conflate) {
+                socket.sendPrice(subscriptionId, frame);
+            } else {
+                socket.sendMessage(frame);
+            }
+            return true;
+        } catch (Exception e) {
+            // 전송 실패한 세션은 데코레이터가 더 이상 쓰지 않음
+            sendFailures.increment();
+            log.debug("[Fanout] Send to {} failed: {}", socket.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * STOMP 1.2 MESSAGE frame, same headers the SimpleBroker would write.
+     */
+    static String frame(String destination, String subscriptionId, String messageId, String body,
+            int contentLength) {
+        return new StringBuilder(160 + body.length())
+                .append("MESSAGE\ndestination:").append(destination)
+                .append("\ncontent-type:application/json")
+                .append("\nsubscription:").append(escape(subscriptionId))
+                .append("\nmessage-id:").append(messageId)
+                .append("\ncontent-length:").append(contentLength)
+                .append("\n\n").append(body).append('\0')
+                .toString();
+    }
+
+    // STOMP 1.2 헤더 값 이스케이프 (구독 ID는 클라이언트가 정함)
+    private static String escape(String value) {
+        if (value.indexOf('\\') < 0 && value.indexOf(':') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0)
+            return value;
+        return value.replace("\\", "\\\\").replace(":", "\\c").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    public Map<String, Object> stats() {
+        int subscriptions = 0;
+        for (Map<String, Set<ConflatingSessionDecorator>> groups : topics.values()) {
+            for (Set<ConflatingSessionDecorator> sessions : groups.values()) {
+                subscriptions += sessions.size();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("sessions", sockets.size());
+        stats.put("destinations", topics.size());
+        stats.put("subscriptions", subscriptions);
+        stats.put("published", published.sum());
+        // 인코딩 횟수 / 전송 횟수 비율이 낮을수록 프레임 재사용이 많음
+        stats.put("framesEncoded", framesEncoded.sum());
+        stats.put("framesSent", framesSent.sum());
+        stats.put("sendFailures", sendFailures.sum());
+        stats.put("slowDisconnects", slowDisconnects.sum());
+        long conflated = 0;
+        List<ConflatingSessionDecorator> sessions = new ArrayList<>(sockets.values());
+        for (ConflatingSessionDecorator socket : sessions) {
+            conflated += socket.getConflated();
+        }
+        // 현재 연결된 세션 기준, 밀려서 최신값으로 대체된 프레임 수
+        stats.put("conflated", conflated);
+        // 세션별 지연 지표, 지연이 큰 순
+        stats.put("laggiest", sessions.stream()
+                .map(ConflatingSessionDecorator::stats)
+                .sorted(Comparator.comparingLong((Map<String, Object> s) -> (Long) s.get("lagMs")).reversed())
+                .limit(kisProperties.getFanout().getLagReportSize())
+                .toList());
+        return stats;
+    }
+}
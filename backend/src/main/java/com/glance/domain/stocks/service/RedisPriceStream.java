@@ -0,0 +1,273 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Price distribution over capped Redis Streams ({@code kis.distribution.transport=STREAMS}).
+ * <p>
+ * Symbols are spread over {@code shards} streams ({@code stock.stream.{n}}),
+ * each trimmed with {@code XADD MAXLEN ~}. Every node reads all shards on its
+ * own (plain XREAD, no consumer group, since each node needs every tick),
+ * remembers the last entry ID per shard and resumes from it after a Redis
+ * disconnect. The IDs are also saved under {@code stock:stream:offsets:{consumer}},
+ * so a restarted node catches up on what it missed, as far back as the
+ * stream still reaches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisPriceStream {
+
+    public static final String STREAM_PREFIX = "stock.stream.";
+    private static final String OFFSET_KEY_PREFIX = "stock:stream:offsets:";
+    private static final String FIELD_SYMBOL = "s";
+    private static final String FIELD_PAYLOAD = "p";
+    private static final byte[] FIELD_SYMBOL_BYTES = FIELD_SYMBOL.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIELD_PAYLOAD_BYTES = FIELD_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    private final KisProperties kisProperties;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StockPriceRedisListener stockPriceRedisListener;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, byte[]>> container;
+    private ScheduledExecutorService offsetFlusher;
+    private String consumerName;
+    private Shard[] shards = new Shard[0];
+
+    private final LongAdder appended = new LongAdder();
+
+    private static final class Shard {
+        final String key;
+        // Written by the container's poll thread, read by the offset flusher
+        volatile String lastId;
+        String flushedId;
+        final LongAdder received = new LongAdder();
+
+        Shard(String key, String lastId) {
+            this.key = key;
+            this.lastId = lastId;
+            this.flushedId = lastId;
+        }
+    }
+
+    public boolean isEnabled() {
+        return kisProperties.getDistribution().getTransport() == KisProperties.Distribution.Transport.STREAMS;
+    }
+
+    static int shardOf(String symbol, int shards) {
+        return Math.floorMod(symbol.hashCode(), Math.max(1, shards));
+    }
+
+    /**
+     * Appends one price message to the symbol's shard, trimming the stream to
+     * roughly {@code max-len} entries.
+     */
+    public void append(String symbol, byte[] payload) {
+        KisProperties.Distribution config = kisProperties.getDistribution();
+        byte[] key = (STREAM_PREFIX + shardOf(symbol, config.getShards())).getBytes(StandardCharsets.UTF_8);
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(FIELD_SYMBOL_BYTES, symbol.getBytes(StandardCharsets.UTF_8));
+        fields.put(FIELD_PAYLOAD_BYTES, payload);
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions.maxlen(config.getMaxLen())
+                .approximateTrimming(true);
+        redisTemplate.execute((RedisCallback<RecordId>) connection -> connection.streamCommands()
+                .xAdd(MapRecord.create(key, fields), options));
+        appended.increment();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled())
+            return;
+        KisProperties.Distribution config = kisProperties.getDistribution();
+        int resumed = loadShards();
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, byte[]>> options =
+                StreamMessageListenerContainerOptions.builder()
+                .pollTimeout(Duration.ofMillis(config.getPollTimeoutMs()))
+                .batchSize(config.getBatchSize())
+                .serializer(new StringRedisSerializer())
+                // JSON 또는 PriceTickCodec 바이너리, 그대로 리스너에 넘김
+                .<String, byte[]>hashValueSerializer(RedisSerializer.byteArray())
+                .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            int index = i;
+            // 읽기 오류(연결 끊김 등)에도 구독을 유지하고 마지막으로 읽은 ID부터 다시 읽음
+            container.register(StreamMessageListenerContainer.StreamReadRequest
+                    .builder(StreamOffset.create(shard.key, resumeOffset(i)))
+                    .cancelOnError(e -> false)
+                    .errorHandler(e -> log.warn("[Stream] Read failed on {}: {}", shard.key, e.getMessage()))
+                    .build(), record -> onRecord(index, record));
+        }
+        container.start();
+
+        offsetFlusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "price-stream-offsets"));
+        offsetFlusher.scheduleWithFixedDelay(this::flushOffsetsSafely, config.getOffsetFlushMs(),
+                config.getOffsetFlushMs(), TimeUnit.MILLISECONDS);
+        log.info("🌊 Price streams: {} shards as consumer {} ({} resumed from saved offsets)", shards.length,
+                consumerName, resumed);
+    }
+
+    /**
+     * Builds the shards with the offsets saved by the previous run of this
+     * consumer.
+     *
+     * @return number of shards resumed from a saved offset
+     */
+    int loadShards() {
+        KisProperties.Distribution config = kisProperties.getDistribution();
+        consumerName = config.getConsumerName() != null && !config.getConsumerName().isBlank()
+                ? config.getConsumerName()
+                : hostName();
+        Map<Object, Object> saved = redisTemplate.opsForHash().entries(OFFSET_KEY_PREFIX + consumerName);
+        shards = new Shard[Math.max(1, config.getShards())];
+        int resumed = 0;
+        for (int i = 0; i < shards.length; i++) {
+            Object savedId = saved.get(Integer.toString(i));
+            shards[i] = new Shard(STREAM_PREFIX + i, savedId != null ? savedId.toString() : null);
+            if (savedId != null)
+                resumed++;
+        }
+        return resumed;
+    }
+
+    /**
+     * Where reading shard {@code index} starts: after the last entry read,
+     * or only new entries when nothing was read yet.
+     */
+    ReadOffset resumeOffset(int index) {
+        String lastId = shards[index].lastId;
+        return lastId != null ? ReadOffset.from(lastId) : ReadOffset.latest();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (container == null)
+            return;
+        container.stop();
+        offsetFlusher.shutdownNow();
+        flushOffsetsSafely();
+    }
+
+    void onRecord(int index, MapRecord<String, String, byte[]> record) {
+        Shard shard = shards[index];
+        shard.lastId = record.getId().getValue();
+        shard.received.increment();
+        byte[] symbol = record.getValue().get(FIELD_SYMBOL);
+        byte[] payload = record.getValue().get(FIELD_PAYLOAD);
+        if (symbol == null || payload == null)
+            return;
+        stockPriceRedisListener.deliver(new String(symbol, StandardCharsets.UTF_8), payload);
+    }
+
+    private void flushOffsetsSafely() {
+        try {
+            flushOffsets();
+        } catch (Exception e) {
+            log.warn("[Stream] Failed to save offsets: {}", e.getMessage());
+        }
+    }
+
+    void flushOffsets() {
+        Map<String, String> changed = new HashMap<>();
+        Map<Shard, String> flushed = new HashMap<>();
+        for (int i = 0; i < shards.length; i++) {
+            String lastId = shards[i].lastId;
+            if (lastId != null && !lastId.equals(shards[i].flushedId)) {
+                changed.put(Integer.toString(i), lastId);
+                flushed.put(shards[i], lastId);
+            }
+        }
+        if (changed.isEmpty())
+            return;
+        redisTemplate.opsForHash().putAll(OFFSET_KEY_PREFIX + consumerName, changed);
+        flushed.forEach((shard, id) -> shard.flushedId = id);
+    }
+
+    /**
+     * Millisecond part of a stream entry ID ("1712345678901-3" -> 1712345678901).
+     */
+    static long idMillis(String id) {
+        if (id == null || id.isEmpty())
+            return 0;
+        int dash = id.indexOf('-');
+        return Long.parseLong(dash < 0 ? id : id.substring(0, dash));
+    }
+
+    /**
+     * Per-shard consumer lag: how far (in stream time) the last entry this node
+     * read is behind the newest entry of the stream.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("transport", kisProperties.getDistribution().getTransport().name());
+        stats.put("appended", appended.sum());
+        if (!isEnabled())
+            return stats;
+        stats.put("consumer", consumerName);
+        long maxLagMs = 0;
+        List<Map<String, Object>> perShard = new ArrayList<>();
+        for (Shard shard : shards) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("stream", shard.key);
+            s.put("lastId", shard.lastId);
+            s.put("received", shard.received.sum());
+            try {
+                String headId = redisTemplate.opsForStream().info(shard.key).lastGeneratedId();
+                long lagMs = shard.lastId != null ? Math.max(0, idMillis(headId) - idMillis(shard.lastId)) : 0;
+                s.put("headId", headId);
+                s.put("lagMs", lagMs);
+                maxLagMs = Math.max(maxLagMs, lagMs);
+            } catch (Exception e) {
+                // 아직 아무것도 기록되지 않은 스트림
+                s.put("headId", null);
+            }
+            perShard.add(s);
+        }
+        stats.put("maxLagMs", maxLagMs);
+        stats.put("shards", perShard);
+        return stats;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
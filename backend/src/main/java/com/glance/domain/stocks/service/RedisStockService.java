@@ -1,19 +1,38 @@
 package com.glance.domain.stocks.service;
 
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.ClusterNodeId;
+import com.glance.domain.stocks.utils.PriceTickCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.glance.domain.stocks.dto.PriceTick;
 import com.glance.domain.stocks.dto.StockPriceMessage;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Map;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -27,147 +46,508 @@ public class RedisStockService {
     private final RedisMessageListenerContainer redisMessageListenerContainer;
     private final StockPriceRedisListener stockPriceRedisListener;
     private final ObjectMapper objectMapper;
+    private final RedisPriceStream redisPriceStream;
+    private final LastPriceCache lastPriceCache;
+    private final TickLatencyRecorder latencyRecorder;
+    private final KisProperties kisProperties;
 
-    private static final String KEY_PREFIX_COUNT = "stock:count:";
+    private static final String KEY_PREFIX_REFS = "stock:refs:";
+    private static final String KEY_NODES = "stock:nodes";
     private static final String KEY_PREFIX_SESSION = "session:stocks:";
     private static final String KEY_PREFIX_USER_SESSIONS = "user:sessions:";
-    private static final String CHANNEL_PREFIX = "stock.price.";
+    private static final String CHANNEL_PREFIX = StockPriceRedisListener.CHANNEL_PREFIX;
+    private static final String KEY_KIS_DESIRED = "kis:desired";
+    private static final String CHANNEL_KIS_DESIRED = "kis.desired.changed";
+    // 관심 종목 추가/삭제, 세션을 가진 노드가 자기 카운트로 반영
+    private static final String CHANNEL_USER_INTEREST = "user.interest.changed";
+
+    // 공통 인자 - KEYS[1]: stock:nodes / ARGV[1]: nodeId, ARGV[2]: 리스 만료 기준(ms), ARGV[3]: stock:refs:
+    // stock:refs:{symbol}은 노드별 구독 수 해시. 리스가 끝난 노드의 필드는 읽는 김에 지움
+    // 주의: stock:refs:{symbol} 키는 KEYS로 넘기지 않고 스크립트 안에서 만듦 (세션 해제는 SMEMBERS로 읽은 종목의 키를 씀).
+    // 단일 Redis 인스턴스(RedisConfig의 standalone 연결) 전제이며 Redis Cluster에서는 키 슬롯이 달라 동작하지 않음.
+    // 클러스터로 옮기려면 종목 키를 KEYS로 넘기고 슬롯별로 나눠 호출하도록 바꿔야 함
+    private static final String REFS_LUA = "local node, cutoff, prefix = ARGV[1], tonumber(ARGV[2]), ARGV[3] "
+            + "local function live(key) "
+            + "  local total = 0 "
+            + "  local f = redis.call('hgetall', key) "
+            + "  for i = 1, #f, 2 do "
+            + "    local seen = f[i] == node or redis.call('zscore', KEYS[1], f[i]) "
+            + "    if seen == true or (seen and tonumber(seen) >= cutoff) then total = total + tonumber(f[i + 1]) "
+            + "    else redis.call('hdel', key, f[i]) end "
+            + "  end "
+            + "  if total <= 0 then redis.call('del', key) end "
+            + "  return total "
+            + "end "
+            + "local function add(symbol, delta) "
+            + "  local key = prefix .. symbol "
+            + "  if delta < 0 and redis.call('hexists', key, node) == 0 then return -1 end "
+            + "  if redis.call('hincrby', key, node, delta) <= 0 then redis.call('hdel', key, node) end "
+            + "  return live(key) "
+            + "end ";
+
+    // ARGV[4]: symbol, ARGV[5]: +1/-1 / 이 노드의 구독 수를 바꾸고 살아있는 노드 합계를 반환 (없던 구독 해제는 -1)
+    private static final RedisScript<Long> ADD_REF = new DefaultRedisScript<>(
+            REFS_LUA + "return add(ARGV[4], tonumber(ARGV[5]))", Long.class);
+    // ARGV[4]: symbol, KEYS[2](선택): kis:desired / 살아있는 노드 합계, 0이 되어 kis:desired에서 빠졌으면 -1
+    private static final RedisScript<Long> LIVE_REFS = new DefaultRedisScript<>(
+            REFS_LUA + "local total = live(prefix .. ARGV[4]) "
+                    + "if total <= 0 and KEYS[2] and redis.call('srem', KEYS[2], ARGV[4]) == 1 then return -1 end "
+                    + "return total",
+            Long.class);
+    // KEYS[2]: user:sessions:{user} (회원이 아닌 세션은 ''), KEYS[3]: session:stocks:{session}
+    // ARGV[4]: sessionId, ARGV[5..]: symbols / 세션에 새로 추가된 종목만 카운트, { 추가된 종목, 0 -> 1이 된 종목 }을 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REGISTER_SESSION = new DefaultRedisScript<>(
+            REFS_LUA + "if KEYS[2] ~= '' then redis.call('sadd', KEYS[2], ARGV[4]) end "
+                    + "local added, first = {}, {} "
+                    + "for i = 5, #ARGV do "
+                    + "  if redis.call('sadd', KEYS[3], ARGV[i]) == 1 then "
+                    + "    added[#added + 1] = ARGV[i] "
+                    + "    if add(ARGV[i], 1) == 1 then first[#first + 1] = ARGV[i] end "
+                    + "  end "
+                    + "end "
+                    + "return { added, first }",
+            List.class);
+    // KEYS[2]: user:sessions:{user} (회원이 아닌 세션은 ''), KEYS[3]: session:stocks:{session} / ARGV[4]: sessionId
+    // { 세션이 보던 종목 전체, 1 -> 0이 된 종목 }을 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UNREGISTER_SESSION = new DefaultRedisScript<>(
+            REFS_LUA + "if KEYS[2] ~= '' then redis.call('srem', KEYS[2], ARGV[4]) end "
+                    + "local symbols = redis.call('smembers', KEYS[3]) "
+                    + "local last = {} "
+                    + "for _, s in ipairs(symbols) do "
+                    + "  if add(s, -1) == 0 then last[#last + 1] = s end "
+                    + "end "
+                    + "redis.call('del', KEYS[3]) "
+                    + "return { symbols, last }",
+            List.class);
+    // KEYS[2]: session:stocks:{session} / ARGV[4]: symbol, ARGV[5]: +1/-1
+    // 세션의 종목 집합이 실제로 바뀐 경우만 카운트, 살아있는 노드 합계를 반환 (바뀌지 않았으면 -1)
+    private static final RedisScript<Long> SESSION_SYMBOL = new DefaultRedisScript<>(
+            REFS_LUA + "local delta = tonumber(ARGV[5]) "
+                    + "local changed = delta > 0 and redis.call('sadd', KEYS[2], ARGV[4]) "
+                    + "  or redis.call('srem', KEYS[2], ARGV[4]) "
+                    + "if changed == 0 then return -1 end "
+                    + "return add(ARGV[4], delta)",
+            Long.class);
+    // 이전 하트비트 시각을 돌려주고 갱신, nil이거나 만료 기준보다 오래됐으면 이 노드의 필드가 지워졌을 수 있음
+    private static final RedisScript<String> HEARTBEAT = new DefaultRedisScript<>(
+            "local prev = redis.call('zscore', KEYS[1], ARGV[1]) "
+                    + "redis.call('zadd', KEYS[1], ARGV[2], ARGV[1]) "
+                    + "return prev",
+            String.class);
+
+    private final String nodeId = ClusterNodeId.LOCAL;
+    // 이 노드가 올린 종목별 구독 수, 리스가 끊겼다 돌아왔을 때 Redis에 다시 씀
+    private final Map<String, Integer> nodeRefs = new ConcurrentHashMap<>();
+    // userId -> 이 노드에 연결된 세션, 관심 종목 변경을 자기 세션에만 반영하기 위함
+    private final Map<String, Set<String>> localUserSessions = new ConcurrentHashMap<>();
+    // 시세 외 채널(user.interest.changed, kis.desired.changed) 콜백 실행용, 수신 스레드에서는 블로킹 호출을 하지 않음
+    // 단일 스레드라 알림 순서(추가 후 삭제 등)가 유지됨
+    private final ExecutorService controlExecutor = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "redis-control"));
+
+    /**
+     * An interest symbol added to or removed from a member's list on any node.
+     */
+    public record InterestChange(String userId, String symbol, boolean added) {
+    }
 
-    private final Map<String, AtomicInteger> localSubscriptionCounts = new ConcurrentHashMap<>();
+    /**
+     * Result of tearing down a session: every symbol it watched, and the ones
+     * whose global count dropped to 0 with it.
+     */
+    public record SessionTeardown(List<String> symbols, List<String> lastUnsubscribed) {
+    }
 
     /**
-     * Publish stock price update to Redis channel.
+     * Publish stock price update to Redis channel, or to the symbol's price
+     * stream when kis.distribution.transport is STREAMS. The price also becomes
+     * the symbol's last value for snapshots.
      */
     public void publish(String symbol, StockPriceMessage message) {
         try {
-            String jsonEntry = objectMapper.writeValueAsString(message);
-            redisTemplate.convertAndSend(CHANNEL_PREFIX + symbol, jsonEntry);
+            send(symbol, objectMapper.writeValueAsBytes(message));
         } catch (Exception e) {
             log.error("Failed to serialize message for symbol {}", symbol, e);
         }
+        lastPriceCache.put(symbol, message);
+    }
+
+    /**
+     * Publishes an internal tick; the String-based wire message is built only
+     * here, at the Redis edge. With kis.distribution.codec=BINARY the tick
+     * goes out in {@link PriceTickCodec} form instead of JSON.
+     */
+    public void publish(PriceTick tick) {
+        if (kisProperties.getDistribution().getCodec() != KisProperties.Distribution.Codec.BINARY) {
+            publish(tick.symbol(), tick.toMessage());
+        } else {
+            try {
+                send(tick.symbol(), PriceTickCodec.encode(tick));
+            } catch (Exception e) {
+                log.error("Failed to publish tick for symbol {}", tick.symbol(), e);
+            }
+            lastPriceCache.put(tick.symbol(), tick.toMessage());
+        }
+        latencyRecorder.record(TickLatencyRecorder.Stage.REDIS_PUBLISH, tick.ingestNanos());
+    }
+
+    private void send(String symbol, byte[] payload) {
+        if (redisPriceStream.isEnabled()) {
+            redisPriceStream.append(symbol, payload);
+        } else {
+            byte[] channel = (CHANNEL_PREFIX + symbol).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        }
+    }
+
+    /**
+     * One PSUBSCRIBE stock.price.* per node. Symbols without local subscribers
+     * are dropped by the listener, so per-symbol (un)subscribes never reach
+     * Redis.
+     */
+    @PostConstruct
+    void listenToPriceChannels() {
+        if (redisPriceStream.isEnabled())
+            return; // RedisPriceStream reads the streams instead
+        redisMessageListenerContainer.addMessageListener(stockPriceRedisListener,
+                new PatternTopic(CHANNEL_PREFIX + "*"));
     }
 
     /**
      * Subscribe to a specific stock channel (Local Instance Listener).
-     * Uses local reference counting to avoid duplicate listeners.
+     * Only counts a local subscriber in the listener's routing table.
      */
     public void subscribeToChannel(String symbol) {
-        localSubscriptionCounts.compute(symbol, (k, v) -> {
-            if (v == null) {
-                // First local subscription, add listener
-                redisMessageListenerContainer.addMessageListener(stockPriceRedisListener,
-                        new ChannelTopic(CHANNEL_PREFIX + symbol));
-                return new AtomicInteger(1);
-            } else {
-                v.incrementAndGet();
-                return v;
-            }
-        });
+        stockPriceRedisListener.addInterest(symbol);
     }
 
     /**
      * Unsubscribe from a specific stock channel (Local Instance Listener).
-     * Uses local reference counting to remove listener only when last local
-     * subscriber leaves.
+     * The symbol stops being forwarded when the last local subscriber leaves.
      */
     public void unsubscribeFromChannel(String symbol) {
-        localSubscriptionCounts.computeIfPresent(symbol, (k, v) -> {
-            int count = v.decrementAndGet();
-            if (count <= 0) {
-                // Last local subscription, remove listener
-                redisMessageListenerContainer.removeMessageListener(stockPriceRedisListener,
-                        new ChannelTopic(CHANNEL_PREFIX + symbol));
-                return null; // Remove from map
-            }
-            return v;
-        });
+        stockPriceRedisListener.removeInterest(symbol);
     }
 
+    // --- Subscription Counts (per-node leases) ---
+    //
+    // stock:refs:{symbol} holds one field per node with that node's count, and
+    // stock:nodes (zset) the last heartbeat of every node. The global count is
+    // the sum over nodes whose heartbeat is younger than kis.ref-count.lease-ms,
+    // so a crashed node's counts stop counting after one lease and are deleted
+    // by whichever script touches the symbol next, or by the sweep.
+
     /**
-     * Increment subscription count for a symbol.
+     * Increment this node's subscription count for a symbol.
      * 
      * @return true if this is the first subscription (count 0 -> 1)
      */
     public boolean subscribe(String symbol) {
-        Long count = redisTemplate.opsForValue().increment(KEY_PREFIX_COUNT + symbol);
-        return count != null && count == 1;
+        Long total = redisTemplate.execute(ADD_REF, List.of(KEY_NODES), refArgs(symbol, "1"));
+        nodeRefs.merge(symbol, 1, Integer::sum);
+        return total != null && total == 1;
     }
 
     /**
-     * Decrement subscription count for a symbol.
+     * Decrement this node's subscription count for a symbol.
      * 
      * @return true if this was the last subscription (count 1 -> 0)
      */
     public boolean unsubscribe(String symbol) {
-        Long count = redisTemplate.opsForValue().decrement(KEY_PREFIX_COUNT + symbol);
-        if (count != null && count <= 0) {
-            redisTemplate.delete(KEY_PREFIX_COUNT + symbol); // Clean up
-            return true;
+        Long total = redisTemplate.execute(ADD_REF, List.of(KEY_NODES), refArgs(symbol, "-1"));
+        releaseNodeRef(symbol);
+        return total != null && total == 0;
+    }
+
+    private Object[] refArgs(Object... extra) {
+        long cutoff = System.currentTimeMillis() - kisProperties.getRefCount().getLeaseMs();
+        Object[] args = new Object[3 + extra.length];
+        args[0] = nodeId;
+        args[1] = Long.toString(cutoff);
+        args[2] = KEY_PREFIX_REFS;
+        System.arraycopy(extra, 0, args, 3, extra.length);
+        return args;
+    }
+
+    private void releaseNodeRef(String symbol) {
+        nodeRefs.computeIfPresent(symbol, (k, v) -> v <= 1 ? null : v - 1);
+    }
+
+    @PostConstruct
+    void registerNode() {
+        try {
+            heartbeat();
+        } catch (Exception e) {
+            log.warn("[RefCount] Initial heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps this node's counts alive. If the previous heartbeat is missing or
+     * older than the lease (Redis restarted, long pause), other nodes may have
+     * deleted this node's fields, so they are written back from memory.
+     */
+    @Scheduled(fixedDelayString = "${kis.ref-count.heartbeat-ms:5000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        String previous = redisTemplate.execute(HEARTBEAT, List.of(KEY_NODES), nodeId, Long.toString(now));
+        long leaseMs = kisProperties.getRefCount().getLeaseMs();
+        if ((previous == null || Double.parseDouble(previous) < now - leaseMs) && !nodeRefs.isEmpty()) {
+            restoreNodeRefs();
+        }
+        sweepExpiredNodes();
+    }
+
+    private void restoreNodeRefs() {
+        Map<String, Integer> snapshot = Map.copyOf(nodeRefs);
+        snapshot.forEach((symbol, count) -> {
+            redisTemplate.opsForHash().put(KEY_PREFIX_REFS + symbol, nodeId, Integer.toString(count));
+            addDesiredKisSymbol(symbol);
+        });
+        log.warn("♻️ [RefCount] Lease of {} had lapsed, restored {} symbol counts", nodeId, snapshot.size());
+    }
+
+    /**
+     * Drops the counts of nodes whose lease expired. Runs on every heartbeat but
+     * only walks the keys (SCAN, never KEYS) when some node actually expired;
+     * symbols left with no live subscriber leave the KIS list.
+     */
+    public void sweepExpiredNodes() {
+        long cutoff = System.currentTimeMillis() - kisProperties.getRefCount().getLeaseMs();
+        Long expired = redisTemplate.opsForZSet().count(KEY_NODES, Double.NEGATIVE_INFINITY, cutoff);
+        if (expired == null || expired == 0)
+            return;
+
+        Set<String> symbols = new LinkedHashSet<>();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(KEY_PREFIX_REFS + "*")
+                .count(kisProperties.getRefCount().getScanCount())
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> symbols.add(key.substring(KEY_PREFIX_REFS.length())));
+        }
+        // 카운트 키 없이 kis:desired에만 남은 종목도 함께 확인
+        try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(KEY_KIS_DESIRED,
+                ScanOptions.scanOptions().count(kisProperties.getRefCount().getScanCount()).build())) {
+            cursor.forEachRemaining(member -> symbols.add(member.toString()));
+        }
+
+        int dropped = 0;
+        for (String symbol : symbols) {
+            Long total = redisTemplate.execute(LIVE_REFS, List.of(KEY_NODES, KEY_KIS_DESIRED), refArgs(symbol));
+            if (total != null && total < 0) {
+                redisTemplate.convertAndSend(CHANNEL_KIS_DESIRED, symbol);
+                dropped++;
+            }
+        }
+        // 그 사이 하트비트가 돌아온 노드는 남김 (점수 기준 삭제)
+        redisTemplate.opsForZSet().removeRangeByScore(KEY_NODES, Double.NEGATIVE_INFINITY, cutoff);
+        log.info("🧹 [RefCount] Swept {} expired node(s): checked {} symbols, {} left the KIS list", expired,
+                symbols.size(), dropped);
+    }
+
+    @PreDestroy
+    void leaveCluster() {
+        controlExecutor.shutdownNow();
+        try {
+            // 점수를 0으로 내려 다른 노드의 다음 sweep에서 바로 정리되도록
+            redisTemplate.opsForZSet().add(KEY_NODES, nodeId, 0);
+        } catch (Exception e) {
+            log.warn("[RefCount] Failed to retire {}: {}", nodeId, e.getMessage());
         }
-        return false;
     }
 
     // --- Session Management ---
 
-    public void addSessionSubscription(String sessionId, String symbol) {
-        redisTemplate.opsForSet().add(KEY_PREFIX_SESSION + sessionId, symbol);
+    /**
+     * Registers a connecting session and all its symbols in one round trip:
+     * user -> session, session -> symbols, and one global count per symbol the
+     * session did not already hold.
+     *
+     * {@code userId} null keeps the session out of the user's sessions, so
+     * interest list changes never touch it (raw binary sessions).
+     *
+     * @return symbols whose global count went 0 -> 1 (need a KIS subscription)
+     */
+    public List<String> registerSession(String userId, String sessionId, Collection<String> symbols) {
+        List<Object> args = new ArrayList<>(symbols.size() + 1);
+        args.add(sessionId);
+        args.addAll(symbols);
+        List<?> result = redisTemplate.execute(REGISTER_SESSION,
+                List.of(KEY_NODES, userSessionsKey(userId), KEY_PREFIX_SESSION + sessionId),
+                refArgs(args.toArray()));
+        if (userId != null)
+            localUserSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        if (result == null || result.size() < 2)
+            return List.of();
+        strings((List<?>) result.get(0)).forEach(symbol -> nodeRefs.merge(symbol, 1, Integer::sum));
+        return strings((List<?>) result.get(1));
     }
 
-    public void removeSessionSubscription(String sessionId, String symbol) {
-        redisTemplate.opsForSet().remove(KEY_PREFIX_SESSION + sessionId, symbol);
+    /**
+     * Tears a session down in one round trip: drops it from the user's
+     * sessions, decrements every symbol it watched and deletes its symbol set.
+     * {@code userId} may be null for anonymous sessions.
+     */
+    public SessionTeardown unregisterSession(String userId, String sessionId) {
+        List<?> result = redisTemplate.execute(UNREGISTER_SESSION,
+                List.of(KEY_NODES, userSessionsKey(userId), KEY_PREFIX_SESSION + sessionId), refArgs(sessionId));
+        if (userId != null) {
+            localUserSessions.computeIfPresent(userId, (k, sessions) -> {
+                sessions.remove(sessionId);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+        if (result == null || result.size() < 2)
+            return new SessionTeardown(List.of(), List.of());
+        SessionTeardown teardown = new SessionTeardown(strings((List<?>) result.get(0)),
+                strings((List<?>) result.get(1)));
+        teardown.symbols().forEach(this::releaseNodeRef);
+        return teardown;
     }
 
-    public Set<String> getSessionSubscriptions(String sessionId) {
-        Set<Object> members = redisTemplate.opsForSet().members(KEY_PREFIX_SESSION + sessionId);
-        if (members == null)
-            return Set.of();
-        return members.stream().map(Object::toString).collect(Collectors.toSet());
+    /**
+     * Adds one symbol to a session and charges it to this node's count, unless
+     * the session already had it.
+     *
+     * @return the global count after the change, or -1 if nothing changed
+     */
+    public long addSessionSymbol(String sessionId, String symbol) {
+        long total = changeSessionSymbol(sessionId, symbol, "1");
+        if (total >= 0)
+            nodeRefs.merge(symbol, 1, Integer::sum);
+        return total;
+    }
+
+    /**
+     * Removes one symbol from a session and releases it from this node's
+     * count, unless the session did not have it.
+     *
+     * @return the global count after the change, or -1 if nothing changed
+     */
+    public long removeSessionSymbol(String sessionId, String symbol) {
+        long total = changeSessionSymbol(sessionId, symbol, "-1");
+        if (total >= 0)
+            releaseNodeRef(symbol);
+        return total;
     }
 
-    public void deleteSession(String sessionId) {
-        redisTemplate.delete(KEY_PREFIX_SESSION + sessionId);
+    // 회원이 아닌 세션은 빈 키, 스크립트가 user:sessions 갱신을 건너뜀
+    private static String userSessionsKey(String userId) {
+        return userId != null ? KEY_PREFIX_USER_SESSIONS + userId : "";
+    }
+
+    private long changeSessionSymbol(String sessionId, String symbol, String delta) {
+        Long total = redisTemplate.execute(SESSION_SYMBOL, List.of(KEY_NODES, KEY_PREFIX_SESSION + sessionId),
+                refArgs(symbol, delta));
+        return total != null ? total : -1;
+    }
+
+    private static List<String> strings(List<?> values) {
+        if (values == null)
+            return List.of();
+        return values.stream().map(Object::toString).toList();
     }
 
     // --- User Session Mapping ---
 
-    public void addUserSession(String userId, String sessionId) {
-        redisTemplate.opsForSet().add(KEY_PREFIX_USER_SESSIONS + userId, sessionId);
+    /**
+     * The user's sessions connected to this node. Sessions on other nodes are
+     * only touched by their own node, so every count lands on the node that
+     * releases it on disconnect.
+     */
+    public Set<String> getLocalUserSessions(String userId) {
+        Set<String> sessions = localUserSessions.get(userId);
+        return sessions != null ? Set.copyOf(sessions) : Set.of();
+    }
+
+    /**
+     * Tells every node, this one included, that a member's interest list
+     * changed.
+     */
+    public void publishInterestChange(String userId, String symbol, boolean added) {
+        redisTemplate.convertAndSend(CHANNEL_USER_INTEREST, userId + " " + (added ? "+" : "-") + symbol);
     }
 
-    public void removeUserSession(String userId, String sessionId) {
-        redisTemplate.opsForSet().remove(KEY_PREFIX_USER_SESSIONS + userId, sessionId);
+    public void onInterestChanged(Consumer<InterestChange> callback) {
+        addControlListener(CHANNEL_USER_INTEREST, body -> {
+            // "{userId} +{symbol}" / "{userId} -{symbol}"
+            int space = body.indexOf(' ');
+            if (space <= 0 || space + 2 > body.length()) {
+                log.warn("[Interest] Malformed change: {}", body);
+                return;
+            }
+            callback.accept(new InterestChange(body.substring(0, space), body.substring(space + 2),
+                    body.charAt(space + 1) == '+'));
+        });
     }
 
-    public Set<String> getUserSessions(String userId) {
-        Set<Object> members = redisTemplate.opsForSet().members(KEY_PREFIX_USER_SESSIONS + userId);
-        if (members == null)
-            return Set.of();
-        return members.stream().map(Object::toString).collect(Collectors.toSet());
+    /**
+     * Listens on a non-price channel. The shared listener container calls
+     * listeners on its receive thread (RedisConfig), so the handler always
+     * runs on the single redis-control thread instead, in arrival order.
+     */
+    private void addControlListener(String channel, Consumer<String> handler) {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            controlExecutor.execute(() -> {
+                try {
+                    handler.accept(body);
+                } catch (Exception e) {
+                    log.error("[Redis] Failed to handle {} on {}", body, channel, e);
+                }
+            });
+        }, new ChannelTopic(channel));
     }
 
-    // --- Monitoring & Management ---
+    // --- Upstream KIS Subscriptions (cluster-wide) ---
 
     /**
-     * Resets all subscription counts to 0.
-     * Should be called on application startup to ensure consistency.
+     * Adds a symbol to the set the KIS owner node keeps registered, and nudges
+     * the owner to pick it up.
      */
-    public void resetSubscriptionCounts() {
-        Set<String> keys = redisTemplate.keys(KEY_PREFIX_COUNT + "*");
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("🧹 Cleared {} stale subscription counts from Redis.", keys.size());
-        } else {
-            log.info("🧹 No stale subscription counts found.");
+    public void addDesiredKisSymbol(String symbol) {
+        Long added = redisTemplate.opsForSet().add(KEY_KIS_DESIRED, symbol);
+        if (added != null && added > 0) {
+            redisTemplate.convertAndSend(CHANNEL_KIS_DESIRED, symbol);
+        }
+    }
+
+    public void removeDesiredKisSymbol(String symbol) {
+        Long removed = redisTemplate.opsForSet().remove(KEY_KIS_DESIRED, symbol);
+        if (removed != null && removed > 0) {
+            redisTemplate.convertAndSend(CHANNEL_KIS_DESIRED, symbol);
         }
     }
 
+    public Set<String> getDesiredKisSymbols() {
+        Set<Object> members = redisTemplate.opsForSet().members(KEY_KIS_DESIRED);
+        if (members == null)
+            return Set.of();
+        return members.stream().map(Object::toString).collect(Collectors.toSet());
+    }
+
+    public void onDesiredKisSymbolsChanged(Runnable callback) {
+        addControlListener(CHANNEL_KIS_DESIRED, body -> callback.run());
+    }
+
+    // --- Monitoring & Management ---
+
     public Map<String, Integer> getLocalSubscriptionCounts() {
-        return localSubscriptionCounts.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        return stockPriceRedisListener.getLocalInterest();
     }
 
+    public Map<String, Integer> getNodeSubscriptionCounts() {
+        return Map.copyOf(nodeRefs);
+    }
+
+    /**
+     * Sum of the counts of all nodes with a live lease.
+     */
     public Long getGlobalSubscriptionCount(String symbol) {
-        Object count = redisTemplate.opsForValue().get(KEY_PREFIX_COUNT + symbol);
-        return count != null ? Long.parseLong(count.toString()) : 0L;
+        Long total = redisTemplate.execute(LIVE_REFS, List.of(KEY_NODES), refArgs(symbol));
+        return total != null ? Math.max(0, total) : 0L;
     }
 }
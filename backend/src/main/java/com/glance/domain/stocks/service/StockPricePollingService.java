@@ -16,14 +16,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * 해외주식(미국) 현재가를 Yahoo Finance REST API로 주기적으로 폴링하여
  * Redis → STOMP로 브로드캐스트하는 스케줄러입니다.
  *
- * 폴백 조건: 구독된 해외주식 심볼에 대해 마지막 KIS WS 수신 후 30초 이상 무수신
+ * 폴백 조건: 이 노드에 구독자가 있는 해외주식 심볼에 대해 마지막 KIS 실시간 체결 후 10초 이상 무수신.
+ * 수신 시각은 Redis로 전달받은 체결 기준이므로 KIS 세션이 없는 노드(리더가 아닌 노드)도
+ * 실시간 체결이 흐르는 동안에는 폴링하지 않고 소비만 함.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockPricePollingService {
 
-    private final KisWebSocketService kisWebSocketService;
+    private final StockPriceRedisListener stockPriceRedisListener;
     private final KisService kisService;
     private final RedisStockService redisStockService;
 
@@ -90,7 +92,10 @@ public class StockPricePollingService {
         Instant threshold = Instant.now().minus(FALLBACK_THRESHOLD);
 
         for (String symbol : pollingSymbols) {
-            Instant last = kisWebSocketService.getLastReceivedTime(symbol);
+            // 이 노드에서 보는 사람이 없으면 폴링할 이유가 없음
+            if (!stockPriceRedisListener.hasLocalInterest(symbol))
+                continue;
+            Instant last = stockPriceRedisListener.getLastLiveTickTime(symbol);
             if (last.isBefore(threshold)) {
                 // KIS WS 10초 이상 무수신 -> 폴백 조회
                 try {
@@ -1,7 +1,12 @@
 package com.glance.domain.stocks.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
 import com.glance.domain.stocks.dto.StockPriceMessage;
+import com.glance.domain.stocks.utils.PriceTickCodec;
+import com.glance.domain.stocks.utils.StripedExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
@@ -10,33 +15,201 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
+/**
+ * Receives every {@code stock.price.*} message through one pattern
+ * subscription (or from {@link RedisPriceStream}) and forwards only symbols
+ * that have local STOMP subscribers.
+ * <p>
+ * The local routing table (symbol -> subscriber count) is read without locks
+ * on the message path, so a tick for a symbol nobody on this node watches is
+ * dropped with one hash lookup, before any JSON parsing. Adding or removing a
+ * local subscriber only touches the table, never Redis.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockPriceRedisListener implements MessageListener {
 
+    public static final String CHANNEL_PREFIX = "stock.price.";
+    private static final int CHANNEL_PREFIX_LENGTH = CHANNEL_PREFIX.length();
+
     private final ObjectMapper objectMapper;
     private final SimpMessagingTemplate messagingTemplate;
+    private final TickLatencyRecorder latencyRecorder;
+    private final LastPriceCache lastPriceCache;
+    private final KisProperties kisProperties;
+    private final PriceFanoutHub priceFanoutHub;
+    private final PriceDeltaStream priceDeltaStream;
+    private final WatchlistBatcher watchlistBatcher;
+
+    // null이면 호출 스레드에서 바로 전달
+    private StripedExecutor dispatcher;
+
+    /**
+     * Gets every forwarded tick together with its Redis payload. Registered
+     * by the consumer instead of injected, because it depends on
+     * RedisStockService, which depends on this listener.
+     */
+    public interface TickSink {
+        /**
+         * @param codecPayload the Redis payload if it is {@link PriceTickCodec} binary, else null
+         */
+        void onTick(String symbol, byte[] codecPayload, StockPriceMessage message);
+    }
+
+    private volatile TickSink tickSink;
+
+    private final Map<String, AtomicInteger> localInterest = new ConcurrentHashMap<>();
+    // 종목별 마지막 실시간(KIS) 체결 수신 시각 (epoch ms), REST 스냅샷은 수신 시각이 없어 제외
+    private final Map<String, Long> lastLiveTickMs = new ConcurrentHashMap<>();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
+        byte[] channel = message.getChannel();
+        if (channel.length <= CHANNEL_PREFIX_LENGTH)
+            return;
+        // Channel format from Redis: stock.price.{symbol}
+        String symbol = new String(channel, CHANNEL_PREFIX_LENGTH, channel.length - CHANNEL_PREFIX_LENGTH,
+                StandardCharsets.UTF_8);
+        deliver(symbol, message.getBody());
+    }
+
+    @PostConstruct
+    void startDispatch() {
+        KisProperties.Distribution config = kisProperties.getDistribution();
+        if (config.getDispatchLanes() > 0) {
+            dispatcher = new StripedExecutor("price-dispatch", config.getDispatchLanes(),
+                    config.getDispatchQueueCapacity());
+        }
+    }
+
+    @PreDestroy
+    void stopDispatch() {
+        if (dispatcher != null)
+            dispatcher.shutdown();
+    }
+
+    /**
+     * Forwards one serialized price message to the symbol's STOMP destination if
+     * anyone on this node watches it. Shared by the pub/sub and stream transports.
+     * <p>
+     * The interest check runs on the calling (Redis) thread; parsing and the
+     * STOMP send run on the symbol's dispatch lane, so one slow send never holds
+     * up the Redis connection and ticks of a symbol keep their order.
+     */
+    public void deliver(String symbol, byte[] body) {
+        if (!localInterest.containsKey(symbol)) {
+            dropped.increment();
+            lastPriceCache.invalidateLocal(symbol);
+            return;
+        }
+        StripedExecutor lanes = dispatcher;
+        if (lanes != null) {
+            lanes.execute(symbol, () -> forward(symbol, body));
+        } else {
+            forward(symbol, body);
+        }
+    }
+
+    private void forward(String symbol, byte[] body) {
         try {
-            String channel = new String(message.getChannel());
-            StockPriceMessage stockMessage = objectMapper.readValue(message.getBody(), StockPriceMessage.class);
-            String symbol = stockMessage.symbol();
+            // JSON은 항상 '{'로 시작, 그 외는 PriceTickCodec 바이너리
+            boolean binary = PriceTickCodec.isBinary(body);
+            StockPriceMessage stockMessage = binary
+                    ? PriceTickCodec.decode(symbol, body).toMessage()
+                    : objectMapper.readValue(body, StockPriceMessage.class);
+            long ingestNanos = stockMessage.ingestNanos() != null ? stockMessage.ingestNanos() : 0;
+            latencyRecorder.record(TickLatencyRecorder.Stage.REDIS_RECEIVE, ingestNanos);
+            if (ingestNanos > 0)
+                lastLiveTickMs.put(symbol, System.currentTimeMillis());
+            lastPriceCache.onDelivered(symbol, stockMessage);
 
             // Broadcast to WebSocket
-            // Channel format from Redis: stock.price.{symbol}
             // WebSocket Destination: /api/v1/sub/stocks/{symbol}
-
-            String destination = "/api/v1/sub/stocks/" + symbol;
-            messagingTemplate.convertAndSend(destination, stockMessage);
+            if (priceFanoutHub.isEnabled()) {
+                // JSON 페이로드는 발행 측 직렬화 결과를 그대로 본문으로 사용
+                priceFanoutHub.publish(symbol, binary ? objectMapper.writeValueAsBytes(stockMessage) : body);
+            } else {
+                messagingTemplate.convertAndSend(PriceFanoutHub.DESTINATION_PREFIX + symbol, stockMessage);
+            }
+            // v2 구독자에게는 바뀐 필드만
+            priceDeltaStream.onTick(symbol, stockMessage);
+            watchlistBatcher.onTick(symbol, stockMessage);
+            TickSink sink = tickSink;
+            if (sink != null)
+                sink.onTick(symbol, binary ? body : null, stockMessage);
+            latencyRecorder.record(TickLatencyRecorder.Stage.STOMP_SEND, ingestNanos);
+            delivered.increment();
 
             // log.debug("Redis -> WS: {} @ {}", symbol, stockMessage.getPrice());
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             log.error("Failed to process Redis message", e);
         }
     }
+
+    public void setTickSink(TickSink tickSink) {
+        this.tickSink = tickSink;
+    }
+
+    /**
+     * Registers one local subscriber for the symbol.
+     */
+    public void addInterest(String symbol) {
+        localInterest.compute(symbol, (k, v) -> {
+            if (v == null)
+                return new AtomicInteger(1);
+            v.incrementAndGet();
+            return v;
+        });
+    }
+
+    /**
+     * Removes one local subscriber; the symbol leaves the routing table with the
+     * last one.
+     */
+    public void removeInterest(String symbol) {
+        localInterest.computeIfPresent(symbol, (k, v) -> v.decrementAndGet() <= 0 ? null : v);
+    }
+
+    public boolean hasLocalInterest(String symbol) {
+        return localInterest.containsKey(symbol);
+    }
+
+    /**
+     * When this node last forwarded a live KIS tick for the symbol, whichever
+     * node owns the KIS connection; {@link Instant#EPOCH} if never.
+     */
+    public Instant getLastLiveTickTime(String symbol) {
+        Long ms = lastLiveTickMs.get(symbol);
+        return ms != null ? Instant.ofEpochMilli(ms) : Instant.EPOCH;
+    }
+
+    public Map<String, Integer> getLocalInterest() {
+        return localInterest.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("symbols", localInterest.size());
+        stats.put("delivered", delivered.sum());
+        // 이 노드에 구독자가 없어 파싱 없이 버린 메시지
+        stats.put("dropped", dropped.sum());
+        if (dispatcher != null)
+            stats.put("dispatch", dispatcher.stats());
+        return stats;
+    }
 }
@@ -0,0 +1,133 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.dto.StockSymbolInfo;
+import com.glance.domain.stocks.entity.Market;
+import com.glance.domain.stocks.entity.StockSymbol;
+import com.glance.domain.stocks.repository.StockSymbolRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * In-process copy of the StockSymbol master, indexed by symbol, by (symbol,
+ * market) and by id.
+ * <p>
+ * The master only changes when a daily sync runs, so lookups on the hot paths
+ * (KIS subscribe, REST quotes, portfolio/interest APIs) read an immutable
+ * snapshot instead of querying MySQL. {@link #reload()} builds a complete new
+ * snapshot and swaps it in with a single volatile write, so readers see either
+ * the old master or the new one, never a half-built index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSymbolCache {
+
+    /**
+     * Published by the master sync jobs once their rows are saved.
+     */
+    public record MasterSynced(String source) {
+    }
+
+    private record Index(
+            Map<String, StockSymbolInfo> bySymbol,
+            Map<String, Map<Market, StockSymbolInfo>> bySymbolAndMarket,
+            Map<Long, StockSymbolInfo> byId) {
+    }
+
+    private final StockSymbolRepository stockSymbolRepository;
+
+    private volatile Index index = new Index(Map.of(), Map.of(), Map.of());
+
+    // KisWebSocketService/GlobalStockService보다 먼저 적재
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMasterSynced(MasterSynced event) {
+        log.info("Stock master synced ({}), rebuilding symbol cache", event.source());
+        reload();
+    }
+
+    public synchronized void reload() {
+        long started = System.currentTimeMillis();
+        index = build(stockSymbolRepository.findAll());
+        log.info("📇 Stock symbol cache loaded: {} symbols in {} ms", index.byId().size(),
+                System.currentTimeMillis() - started);
+    }
+
+    static Index build(List<StockSymbol> rows) {
+        Map<String, StockSymbolInfo> bySymbol = new HashMap<>(rows.size() * 2);
+        Map<String, Map<Market, StockSymbolInfo>> bySymbolAndMarket = new HashMap<>(rows.size() * 2);
+        Map<Long, StockSymbolInfo> byId = new HashMap<>(rows.size() * 2);
+
+        for (StockSymbol row : rows) {
+            StockSymbolInfo info = StockSymbolInfo.from(row);
+            // 같은 심볼이 여러 시장에 있으면 현금(CASH)보다 실제 종목을 우선
+            bySymbol.merge(info.symbol(), info,
+                    (existing, candidate) -> existing.market() == Market.CASH ? candidate : existing);
+            bySymbolAndMarket.computeIfAbsent(info.symbol(), s -> new EnumMap<>(Market.class))
+                    .put(info.market(), info);
+            if (info.id() != null)
+                byId.put(info.id(), info);
+        }
+
+        Map<String, Map<Market, StockSymbolInfo>> frozen = new HashMap<>(bySymbolAndMarket.size() * 2);
+        bySymbolAndMarket.forEach((symbol, markets) -> frozen.put(symbol, Map.copyOf(markets)));
+        return new Index(Map.copyOf(bySymbol), Map.copyOf(frozen), Map.copyOf(byId));
+    }
+
+    public Optional<StockSymbolInfo> find(String symbol) {
+        if (symbol == null)
+            return Optional.empty();
+        return Optional.ofNullable(index.bySymbol().get(symbol));
+    }
+
+    public Optional<StockSymbolInfo> find(String symbol, Market market) {
+        if (symbol == null || market == null)
+            return Optional.empty();
+        Map<Market, StockSymbolInfo> markets = index.bySymbolAndMarket().get(symbol);
+        return markets != null ? Optional.ofNullable(markets.get(market)) : Optional.empty();
+    }
+
+    public Optional<StockSymbolInfo> findById(Long id) {
+        if (id == null)
+            return Optional.empty();
+        return Optional.ofNullable(index.byId().get(id));
+    }
+
+    public Map<String, StockSymbolInfo> findAll(Collection<String> symbols) {
+        Map<String, StockSymbolInfo> bySymbol = index.bySymbol();
+        Map<String, StockSymbolInfo> result = new HashMap<>();
+        symbols.stream().filter(Objects::nonNull).forEach(symbol -> {
+            StockSymbolInfo info = bySymbol.get(symbol);
+            if (info != null)
+                result.put(symbol, info);
+        });
+        return result;
+    }
+
+    public Market marketOf(String symbol) {
+        return find(symbol).map(StockSymbolInfo::market).orElse(null);
+    }
+
+    public int size() {
+        return index.byId().size();
+    }
+}
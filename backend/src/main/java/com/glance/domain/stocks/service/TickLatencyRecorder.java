@@ -0,0 +1,70 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.EpochNanoClock;
+import com.glance.domain.stocks.utils.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of real-time ticks, measured from the moment the KIS
+ * frame was read off the socket ({@code ingestNanos}, epoch nanos from
+ * {@link EpochNanoClock}) to each hop of the fan-out path.
+ * <p>
+ * The stamp travels with the tick through Redis, so the last two stages may be
+ * recorded on another node; they then include the clock offset between the
+ * two hosts.
+ */
+@Component
+public class TickLatencyRecorder {
+
+    public enum Stage {
+        PARSE, // 프레임 파싱 후 병합/컨플레이션에 넘기기 직전
+        REDIS_PUBLISH, // Redis convertAndSend 완료 (컨플레이션 대기 포함)
+        REDIS_RECEIVE, // StockPriceRedisListener.onMessage 진입
+        STOMP_SEND // messagingTemplate.convertAndSend 완료
+    }
+
+    private final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+
+    public TickLatencyRecorder() {
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records the time since {@code ingestNanos}; a missing stamp (0, e.g. REST
+     * backfill snapshots) is ignored.
+     */
+    public void record(Stage stage, long ingestNanos) {
+        if (ingestNanos <= 0)
+            return;
+        histograms.get(stage).record(EpochNanoClock.now() - ingestNanos);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.count());
+            summary.put("p50Micros", micros(histogram.valueAt(0.50)));
+            summary.put("p99Micros", micros(histogram.valueAt(0.99)));
+            summary.put("p999Micros", micros(histogram.valueAt(0.999)));
+            summary.put("maxMicros", micros(histogram.max()));
+            stats.put(stage.name(), summary);
+        });
+        return stats;
+    }
+
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
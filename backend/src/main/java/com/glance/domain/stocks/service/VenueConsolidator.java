@@ -0,0 +1,116 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.utils.MarketUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges the KRX (H0STCNT0) and Nextrade (H0NXMKO0) feeds of a Korean symbol
+ * into one price stream.
+ * <p>
+ * The primary venue follows the session: KRX during the regular session
+ * (09:00–15:30 KST), NXT in the pre/after-market. A tick from the other venue
+ * is only published when the primary has gone quiet for
+ * {@code kis.consolidation.primary-stale-ms}, and nothing older than the last
+ * published tick goes out, so clients see one monotonic stream instead of two
+ * interleaved ones. The latest tick of every venue is kept and can be read
+ * with {@link #venues(String)}.
+ */
+@Service
+@RequiredArgsConstructor
+public class VenueConsolidator {
+
+    private static final int KRX_OPEN = 90000;
+    private static final int KRX_CLOSE = 153000;
+
+    private final KisProperties kisProperties;
+
+    private final Map<String, SymbolState> states = new ConcurrentHashMap<>();
+
+    private final LongAdder primary = new LongAdder();
+    private final LongAdder fallback = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder outOfOrder = new LongAdder();
+
+    private static final class SymbolState {
+        final Map<PriceTick.Venue, PriceTick> latest = new EnumMap<>(PriceTick.Venue.class);
+        long lastPublishedNanos = Long.MIN_VALUE;
+    }
+
+    /**
+     * @return the tick to publish, or null if it is superseded by the other venue
+     */
+    public PriceTick accept(PriceTick tick) {
+        PriceTick.Venue venue = tick.venue();
+        if (!kisProperties.getConsolidation().isEnabled()
+                || (venue != PriceTick.Venue.KRX && venue != PriceTick.Venue.NXT))
+            return tick;
+
+        SymbolState state = states.get(tick.symbol());
+        if (state == null)
+            state = states.computeIfAbsent(tick.symbol(), s -> new SymbolState());
+
+        // 같은 종목의 KRX/NXT는 보통 같은 세션(수신 스레드)으로 들어오므로 경합은 거의 없음
+        synchronized (state) {
+            state.latest.put(venue, tick);
+
+            if (tick.epochNanos() < state.lastPublishedNanos) {
+                outOfOrder.increment();
+                return null;
+            }
+
+            PriceTick.Venue primaryVenue = primaryVenue(tick.epochNanos());
+            if (venue != primaryVenue) {
+                PriceTick primaryTick = state.latest.get(primaryVenue);
+                long staleNanos = TimeUnit.MILLISECONDS.toNanos(kisProperties.getConsolidation().getPrimaryStaleMs());
+                if (primaryTick != null && tick.epochNanos() - primaryTick.epochNanos() <= staleNanos) {
+                    suppressed.increment();
+                    return null;
+                }
+                fallback.increment();
+            } else {
+                primary.increment();
+            }
+            state.lastPublishedNanos = tick.epochNanos();
+            return tick;
+        }
+    }
+
+    static PriceTick.Venue primaryVenue(long epochNanos) {
+        int hhmmss = MarketUtils.koreaHhmmss(epochNanos);
+        return hhmmss >= KRX_OPEN && hhmmss < KRX_CLOSE ? PriceTick.Venue.KRX : PriceTick.Venue.NXT;
+    }
+
+    /**
+     * Latest tick per venue for a Korean symbol (empty for symbols without venue data).
+     */
+    public Map<PriceTick.Venue, PriceTick> venues(String symbol) {
+        SymbolState state = states.get(symbol);
+        if (state == null)
+            return Map.of();
+        synchronized (state) {
+            return new EnumMap<>(state.latest);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", kisProperties.getConsolidation().isEnabled());
+        stats.put("symbols", states.size());
+        stats.put("primary", primary.sum());
+        // 주 거래소 시세가 끊겨 보조 거래소 시세로 대체 발행한 횟수
+        stats.put("fallback", fallback.sum());
+        stats.put("suppressed", suppressed.sum());
+        stats.put("outOfOrder", outOfOrder.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,212 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-session watchlist stream on {@code /api/v1/sub/watchlist}: every
+ * {@code window-ms} a session gets one JSON array with the latest price of
+ * each of its interest symbols that ticked in that window, instead of one
+ * MESSAGE frame per symbol and tick.
+ * <p>
+ * The symbol set is the member's {@code InterestStock} rows loaded at connect
+ * time by {@link WebSocketEventListener}, kept in step with later interest
+ * list changes by {@link InterestStockService}. {@link #onTick} only replaces the
+ * symbol's entry in the session's pending batch; a batch that goes from empty
+ * to pending is put on a dirty queue once, and a single flusher thread
+ * serializes and sends each dirty batch once per window.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WatchlistBatcher {
+
+    public static final String DESTINATION = "/api/v1/sub/watchlist";
+
+    private final ObjectMapper objectMapper;
+    private final PriceFanoutHub priceFanoutHub;
+    private final KisProperties kisProperties;
+
+    // symbol -> 해당 종목을 관심 종목으로 둔 세션
+    private final Map<String, Set<Batch>> watchers = new ConcurrentHashMap<>();
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final Queue<Batch> dirty = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+
+    private ScheduledExecutorService flusher;
+
+    static final class Batch {
+        final String sessionId;
+        final Set<String> symbols = ConcurrentHashMap.newKeySet();
+        // 아래 두 필드는 this로 보호
+        final Map<String, StockPriceMessage> pending = new LinkedHashMap<>();
+        boolean queued;
+
+        Batch(String sessionId, List<String> symbols) {
+            this.sessionId = sessionId;
+            this.symbols.addAll(symbols);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        KisProperties.Watchlist config = kisProperties.getWatchlist();
+        if (!config.isEnabled())
+            return;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "watchlist-batcher"));
+        flusher.scheduleWithFixedDelay(this::flushSafely, config.getWindowMs(), config.getWindowMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null)
+            flusher.shutdownNow();
+    }
+
+    public void register(String sessionId, List<String> symbols) {
+        // 관심 종목이 없어도 등록, 이후 추가되는 종목을 받을 수 있게
+        Batch batch = new Batch(sessionId, symbols);
+        Batch previous = batches.put(sessionId, batch);
+        if (previous != null)
+            unwatch(previous);
+        for (String symbol : batch.symbols) {
+            watchers.computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet()).add(batch);
+        }
+    }
+
+    public void unregister(String sessionId) {
+        Batch batch = batches.remove(sessionId);
+        if (batch != null)
+            unwatch(batch);
+    }
+
+    /**
+     * Adds one symbol to a registered session's watchlist; sessions that are
+     * not registered (gone or anonymous) are ignored.
+     */
+    public void addSymbol(String sessionId, String symbol) {
+        Batch batch = batches.get(sessionId);
+        if (batch != null && batch.symbols.add(symbol))
+            watchers.computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet()).add(batch);
+    }
+
+    public void removeSymbol(String sessionId, String symbol) {
+        Batch batch = batches.get(sessionId);
+        if (batch == null || !batch.symbols.remove(symbol))
+            return;
+        unwatch(batch, symbol);
+        synchronized (batch) {
+            batch.pending.remove(symbol);
+        }
+    }
+
+    private void unwatch(Batch batch) {
+        for (String symbol : batch.symbols) {
+            unwatch(batch, symbol);
+        }
+    }
+
+    private void unwatch(Batch batch, String symbol) {
+        watchers.computeIfPresent(symbol, (k, sessions) -> {
+            sessions.remove(batch);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * A tick forwarded on this node; called on the symbol's dispatch lane.
+     * Never blocks on a socket.
+     */
+    public void onTick(String symbol, StockPriceMessage message) {
+        if (flusher == null)
+            return;
+        Set<Batch> sessions = watchers.get(symbol);
+        if (sessions == null)
+            return;
+        for (Batch batch : sessions) {
+            // 관심 종목이 있어도 watchlist를 구독하지 않은 세션은 건너뜀
+            if (!priceFanoutHub.isSubscribed(batch.sessionId, DESTINATION))
+                continue;
+            boolean enqueue;
+            synchronized (batch) {
+                if (batch.pending.put(symbol, message) != null)
+                    conflated.increment();
+                enqueue = !batch.queued;
+                batch.queued = true;
+            }
+            if (enqueue)
+                dirty.offer(batch);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Watchlist flush failed", e);
+        }
+    }
+
+    void flush() {
+        int size = dirty.size();
+        for (int i = 0; i < size; i++) {
+            Batch batch = dirty.poll();
+            if (batch == null)
+                break;
+            List<StockPriceMessage> prices;
+            synchronized (batch) {
+                prices = new ArrayList<>(batch.pending.values());
+                batch.pending.clear();
+                batch.queued = false;
+            }
+            if (prices.isEmpty() || batches.get(batch.sessionId) != batch)
+                continue;
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(prices);
+                if (priceFanoutHub.sendTo(batch.sessionId, DESTINATION, json) > 0) {
+                    frames.increment();
+                    updates.add(prices.size());
+                }
+            } catch (JsonProcessingException e) {
+                log.error("[Watchlist] Failed to serialize batch for {}", batch.sessionId, e);
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long frameCount = frames.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", flusher != null);
+        stats.put("sessions", batches.size());
+        stats.put("frames", frameCount);
+        // 프레임당 종목 수, 클수록 묶음 효과가 큼
+        stats.put("avgSymbolsPerFrame", frameCount > 0 ? (double) updates.sum() / frameCount : 0.0);
+        // 같은 창 안에서 최신값으로 대체된 시세
+        stats.put("conflated", conflated.sum());
+        return stats;
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
 import java.util.List;
-import java.util.Set;
 
 @Slf4j
 @Component
@@ -26,6 +25,7 @@ public class WebSocketEventListener {
     private final InterestStockRepository interestStockRepository;
     private final KisService kisService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final WatchlistBatcher watchlistBatcher;
 
     // Using a repository to look up Member ID from email (Principal name)
     // Assuming Principal name is Member ID (as per recent fix) or Email?
@@ -48,30 +48,29 @@ public class WebSocketEventListener {
 
         try {
             Long memberId = Long.parseLong(memberIdStr);
-            redisStockService.addUserSession(memberIdStr, sessionId);
 
-            List<InterestStock> stocks = interestStockRepository.findByMemberId(memberId);
-            for (InterestStock stock : stocks) {
-                String symbol = stock.getSymbol();
+            List<String> symbols = interestStockRepository.findByMemberId(memberId).stream()
+                    .map(InterestStock::getSymbol)
+                    .distinct()
+                    .toList();
 
-                // Track that this session is watching this symbol
-                redisStockService.addSessionSubscription(sessionId, symbol);
+            // 1. Subscribe to Redis Channel (Local Instance)
+            symbols.forEach(redisStockService::subscribeToChannel);
 
-                // 1. Subscribe to Redis Channel (Local Instance)
-                // IMPORTANT: This was missing! Without this, we don't listen to Redis for this
-                // symbol.
-                redisStockService.subscribeToChannel(symbol);
+            // 2. user/session/symbol bookkeeping + global refcounts in one Redis round trip
+            for (String symbol : redisStockService.registerSession(memberIdStr, sessionId, symbols)) {
+                // First subscriber -> Connect to KIS WS
+                kisWebSocketService.subscribe(symbol);
+            }
 
-                // 2. Increment global refcount & KIS Subscription
-                if (redisStockService.subscribe(symbol)) {
-                    // First subscriber -> Connect to KIS WS
-                    kisWebSocketService.subscribe(symbol);
-                }
+            // 3. 관심 종목 묶음 전송 (/api/v1/sub/watchlist 구독 시)
+            watchlistBatcher.register(sessionId, symbols);
 
+            for (String symbol : symbols) {
                 // Fetch and send INITIAL snapshot
                 // Run asynchronously to avoid blocking the event listener
                 try {
-                    var initialData = kisService.getCurrentPrice(symbol);
+                    var initialData = kisService.getLatestPrice(symbol);
                     if (initialData != null) {
                         try {
                             messagingTemplate.convertAndSend("/api/v1/sub/stocks/" + symbol, initialData);
@@ -101,24 +100,18 @@ public class WebSocketEventListener {
         Principal user = headerAccessor.getUser();
 
         log.info("🔌 User disconnected: Session {}", sessionId);
+        watchlistBatcher.unregister(sessionId);
 
-        if (user != null) {
-            String memberIdStr = user.getName();
-            redisStockService.removeUserSession(memberIdStr, sessionId);
-        }
+        // Session data, user mapping and refcounts are released in one Redis round trip
+        RedisStockService.SessionTeardown teardown = redisStockService
+                .unregisterSession(user != null ? user.getName() : null, sessionId);
 
-        // Get symbols this session was watching
-        Set<String> subscriptions = redisStockService.getSessionSubscriptions(sessionId);
+        // Stop forwarding to this node once its last local subscriber is gone
+        teardown.symbols().forEach(redisStockService::unsubscribeFromChannel);
 
-        for (String symbol : subscriptions) {
-            // Decrement global refcount
-            if (redisStockService.unsubscribe(symbol)) {
-                // Last subscriber -> Disconnect from KIS
-                kisWebSocketService.unsubscribe(symbol);
-            }
+        for (String symbol : teardown.lastUnsubscribed()) {
+            // Last subscriber -> Disconnect from KIS
+            kisWebSocketService.unsubscribe(symbol);
         }
-
-        // Clean up session data
-        redisStockService.deleteSession(sessionId);
     }
 }
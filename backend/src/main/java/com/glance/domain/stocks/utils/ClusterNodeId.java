@@ -0,0 +1,27 @@
+package com.glance.domain.stocks.utils;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this backend instance in cluster-wide Redis state (KIS lease
+ * owner, subscription leases). Host name plus a random suffix, so a restarted
+ * process never inherits the entries of its previous incarnation.
+ */
+public final class ClusterNodeId {
+
+    public static final String LOCAL = generate();
+
+    private ClusterNodeId() {
+    }
+
+    private static String generate() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
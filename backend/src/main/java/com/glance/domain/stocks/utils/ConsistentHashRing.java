@@ -0,0 +1,90 @@
+package com.glance.domain.stocks.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring with virtual nodes.
+ * <p>
+ * Removing a node only remaps the keys that were owned by that node; every
+ * other key keeps its position. Not thread-safe — callers synchronize.
+ */
+public class ConsistentHashRing<T> {
+
+    private final int virtualNodes;
+    private final TreeMap<Integer, T> ring = new TreeMap<>();
+    private final Map<T, String> nodeIds = new HashMap<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = Math.max(1, virtualNodes);
+    }
+
+    public void add(T node, String nodeId) {
+        if (nodeIds.putIfAbsent(node, nodeId) != null)
+            return;
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(hash(nodeId + "#" + i), node);
+        }
+    }
+
+    public void remove(T node) {
+        String nodeId = nodeIds.remove(node);
+        if (nodeId == null)
+            return;
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.remove(hash(nodeId + "#" + i), node);
+        }
+    }
+
+    public boolean contains(T node) {
+        return nodeIds.containsKey(node);
+    }
+
+    public int size() {
+        return nodeIds.size();
+    }
+
+    /**
+     * Distinct nodes in ring order, starting at the owner of {@code key}.
+     * The first element is the key's primary node; the rest are fallbacks.
+     */
+    public List<T> walk(String key) {
+        if (ring.isEmpty())
+            return List.of();
+
+        Set<T> ordered = new LinkedHashSet<>();
+        int h = hash(key);
+        SortedMap<Integer, T> tail = ring.tailMap(h);
+        for (T node : tail.values()) {
+            if (ordered.add(node) && ordered.size() == nodeIds.size())
+                return new ArrayList<>(ordered);
+        }
+        for (T node : ring.values()) {
+            if (ordered.add(node) && ordered.size() == nodeIds.size())
+                break;
+        }
+        return new ArrayList<>(ordered);
+    }
+
+    // FNV-1a + murmur3 finalizer: String.hashCode clusters badly for short tickers
+    static int hash(String key) {
+        int h = 0x811c9dc5;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
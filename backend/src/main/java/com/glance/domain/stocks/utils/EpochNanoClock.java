@@ -0,0 +1,19 @@
+package com.glance.domain.stocks.utils;
+
+/**
+ * Wall-clock time in epoch nanoseconds, derived from {@link System#nanoTime()}
+ * against a single anchor so consecutive readings are monotonic and finer than
+ * {@link System#currentTimeMillis()}. Used to stamp real-time frames and ticks.
+ */
+public final class EpochNanoClock {
+
+    private static final long ANCHOR_EPOCH_NANOS = System.currentTimeMillis() * 1_000_000L;
+    private static final long ANCHOR_NANO_TIME = System.nanoTime();
+
+    private EpochNanoClock() {
+    }
+
+    public static long now() {
+        return ANCHOR_EPOCH_NANOS + (System.nanoTime() - ANCHOR_NANO_TIME);
+    }
+}
@@ -0,0 +1,31 @@
+package com.glance.domain.stocks.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with jitter.
+ * <p>
+ * {@code delay(n) = min(max, initial * multiplier^n)}, reduced by a random
+ * fraction of up to {@code jitter} so that many sessions dropping at once do not
+ * reconnect in lockstep.
+ */
+public class ExponentialBackoff {
+
+    private final long initialMs;
+    private final long maxMs;
+    private final double multiplier;
+    private final double jitter;
+
+    public ExponentialBackoff(long initialMs, long maxMs, double multiplier, double jitter) {
+        this.initialMs = Math.max(1, initialMs);
+        this.maxMs = Math.max(this.initialMs, maxMs);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    public long delayMs(int attempt) {
+        double capped = Math.min(maxMs, initialMs * Math.pow(multiplier, Math.max(0, attempt)));
+        double reduction = capped * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.max(1, (long) (capped - reduction));
+    }
+}
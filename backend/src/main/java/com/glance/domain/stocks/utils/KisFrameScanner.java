@@ -0,0 +1,219 @@
+package com.glance.domain.stocks.utils;
+
+/**
+ * KIS 실시간 프레임({@code 0|H0STCNT0|001|005930^093015^...})을 split 없이 읽는 커서 기반 스캐너.
+ * <p>
+ * {@link #scan(CharSequence)} 한 번으로 헤더와 첫 번째 레코드의 필드 경계만 기록하고,
+ * 실제로 필요한 필드만 {@link #field(int)}로 꺼낼 때 String이 만들어집니다.
+ * 인스턴스는 재사용 가능하지만 스레드 안전하지 않으므로 수신 스레드마다 하나씩 사용해야 합니다.
+ */
+public final class KisFrameScanner {
+
+    public enum TrId {
+        KRX_TRADE, // H0STCNT0 국내주식 실시간 체결 (KRX)
+        NXT_TRADE, // H0NXMKO0 국내주식 실시간 체결 (Nextrade ATS)
+        US_QUOTE, // HDFSASP0 해외주식 실시간 호가
+        US_TRADE, // HDFSCNT0 해외주식 실시간 체결
+        UNKNOWN
+    }
+
+    // H0STCNT0 시장운영구분코드(42), HDFSCNT0(43)까지 커버
+    private static final int MAX_FIELDS = 48;
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+
+    private CharSequence frame;
+    private int trIdStart;
+    private int trIdEnd;
+    private TrId trId = TrId.UNKNOWN;
+    private int fieldCount;
+
+    /**
+     * Scans the header and the first data record of a pipe/caret frame.
+     *
+     * @return false if the frame has fewer than four pipe-separated parts
+     */
+    public boolean scan(CharSequence payload) {
+        this.frame = payload;
+        this.fieldCount = 0;
+        this.trId = TrId.UNKNOWN;
+
+        int len = payload.length();
+        int firstPipe = indexOf(payload, '|', 0, len);
+        if (firstPipe < 0)
+            return false;
+        int secondPipe = indexOf(payload, '|', firstPipe + 1, len);
+        if (secondPipe < 0)
+            return false;
+        int thirdPipe = indexOf(payload, '|', secondPipe + 1, len);
+        if (thirdPipe < 0)
+            return false;
+
+        trIdStart = firstPipe + 1;
+        trIdEnd = secondPipe;
+        trId = resolveTrId(payload, trIdStart, trIdEnd);
+
+        int dataEnd = indexOf(payload, '|', thirdPipe + 1, len);
+        if (dataEnd < 0)
+            dataEnd = len;
+
+        scanFields(payload, thirdPipe + 1, dataEnd);
+        return true;
+    }
+
+    private void scanFields(CharSequence payload, int from, int to) {
+        int index = 0;
+        int start = from;
+        int nonEmptyCount = 0;
+        for (int i = from; i <= to && index < MAX_FIELDS; i++) {
+            if (i == to || payload.charAt(i) == '^') {
+                fieldStart[index] = start;
+                fieldEnd[index] = i;
+                index++;
+                if (i > start)
+                    nonEmptyCount = index;
+                start = i + 1;
+            }
+        }
+        // String.split과 동일하게 끝쪽의 빈 필드는 개수에서 제외
+        fieldCount = nonEmptyCount;
+    }
+
+    private static TrId resolveTrId(CharSequence s, int start, int end) {
+        if (end - start != 8)
+            return TrId.UNKNOWN;
+        if (regionEquals(s, start, "H0STCNT0"))
+            return TrId.KRX_TRADE;
+        if (regionEquals(s, start, "H0NXMKO0"))
+            return TrId.NXT_TRADE;
+        if (regionEquals(s, start, "HDFSCNT0"))
+            return TrId.US_TRADE;
+        if (regionEquals(s, start, "HDFSASP0"))
+            return TrId.US_QUOTE;
+        return TrId.UNKNOWN;
+    }
+
+    public TrId trId() {
+        return trId;
+    }
+
+    public String trIdText() {
+        return frame.subSequence(trIdStart, trIdEnd).toString();
+    }
+
+    /**
+     * Number of caret-separated fields in the first record, excluding trailing
+     * empty fields (same semantics as {@code data.split("\\^").length}).
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    public String field(int index) {
+        return frame.subSequence(fieldStart[index], fieldEnd[index]).toString();
+    }
+
+    /**
+     * Field value with the first {@code skip} characters removed, e.g. the
+     * DNAS/DNYS/DAMS prefix of an HDFSCNT0 symbol.
+     */
+    public String field(int index, int skip) {
+        int start = Math.min(fieldStart[index] + skip, fieldEnd[index]);
+        return frame.subSequence(start, fieldEnd[index]).toString();
+    }
+
+    public int fieldLength(int index) {
+        return fieldEnd[index] - fieldStart[index];
+    }
+
+    /**
+     * Number of digits after the decimal point ("135.2100" -> 4, "71500" -> 0).
+     */
+    public int fractionDigits(int index) {
+        for (int i = fieldStart[index]; i < fieldEnd[index]; i++) {
+            if (frame.charAt(i) == '.')
+                return fieldEnd[index] - i - 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Parses a decimal field straight into an unscaled long at {@code scale}
+     * ("-1.05", 2 -> -105; "135.21", 4 -> 1352100). Extra fraction digits are
+     * truncated, an empty field is 0.
+     */
+    public long decimal(int index, int scale) {
+        int i = fieldStart[index];
+        int end = fieldEnd[index];
+        boolean negative = false;
+        if (i < end && (frame.charAt(i) == '-' || frame.charAt(i) == '+')) {
+            negative = frame.charAt(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int fraction = -1;
+        for (; i < end; i++) {
+            char c = frame.charAt(i);
+            if (c == '.') {
+                fraction = 0;
+                continue;
+            }
+            if (c < '0' || c > '9')
+                throw new NumberFormatException("Not a decimal field " + index + ": " + frame.subSequence(
+                        fieldStart[index], end));
+            if (fraction >= 0) {
+                if (fraction == scale)
+                    continue;
+                fraction++;
+            }
+            value = value * 10 + (c - '0');
+        }
+        for (int f = Math.max(fraction, 0); f < scale; f++) {
+            value *= 10;
+        }
+        return negative ? -value : value;
+    }
+
+    public boolean fieldEquals(int index, char value) {
+        return fieldLength(index) == 1 && frame.charAt(fieldStart[index]) == value;
+    }
+
+    public boolean fieldEquals(int index, String value) {
+        return fieldLength(index) == value.length() && regionEquals(frame, fieldStart[index], value);
+    }
+
+    /**
+     * Lexicographic comparison of a field against a constant, equivalent to
+     * {@code field(index).compareTo(value)} without allocating.
+     */
+    public int compareField(int index, String value) {
+        int start = fieldStart[index];
+        int len = fieldLength(index);
+        int n = Math.min(len, value.length());
+        for (int i = 0; i < n; i++) {
+            int diff = frame.charAt(start + i) - value.charAt(i);
+            if (diff != 0)
+                return diff;
+        }
+        return len - value.length();
+    }
+
+    private static int indexOf(CharSequence s, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == c)
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean regionEquals(CharSequence s, int start, String value) {
+        if (start + value.length() > s.length())
+            return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (s.charAt(start + i) != value.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.glance.domain.stocks.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-memory latency histogram with HDR-style log-linear buckets.
+ * <p>
+ * Each power-of-two range is split into 64 linear sub-buckets, so any recorded
+ * value is reported within about 1.6% of its true value while the whole range
+ * (1 ns to ~18 minutes) fits in a few thousand counters. Recording is one
+ * atomic increment and safe from any number of threads; percentiles are read
+ * from a racy but monotonic snapshot, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^40 ns ≈ 18분, 이보다 큰 값은 마지막 버킷에 기록
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value in nanoseconds; negative values (clock skew between
+     * nodes) count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(0, nanos), MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        total.increment();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile 0.0 ~ 1.0, e.g. 0.999 for p99.9
+     * @return the value at the quantile in nanoseconds, 0 if nothing was recorded
+     */
+    public long valueAt(double quantile) {
+        long n = total.sum();
+        if (n == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target)
+                return Math.min(midpoint(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    // 값 < 128은 그대로, 그 위는 2의 거듭제곱 구간마다 64칸
+    static int index(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value | 1);
+        int shift = Math.max(0, exponent - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long midpoint(int index) {
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long sub = index - ((long) shift << SUB_BUCKET_BITS);
+        return (sub << shift) + ((1L << shift) >>> 1);
+    }
+}
@@ -1,6 +1,32 @@
 package com.glance.domain.stocks.utils;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
 public class MarketUtils {
+
+    public static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+    public static final ZoneId US_ZONE = ZoneId.of("America/New_York");
+
+    private static final long KST_OFFSET_SECONDS = 9 * 3600L;
+    private static final long DAY_MS = 86_400_000L;
+
+    // 오늘(KST)의 epoch day와 그 하루의 범위, 틱마다 날짜를 계산하지 않고 범위를 벗어날 때만 갱신
+    private record KstDay(long epochDay, long startMs, long endMs) {
+    }
+
+    private static volatile KstDay kstDay = new KstDay(0, 0, 0);
+
+    // KRX 시간외 + Nextrade 프리/애프터마켓 포함 (08:00 ~ 20:00 KST)
+    private static final LocalTime KOREA_OPEN = LocalTime.of(8, 0);
+    private static final LocalTime KOREA_CLOSE = LocalTime.of(20, 0);
+    // US pre-market through after-hours (04:00 ~ 20:00 ET)
+    private static final LocalTime US_OPEN = LocalTime.of(4, 0);
+    private static final LocalTime US_CLOSE = LocalTime.of(20, 0);
+
     /**
      * Determines whether the given symbol belongs to the global market (e.g., US
      * stocks, Crypto)
@@ -32,4 +58,68 @@ public class MarketUtils {
         // stock (e.g., AAPL, TSLA)
         return symbol.matches("^[a-zA-Z].*");
     }
+
+    /**
+     * Epoch nanos of a KST wall-clock time. KST has no DST, so this is plain
+     * arithmetic on the epoch day and allocation-free for the tick path.
+     *
+     * @param yyyymmdd KST date, or 0 for today
+     * @param hhmmss   KST time of day
+     */
+    public static long koreaEpochNanos(int yyyymmdd, int hhmmss) {
+        long epochDay = yyyymmdd > 0
+                ? LocalDate.of(yyyymmdd / 10000, yyyymmdd / 100 % 100, yyyymmdd % 100).toEpochDay()
+                : koreaEpochDay(System.currentTimeMillis());
+        long secondOfDay = hhmmss / 10000 * 3600L + hhmmss / 100 % 100 * 60L + hhmmss % 100;
+        long epochSecond = epochDay * 86400L + secondOfDay - KST_OFFSET_SECONDS;
+        return epochSecond * 1_000_000_000L;
+    }
+
+    /**
+     * KST epoch day of an epoch-millis instant. The current day is cached and
+     * only recomputed once the clock leaves it (after KST midnight, or if the
+     * clock steps back).
+     */
+    static long koreaEpochDay(long epochMs) {
+        KstDay day = kstDay;
+        if (epochMs < day.startMs() || epochMs >= day.endMs()) {
+            long epochDay = Math.floorDiv(epochMs + KST_OFFSET_SECONDS * 1000, DAY_MS);
+            long startMs = epochDay * DAY_MS - KST_OFFSET_SECONDS * 1000;
+            day = new KstDay(epochDay, startMs, startMs + DAY_MS);
+            kstDay = day;
+        }
+        return day.epochDay();
+    }
+
+    /**
+     * KST time of day (HHmmss) of an epoch-nanos timestamp, allocation-free.
+     */
+    public static int koreaHhmmss(long epochNanos) {
+        long secondOfDay = Math.floorMod(Math.floorDiv(epochNanos, 1_000_000_000L) + KST_OFFSET_SECONDS, 86400L);
+        return (int) (secondOfDay / 3600 * 10000 + secondOfDay / 60 % 60 * 100 + secondOfDay % 60);
+    }
+
+    /**
+     * Whether a real-time feed for the symbol's market is expected to be
+     * ticking at the given instant (weekdays, extended hours included; holidays
+     * are not considered).
+     */
+    public static boolean isTradingHours(String symbol, ZonedDateTime now) {
+        if (isGlobalSymbol(symbol)) {
+            if (symbol.contains(":")) {
+                return true; // Crypto/FX trade around the clock
+            }
+            return isWithin(now.withZoneSameInstant(US_ZONE), US_OPEN, US_CLOSE);
+        }
+        return isWithin(now.withZoneSameInstant(KOREA_ZONE), KOREA_OPEN, KOREA_CLOSE);
+    }
+
+    private static boolean isWithin(ZonedDateTime local, LocalTime open, LocalTime close) {
+        DayOfWeek day = local.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        LocalTime time = local.toLocalTime();
+        return !time.isBefore(open) && time.isBefore(close);
+    }
 }
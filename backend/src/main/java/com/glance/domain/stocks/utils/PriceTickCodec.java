@@ -0,0 +1,127 @@
+package com.glance.domain.stocks.utils;
+
+import com.glance.domain.stocks.dto.PriceTick;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-layout binary encoding of {@link PriceTick} for the Redis hop
+ * ({@code kis.distribution.codec=BINARY}).
+ * <p>
+ * Layout (version 1):
+ * <pre>
+ * [0] version            0x01
+ * [1] marketStatus|venue high nibble: MarketStatus ordinal + 1, low nibble: Venue ordinal + 1 (0 = null)
+ * [2] scale
+ *     price              zigzag varint
+ *     change             zigzag varint
+ *     changeRate         zigzag varint
+ *     volume             varint
+ *     epochNanos         varint
+ *     ingestNanos        varint (0 = unknown)
+ * </pre>
+ * A Korean tick is about 32 bytes against ~170 for the JSON message. The
+ * symbol is not part of the payload: it already travels in the channel name
+ * ({@code stock.price.{symbol}}) or the stream entry's {@code s} field. JSON
+ * payloads always start with '{', so a reader tells the two formats apart by
+ * the first byte and nodes can switch codecs one at a time.
+ */
+public final class PriceTickCodec {
+
+    public static final byte VERSION = 1;
+    // 헤더 3바이트 + varint 6개 (최대 10바이트)
+    private static final int MAX_SIZE = 3 + 6 * 10;
+
+    private static final PriceTick.MarketStatus[] STATUSES = PriceTick.MarketStatus.values();
+    private static final PriceTick.Venue[] VENUES = PriceTick.Venue.values();
+
+    private PriceTickCodec() {
+    }
+
+    public static byte[] encode(PriceTick tick) {
+        byte[] buf = new byte[MAX_SIZE];
+        buf[0] = VERSION;
+        int status = tick.marketStatus() != null ? tick.marketStatus().ordinal() + 1 : 0;
+        int venue = tick.venue() != null ? tick.venue().ordinal() + 1 : 0;
+        buf[1] = (byte) (status << 4 | venue);
+        buf[2] = (byte) tick.scale();
+        int pos = 3;
+        pos = putVarLong(buf, pos, zigzag(tick.price()));
+        pos = putVarLong(buf, pos, zigzag(tick.change()));
+        pos = putVarLong(buf, pos, zigzag(tick.changeRate()));
+        pos = putVarLong(buf, pos, Math.max(0, tick.volume()));
+        pos = putVarLong(buf, pos, Math.max(0, tick.epochNanos()));
+        pos = putVarLong(buf, pos, Math.max(0, tick.ingestNanos()));
+        return Arrays.copyOf(buf, pos);
+    }
+
+    /**
+     * @return true if the payload was written by {@link #encode} (not JSON)
+     */
+    public static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] == VERSION;
+    }
+
+    /**
+     * @throws IllegalArgumentException on an unknown version or a truncated payload
+     */
+    public static PriceTick decode(String symbol, byte[] payload) {
+        if (payload.length < 3 || payload[0] != VERSION)
+            throw new IllegalArgumentException("Unsupported price payload version "
+                    + (payload.length > 0 ? payload[0] : -1));
+        int status = (payload[1] & 0xFF) >>> 4;
+        int venue = payload[1] & 0x0F;
+        Reader in = new Reader(payload, 3);
+        return new PriceTick(
+                symbol,
+                unzigzag(in.varLong()),
+                unzigzag(in.varLong()),
+                unzigzag(in.varLong()),
+                payload[2],
+                in.varLong(),
+                in.varLong(),
+                status > 0 && status <= STATUSES.length ? STATUSES[status - 1] : null,
+                venue > 0 && venue <= VENUES.length ? VENUES[venue - 1] : null,
+                in.varLong());
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int putVarLong(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= buf.length)
+                    throw new IllegalArgumentException("Truncated price payload");
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Malformed varint in price payload");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.glance.domain.stocks.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded single-producer / single-consumer ring buffer with pre-allocated,
+ * reusable slots (Disruptor-style).
+ * <p>
+ * The producer {@link #claim()}s the next free slot, fills it in place and
+ * {@link #publish()}es it; the consumer {@link #drain(Consumer, int)}s published
+ * slots and must copy out anything it needs before the handler returns, since
+ * the slot is handed back to the producer afterwards. No allocation and no
+ * locks on either side.
+ */
+public final class SpscRingBuffer<T> {
+
+    private final Object[] slots;
+    private final int mask;
+
+    // 다음에 소비할 시퀀스 (consumer만 씀)
+    private final AtomicLong head = new AtomicLong();
+    // 다음에 생산할 시퀀스 (producer만 씀)
+    private final AtomicLong tail = new AtomicLong();
+    // producer가 마지막으로 본 head, 매 claim마다 volatile read를 피하기 위한 캐시
+    private long cachedHead;
+
+    public SpscRingBuffer(int capacity, Supplier<T> slotFactory) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = slotFactory.get();
+        }
+    }
+
+    /**
+     * Producer side. Returns the next free slot, or null if the buffer is full.
+     * A claimed slot is not visible to the consumer until {@link #publish()}.
+     */
+    public T claim() {
+        long t = tail.get();
+        if (t - cachedHead >= slots.length) {
+            cachedHead = head.get();
+            if (t - cachedHead >= slots.length)
+                return null;
+        }
+        return slot(t);
+    }
+
+    /**
+     * Producer side. Makes the slot returned by the last {@link #claim()} visible.
+     */
+    public void publish() {
+        tail.lazySet(tail.get() + 1);
+    }
+
+    /**
+     * Consumer side. Hands up to {@code max} published slots to the handler in
+     * order and releases them back to the producer.
+     *
+     * @return number of slots consumed
+     */
+    public int drain(Consumer<T> handler, int max) {
+        long h = head.get();
+        int available = (int) Math.min(max, tail.get() - h);
+        for (int i = 0; i < available; i++) {
+            try {
+                handler.accept(slot(h + i));
+            } finally {
+                head.lazySet(h + i + 1);
+            }
+        }
+        return available;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T slot(long sequence) {
+        return (T) slots[(int) (sequence & mask)];
+    }
+}
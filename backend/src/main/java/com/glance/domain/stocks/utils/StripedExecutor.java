@@ -0,0 +1,187 @@
+package com.glance.domain.stocks.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of single-thread lanes; a task runs on the lane its key hashes to.
+ * <p>
+ * Tasks with the same key therefore run one at a time and in submission order,
+ * while different keys spread over all lanes. Each lane is bounded by
+ * {@code capacity} queued tasks; when it is full, room is made by discarding
+ * an older task of the same key, or else the oldest task of the key with the
+ * deepest backlog. The newest task of every key is never discarded, so a hot
+ * key can only shed its own backlog and never push out a quiet key's only
+ * task (a lane may then briefly hold one task per key beyond capacity).
+ * Submitting never blocks.
+ */
+@Slf4j
+public final class StripedExecutor {
+
+    private final Lane[] lanes;
+    private final int capacity;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public StripedExecutor(String name, int laneCount, int capacity) {
+        if (laneCount < 1 || capacity < 1)
+            throw new IllegalArgumentException("laneCount and capacity must be positive");
+        this.capacity = capacity;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(name + "-" + i);
+        }
+    }
+
+    public void execute(String key, Runnable task) {
+        lanes[Math.floorMod(key.hashCode(), lanes.length)].offer(key, task);
+    }
+
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int queued = 0;
+        int deepest = 0;
+        for (Lane lane : lanes) {
+            int depth = lane.depth();
+            queued += depth;
+            deepest = Math.max(deepest, depth);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lanes", lanes.length);
+        stats.put("capacity", capacity);
+        stats.put("queued", queued);
+        stats.put("deepestLane", deepest);
+        stats.put("executed", executed.sum());
+        // 대기열이 가득 차 버린 작업 (같은 키의 더 새 작업이 남아 있는 것만)
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    private final class Lane implements Runnable {
+        // 키별 대기 작업, ready는 대기 작업이 있는 키를 차례대로 (키마다 한 번만)
+        private final Map<String, ArrayDeque<Runnable>> pending = new HashMap<>();
+        private final ArrayDeque<String> ready = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Thread thread;
+        private boolean running = true;
+        private int size;
+
+        Lane(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void offer(String key, Runnable task) {
+            lock.lock();
+            try {
+                if (!running)
+                    return;
+                ArrayDeque<Runnable> tasks = pending.get(key);
+                if (size >= capacity)
+                    shed(tasks);
+                if (tasks == null) {
+                    tasks = new ArrayDeque<>();
+                    pending.put(key, tasks);
+                    ready.addLast(key);
+                }
+                tasks.addLast(task);
+                size++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 같은 키의 오래된 작업을 먼저 버리고, 없으면 가장 많이 밀린 키의 오래된 작업을 버림
+        private void shed(ArrayDeque<Runnable> own) {
+            ArrayDeque<Runnable> victim = own;
+            if (victim == null || victim.isEmpty()) {
+                victim = null;
+                for (ArrayDeque<Runnable> tasks : pending.values()) {
+                    if (tasks.size() > 1 && (victim == null || tasks.size() > victim.size()))
+                        victim = tasks;
+                }
+            }
+            // 모든 키가 작업 하나씩만 가지고 있으면 아무것도 버리지 않음
+            if (victim == null)
+                return;
+            victim.pollFirst();
+            size--;
+            dropped.increment();
+        }
+
+        int depth() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void stop() {
+            lock.lock();
+            try {
+                running = false;
+                pending.clear();
+                ready.clear();
+                size = 0;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                String key;
+                Runnable task;
+                lock.lock();
+                try {
+                    while (ready.isEmpty() && running) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (!running)
+                        return;
+                    key = ready.pollFirst();
+                    ArrayDeque<Runnable> tasks = pending.get(key);
+                    task = tasks.pollFirst();
+                    size--;
+                    // 남은 작업이 있으면 다른 키 뒤로 보내 한 키가 레인을 독점하지 않게
+                    if (tasks.isEmpty()) {
+                        pending.remove(key);
+                    } else {
+                        ready.addLast(key);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    task.run();
+                    executed.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.error("[{}] Task for {} failed", thread.getName(), key, e);
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.glance.global.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -43,6 +44,11 @@ public class RedisConfig {
     public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
+        // 기본값은 메시지마다 새 스레드를 만들고 순서도 보장하지 않음.
+        // 모든 리스너는 Redis 수신 스레드에서 바로 호출되며 블로킹 작업을 하면 안 됨:
+        // 시세 파싱/전송은 StockPriceRedisListener가 종목별 dispatch lane으로 넘기고,
+        // 그 외 채널은 RedisStockService를 통해서만 등록하며 redis-control 스레드에서 처리
+        container.setTaskExecutor(new SyncTaskExecutor());
         return container;
     }
 }
@@ -39,10 +39,12 @@ public class SecurityConfig {
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/stocks/interest/**").authenticated()
+                        .requestMatchers("/api/v1/stocks/stream/**").authenticated() // 운영용 파이프라인 상태/초기화
                         .requestMatchers("/api/v1/stocks/**").permitAll()
                         .requestMatchers("/api/v1/market/**").permitAll()
                         .requestMatchers("/ws-glance/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/kis-sim/**").permitAll() // KIS simulator (profile kis-sim)
                         .anyRequest().authenticated())
                 .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider),
                         UsernamePasswordAuthenticationFilter.class);
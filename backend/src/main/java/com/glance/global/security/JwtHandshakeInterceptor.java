@@ -0,0 +1,54 @@
+package com.glance.global.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Rejects a raw WebSocket handshake without a valid JWT. The token is read
+ * from the {@code Authorization: Bearer} header or, since browsers cannot set
+ * headers on a WebSocket upgrade, the {@code token} query parameter. The
+ * member id (token subject) is stored under {@link #MEMBER_ID_ATTRIBUTE}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String MEMBER_ID_ATTRIBUTE = "memberId";
+    private static final String TOKEN_PARAMETER = "token";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String jwt = resolveToken(request);
+        if (!StringUtils.hasText(jwt) || !jwtTokenProvider.validateToken(jwt)) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(MEMBER_ID_ATTRIBUTE, jwtTokenProvider.getAuthentication(jwt).getName());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+            Exception exception) {
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(JwtAuthenticationFilter.AUTHORIZATION_HEADER);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(JwtAuthenticationFilter.BEARER_PREFIX)) {
+            return bearerToken.substring(JwtAuthenticationFilter.BEARER_PREFIX.length());
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(TOKEN_PARAMETER);
+    }
+}
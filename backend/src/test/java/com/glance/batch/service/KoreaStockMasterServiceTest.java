@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 
@@ -20,6 +21,9 @@ public class KoreaStockMasterServiceTest {
     @Mock
     private StockSymbolRepository stockSymbolRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private KoreaStockMasterService koreaStockMasterService;
 
     @BeforeEach
@@ -29,7 +33,7 @@ public class KoreaStockMasterServiceTest {
         properties.setKospiMasterUrl("https://new.real.download.dws.co.kr/common/master/kospi_code.mst.zip");
         properties.setKosdaqMasterUrl("https://new.real.download.dws.co.kr/common/master/kosdaq_code.mst.zip");
 
-        koreaStockMasterService = new KoreaStockMasterService(stockSymbolRepository, properties);
+        koreaStockMasterService = new KoreaStockMasterService(stockSymbolRepository, properties, eventPublisher);
 
         // Mock repository behavior
         when(stockSymbolRepository.findAllByMarket(any(Market.class))).thenReturn(Collections.emptyList());
@@ -0,0 +1,63 @@
+package com.glance.domain.stocks.dto;
+
+import com.glance.domain.stocks.utils.MarketUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceTickTest {
+
+    @Test
+    @DisplayName("스케일 정수를 소수 문자열로 변환")
+    void formatScaled() {
+        assertThat(PriceTick.formatScaled(71500, 0)).isEqualTo("71500");
+        assertThat(PriceTick.formatScaled(1352100, 4)).isEqualTo("135.2100");
+        assertThat(PriceTick.formatScaled(-105, 2)).isEqualTo("-1.05");
+        assertThat(PriceTick.formatScaled(-5, 2)).isEqualTo("-0.05");
+        assertThat(PriceTick.formatScaled(0, 2)).isEqualTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Redis 경계에서 레거시 StockPriceMessage로 변환")
+    void toMessage() {
+        PriceTick tick = PriceTick.builder()
+                .symbol("AAPL")
+                .price(1352100)
+                .change(-12300)
+                .changeRate(-90)
+                .scale(4)
+                .volume(1200)
+                .epochNanos(MarketUtils.koreaEpochNanos(20240105, 233015))
+                .marketStatus(PriceTick.MarketStatus.REGULAR)
+                .venue(PriceTick.Venue.US)
+                .build();
+
+        StockPriceMessage message = tick.toMessage();
+
+        assertThat(message.price()).isEqualTo("135.2100");
+        assertThat(message.change()).isEqualTo("-1.2300");
+        assertThat(message.changeRate()).isEqualTo("-0.90");
+        assertThat(message.volume()).isEqualTo("1200");
+        assertThat(message.time()).isEqualTo("233015");
+        assertThat(message.marketStatus()).isEqualTo("REGULAR");
+    }
+
+    @Test
+    @DisplayName("레거시 메시지를 다시 스케일 정수 틱으로 변환")
+    void fromMessage() {
+        StockPriceMessage message = StockPriceMessage.builder()
+                .symbol("AAPL").price("135.2100").change("-1.2300").changeRate("-0.90")
+                .volume("1200").time("233015").marketStatus("REGULAR").build();
+
+        PriceTick tick = PriceTick.fromMessage(message);
+
+        assertThat(tick.scale()).isEqualTo(4);
+        assertThat(tick.price()).isEqualTo(1352100);
+        assertThat(tick.change()).isEqualTo(-12300);
+        assertThat(tick.changeRate()).isEqualTo(-90);
+        assertThat(tick.volume()).isEqualTo(1200);
+        assertThat(MarketUtils.koreaHhmmss(tick.epochNanos())).isEqualTo(233015);
+        assertThat(tick.toMessage()).isEqualTo(message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import com.glance.domain.stocks.utils.PriceTickCodec;
+import com.glance.global.security.JwtHandshakeInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BinaryPriceSocketHandlerTest {
+
+    private RedisStockService redisStockService;
+    private KisWebSocketService kisWebSocketService;
+    private LastPriceCache lastPriceCache;
+    private BinaryPriceSocketHandler handler;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        redisStockService = mock(RedisStockService.class);
+        kisWebSocketService = mock(KisWebSocketService.class);
+        lastPriceCache = mock(LastPriceCache.class);
+        handler = new BinaryPriceSocketHandler(redisStockService, kisWebSocketService, lastPriceCache,
+                new KisProperties(), mock(StockPriceRedisListener.class));
+
+        session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(JwtHandshakeInterceptor.MEMBER_ID_ATTRIBUTE, "7");
+        when(session.getId()).thenReturn("a");
+        when(session.getAttributes()).thenReturn(attributes);
+        handler.afterConnectionEstablished(session);
+    }
+
+    private static StockPriceMessage message(String price) {
+        return StockPriceMessage.builder().symbol("005930").price(price).change("500").changeRate("0.70")
+                .volume("100").time("093015").marketStatus("REGULAR").build();
+    }
+
+    private static PriceTick decode(BinaryMessage frame) {
+        byte[] bytes = frame.getPayload().array();
+        assertThat(bytes[0]).isEqualTo(BinaryPriceSocketHandler.FRAME_TICK);
+        int length = bytes[1];
+        assertThat(new String(bytes, 2, length, StandardCharsets.US_ASCII)).isEqualTo("005930");
+        return PriceTickCodec.decode("005930", Arrays.copyOfRange(bytes, 2 + length, bytes.length));
+    }
+
+    @Test
+    @DisplayName("구독하면 세션 등록과 KIS 구독 후 마지막 시세와 이후 체결을 바이너리 프레임으로 보냄")
+    void subscribesAndStreamsBinaryTicks() throws Exception {
+        when(redisStockService.registerSession(null, "bin:a", List.of("005930"))).thenReturn(List.of("005930"));
+        when(lastPriceCache.get("005930")).thenReturn(message("71500"));
+
+        handler.handleMessage(session, new TextMessage("+005930"));
+        handler.onTick("005930", null, message("71600"));
+        handler.onTick("000660", null, message("180000"));
+
+        verify(redisStockService).subscribeToChannel("005930");
+        verify(kisWebSocketService).subscribe("005930");
+        ArgumentCaptor<BinaryMessage> sent = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        assertThat(decode(sent.getAllValues().get(0)).price()).isEqualTo(71500);
+        assertThat(decode(sent.getAllValues().get(1)).price()).isEqualTo(71600);
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 세션 구독을 한 번에 정리하고 마지막 구독자였던 종목은 KIS 구독 해제")
+    void tearsDownOnClose() throws Exception {
+        when(redisStockService.registerSession(null, "bin:a", List.of("005930"))).thenReturn(List.of());
+        when(redisStockService.unregisterSession(null, "bin:a"))
+                .thenReturn(new RedisStockService.SessionTeardown(List.of("005930"), List.of("005930")));
+        handler.handleMessage(session, new TextMessage("+005930"));
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        handler.onTick("005930", null, message("71600"));
+
+        verify(redisStockService).unsubscribeFromChannel("005930");
+        verify(kisWebSocketService).unsubscribe("005930");
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 명령은 연결을 끊음")
+    void rejectsUnknownCommand() throws Exception {
+        handler.handleMessage(session, new TextMessage("SUBSCRIBE 005930"));
+
+        verify(session).close(any(CloseStatus.class));
+        verify(redisStockService, never()).subscribeToChannel(any());
+    }
+
+    @Test
+    @DisplayName("바이너리 세션은 회원 세션 목록에 넣지 않고, 해지는 세션이 가진 종목만 한 번 내림")
+    void staysOutOfMemberSessions() throws Exception {
+        when(redisStockService.registerSession(null, "bin:a", List.of("005930"))).thenReturn(List.of());
+        when(redisStockService.removeSessionSymbol("bin:a", "005930")).thenReturn(0L);
+
+        handler.handleMessage(session, new TextMessage("+005930"));
+        handler.handleMessage(session, new TextMessage("-005930 -005930"));
+
+        verify(redisStockService, never()).registerSession(eq("7"), anyString(), any());
+        verify(redisStockService, never()).unsubscribe(anyString());
+        verify(redisStockService, times(1)).removeSessionSymbol("bin:a", "005930");
+        verify(kisWebSocketService).unsubscribe("005930");
+    }
+}
@@ -0,0 +1,96 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConflatingSessionDecoratorTest {
+
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // 첫 전송에서 release될 때까지 막히는 소켓
+    private WebSocketSession blockingSession() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("slow");
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                sending.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private Thread sendInBackground(ConflatingSessionDecorator socket, TextMessage frame) throws Exception {
+        Thread thread = new Thread(() -> {
+            try {
+                socket.sendPrice("sub-0", frame);
+            } catch (Exception ignored) {
+            }
+        });
+        thread.start();
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        return thread;
+    }
+
+    @Test
+    @DisplayName("전송이 밀린 동안 같은 구독의 시세는 최신값 하나만 남음")
+    void conflatesWhileSendInProgress() throws Exception {
+        WebSocketSession session = blockingSession();
+        ConflatingSessionDecorator socket = new ConflatingSessionDecorator(session, 10_000, 1024 * 1024, () -> {
+        });
+        Thread first = sendInBackground(socket, new TextMessage("p1"));
+
+        socket.sendPrice("sub-0", new TextMessage("p2"));
+        socket.sendPrice("sub-0", new TextMessage("p3"));
+        socket.sendPrice("sub-1", new TextMessage("q1"));
+        assertThat(socket.stats()).containsEntry("pendingPrices", 2).containsEntry("conflated", 1L);
+
+        release.countDown();
+        first.join(5_000);
+
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(sent.capture());
+        assertThat(sent.getAllValues()).extracting(TextMessage::getPayload)
+                .isEqualTo(List.of("p1", "p3", "q1"));
+        assertThat(socket.stats()).containsEntry("pendingPrices", 0).containsEntry("sent", 3L);
+    }
+
+    @Test
+    @DisplayName("미전송 바이트가 한도를 넘으면 세션을 끊음")
+    void closesWhenBufferLimitExceeded() throws Exception {
+        WebSocketSession session = blockingSession();
+        AtomicInteger slowCloses = new AtomicInteger();
+        ConflatingSessionDecorator socket = new ConflatingSessionDecorator(session, 10_000, 8,
+                slowCloses::incrementAndGet);
+        Thread first = sendInBackground(socket, new TextMessage("p1"));
+
+        // 브로커 프레임은 합쳐지지 않으므로 쌓임
+        socket.sendMessage(new TextMessage("RECEIPT-1"));
+
+        verify(session).close(any(CloseStatus.class));
+        assertThat(slowCloses).hasValue(1);
+        assertThat(socket.getBufferedBytes()).isZero();
+        release.countDown();
+        first.join(5_000);
+    }
+}
@@ -0,0 +1,116 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.member.entity.Member;
+import com.glance.domain.member.repository.MemberRepository;
+import com.glance.domain.stocks.repository.InterestStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InterestStockServiceTest {
+
+    // 두 노드가 공유하는 pub/sub 채널 대역
+    private final List<Consumer<RedisStockService.InterestChange>> channel = new ArrayList<>();
+
+    private Node nodeA;
+    private Node nodeB;
+
+    private final class Node {
+        final RedisStockService redis = mock(RedisStockService.class);
+        final KisWebSocketService kis = mock(KisWebSocketService.class);
+        final WatchlistBatcher watchlist = mock(WatchlistBatcher.class);
+        final InterestStockService service;
+
+        @SuppressWarnings("unchecked")
+        Node() {
+            MemberRepository memberRepository = mock(MemberRepository.class);
+            Member member = mock(Member.class);
+            when(member.getId()).thenReturn(7L);
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+            InterestStockRepository interestStockRepository = mock(InterestStockRepository.class);
+            when(interestStockRepository.findByMemberIdAndSymbol(any(), anyString())).thenReturn(Optional.empty());
+            when(redis.getLocalUserSessions(anyString())).thenReturn(Set.of());
+            doAnswer(inv -> channel.add(inv.getArgument(0))).when(redis).onInterestChanged(any(Consumer.class));
+            doAnswer(inv -> {
+                RedisStockService.InterestChange change = new RedisStockService.InterestChange(inv.getArgument(0),
+                        inv.getArgument(1), inv.getArgument(2));
+                channel.forEach(listener -> listener.accept(change));
+                return null;
+            }).when(redis).publishInterestChange(anyString(), anyString(), anyBoolean());
+
+            // 트랜잭션 커밋 직후 리스너가 호출되는 것과 같게
+            ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+            service = new InterestStockService(interestStockRepository, memberRepository,
+                    mock(StockSymbolCache.class), kis, redis, watchlist, events);
+            doAnswer(inv -> {
+                service.onInterestCommitted(inv.getArgument(0));
+                return null;
+            }).when(events).publishEvent(any(Object.class));
+            service.listenToInterestChanges();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node();
+        nodeB = new Node();
+        // 회원 7의 세션 s1은 노드 B에 연결됨
+        when(nodeB.redis.getLocalUserSessions("7")).thenReturn(Set.of("s1"));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 관심 종목을 추가하면 세션을 가진 노드가 자기 카운트로 구독")
+    void addChargesOwningNode() {
+        when(nodeB.redis.addSessionSymbol("s1", "AAPL")).thenReturn(1L);
+
+        nodeA.service.addInterestStock("7", "aapl", "US");
+
+        verify(nodeB.redis).subscribeToChannel("AAPL");
+        verify(nodeB.kis).subscribe("AAPL");
+        verify(nodeB.watchlist).addSymbol("s1", "AAPL");
+        verify(nodeA.redis, never()).addSessionSymbol(anyString(), anyString());
+        verify(nodeA.redis, never()).subscribe(anyString());
+        verify(nodeA.redis, never()).subscribeToChannel(anyString());
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 관심 종목을 삭제하면 세션을 가진 노드만 카운트를 내림")
+    void removeReleasesOnOwningNode() {
+        when(nodeB.redis.removeSessionSymbol("s1", "AAPL")).thenReturn(0L);
+
+        nodeA.service.removeInterestStock("7", "AAPL");
+
+        verify(nodeB.redis).unsubscribeFromChannel("AAPL");
+        verify(nodeB.kis).unsubscribe("AAPL");
+        verify(nodeB.watchlist).removeSymbol("s1", "AAPL");
+        verify(nodeA.redis, never()).removeSessionSymbol(anyString(), anyString());
+        verify(nodeA.redis, never()).unsubscribe(anyString());
+    }
+
+    @Test
+    @DisplayName("세션에 이미 있던 종목은 다시 세지 않음")
+    void duplicateAddIsNoop() {
+        when(nodeB.redis.addSessionSymbol("s1", "AAPL")).thenReturn(-1L);
+
+        nodeB.service.addInterestStock("7", "AAPL", "US");
+
+        verify(nodeB.redis, never()).subscribeToChannel(anyString());
+        verify(nodeB.kis, never()).subscribe(anyString());
+    }
+}
@@ -0,0 +1,158 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.utils.ExponentialBackoff;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KisConnectionTest {
+
+    // 접속 시도마다 만들어진 핸드셰이크 (테스트가 성공/실패를 정함)
+    private final List<CompletableFuture<WebSocketSession>> handshakes = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final KisConnection.Listener listener = mock(KisConnection.Listener.class);
+    // 지터 없이 100, 200, 400 ... ms
+    private final ExponentialBackoff backoff = new ExponentialBackoff(100, 10_000, 2.0, 0.0);
+    private KisConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketClient client = mock(WebSocketClient.class, inv -> {
+            if (!inv.getMethod().getName().equals("execute"))
+                return RETURNS_DEFAULTS.answer(inv);
+            CompletableFuture<WebSocketSession> handshake = new CompletableFuture<>();
+            handshakes.add(handshake);
+            return handshake;
+        });
+        connection = new KisConnection("kis-0-0", "key", "secret", listener, () -> client);
+    }
+
+    private void failHandshake() {
+        handshakes.get(handshakes.size() - 1).completeExceptionally(new IOException("connection refused"));
+    }
+
+    // 마지막으로 예약된 재접속 작업, 대기 시간을 확인하고 돌려줌
+    private Runnable scheduledReconnect(int count, long delayMs) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(count)).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(delayMs), eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+
+    private static WebSocketSession openSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    @Test
+    @DisplayName("핸드셰이크가 실패하면 BACKOFF로 가고, 대기 후 다시 CONNECTING (대기 시간은 시도마다 증가)")
+    void failedHandshakeBacksOff() {
+        connection.start("ws://kis", scheduler, backoff);
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.CONNECTING);
+        assertThat(handshakes).hasSize(1);
+
+        failHandshake();
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.BACKOFF);
+        scheduledReconnect(1, 100).run();
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.CONNECTING);
+        assertThat(handshakes).hasSize(2);
+
+        failHandshake();
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.BACKOFF);
+        scheduledReconnect(2, 200);
+    }
+
+    @Test
+    @DisplayName("접속되면 CONNECTED, 끊기면 리스너에 알리고 처음 대기 시간부터 다시 BACKOFF")
+    void connectedThenClosedBacksOffFromStart() {
+        connection.start("ws://kis", scheduler, backoff);
+        failHandshake();
+        scheduledReconnect(1, 100).run();
+
+        WebSocketSession session = openSession();
+        connection.afterConnectionEstablished(session);
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.CONNECTED);
+        assertThat(connection.isOpen()).isTrue();
+        verify(listener).onConnected(connection);
+
+        connection.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+        verify(listener).onClosed(connection, CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.BACKOFF);
+        assertThat(connection.isOpen()).isFalse();
+        // 접속에 성공했으므로 시도 횟수가 초기화되어 다시 100ms
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("BACKOFF 중 stop하면 STOPPED, 예약돼 있던 재접속은 아무것도 하지 않고 다시 start할 수 있음")
+    void stopDuringBackoff() {
+        connection.start("ws://kis", scheduler, backoff);
+        failHandshake();
+        Runnable reconnect = scheduledReconnect(1, 100);
+
+        connection.stop();
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.STOPPED);
+        reconnect.run();
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.STOPPED);
+        assertThat(handshakes).hasSize(1);
+        // 열린 세션이 없었으므로 닫힘 알림도 없음
+        verify(listener, never()).onClosed(any(), any());
+
+        connection.start("ws://kis", scheduler, backoff);
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.CONNECTING);
+        assertThat(handshakes).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("접속 중 stop한 뒤 늦게 도착한 세션은 닫고 CONNECTED로 가지 않음")
+    void stopDuringHandshake() throws IOException {
+        connection.start("ws://kis", scheduler, backoff);
+        connection.stop();
+
+        WebSocketSession late = openSession();
+        connection.afterConnectionEstablished(late);
+
+        verify(late).close(CloseStatus.GOING_AWAY);
+        verify(listener, never()).onConnected(any());
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.STOPPED);
+    }
+
+    @Test
+    @DisplayName("CONNECTED 상태에서 stop하면 세션을 닫고 리스너에 바로 알림, 이후 close 콜백은 무시")
+    void stopWhileConnected() throws IOException {
+        connection.start("ws://kis", scheduler, backoff);
+        WebSocketSession session = openSession();
+        connection.afterConnectionEstablished(session);
+
+        connection.stop();
+        connection.afterConnectionClosed(session, CloseStatus.GOING_AWAY);
+
+        verify(session).close(CloseStatus.GOING_AWAY);
+        verify(listener, times(1)).onClosed(connection, CloseStatus.GOING_AWAY);
+        assertThat(connection.getState()).isEqualTo(KisConnection.State.STOPPED);
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisFrameJournalTest {
+
+    // 2025-03-03 09:00:00 KST
+    private static final long OPEN = 1_740_960_000_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private static List<KisFrameJournal.Record> readAll(Path file) throws Exception {
+        List<KisFrameJournal.Record> records = new ArrayList<>();
+        try (KisFrameJournal.Reader reader = new KisFrameJournal.Reader(file)) {
+            KisFrameJournal.Record record;
+            while ((record = reader.next()) != null)
+                records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("청크 경계를 넘겨 기록해도 순서대로 다시 읽히고, 닫으면 빈 매핑 영역을 잘라냄")
+    void roundTripAcrossChunks() throws Exception {
+        KisFrameJournal journal = new KisFrameJournal(dir, 64);
+        for (int i = 0; i < 10; i++)
+            journal.append("kis-0-" + (i % 2), OPEN + i, "0|H0STCNT0|001|005930^09000" + i);
+        journal.close();
+
+        Path file = dir.resolve(KisFrameJournal.segmentName(OPEN));
+        assertThat(file.getFileName().toString()).isEqualTo("kis-frames-20250303.journal");
+        assertThat(Files.size(file)).isEqualTo(journal.getBytes());
+
+        List<KisFrameJournal.Record> records = readAll(file);
+        assertThat(records).hasSize(10);
+        assertThat(records.get(3)).isEqualTo(
+                new KisFrameJournal.Record("kis-0-1", OPEN + 3, "0|H0STCNT0|001|005930^090003"));
+        assertThat(journal.getFailures()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 날 다시 열면 마지막 레코드 뒤에 이어 씀")
+    void reopenAppendsToExistingSegment() throws Exception {
+        KisFrameJournal first = new KisFrameJournal(dir, 1024);
+        first.append("kis-0-0", OPEN, "a");
+        first.close();
+
+        KisFrameJournal second = new KisFrameJournal(dir, 1024);
+        second.append("kis-0-0", OPEN + 1, "b");
+        second.close();
+
+        assertThat(readAll(dir.resolve(KisFrameJournal.segmentName(OPEN))))
+                .extracting(KisFrameJournal.Record::payload)
+                .containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("최대 속도 재생은 기록된 프레임을 모두 순서대로 전달")
+    void replayAtMaxSpeed() {
+        KisFrameJournal journal = new KisFrameJournal(dir, 1024);
+        journal.append("kis-0-0", OPEN, "a");
+        journal.append("kis-0-0", OPEN + 60_000_000_000L, "b");
+        journal.close();
+
+        List<String> seen = new ArrayList<>();
+        KisFrameReplayer replayer = new KisFrameReplayer(dir.resolve(KisFrameJournal.segmentName(OPEN)), 0,
+                (sessionId, payload, recordedEpochNanos) -> seen.add(payload));
+        replayer.run();
+
+        assertThat(seen).containsExactly("a", "b");
+        assertThat(replayer.isFinished()).isTrue();
+        assertThat(replayer.getReplayed()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,102 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class KisIngestPipelineTest {
+
+    private final KisConnection live = new KisConnection("kis-0-0", null, null, mock(KisConnection.Listener.class));
+    private final KisConnection replay = new KisConnection("replay", null, null, mock(KisConnection.Listener.class));
+
+    private final CountDownLatch firstStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> processed = new CopyOnWriteArrayList<>();
+    private final List<String> overflowed = new CopyOnWriteArrayList<>();
+    private KisIngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pipeline.stop();
+    }
+
+    // 첫 프레임 처리 중 멈춰 링이 차게 만드는 핸들러
+    private void handle(KisConnection connection, String payload, long receivedEpochNanos) {
+        if (processed.isEmpty() && firstStarted.getCount() > 0) {
+            firstStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        processed.add(payload);
+    }
+
+    private KisIngestPipeline start() {
+        // 링 크기 2: 처리 중인 프레임 하나 + 대기 하나
+        pipeline = new KisIngestPipeline(List.of(live, replay), 2, KisIngestPipeline.OverflowPolicy.DROP_NEWEST,
+                this::handle);
+        pipeline.setOverflowPolicy(replay, KisIngestPipeline.OverflowPolicy.BLOCK);
+        pipeline.setOverflowHandler((connection, payload, receivedEpochNanos) -> overflowed.add(payload));
+        pipeline.start();
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long dropped(String sessionId) {
+        Map<String, Object> sessions = (Map<String, Object>) pipeline.stats().get("sessions");
+        return (long) ((Map<String, Object>) sessions.get(sessionId)).get("dropped");
+    }
+
+    @Test
+    @DisplayName("실시간 세션은 링이 가득 차면 새 프레임을 버리고, 버린 프레임은 오버플로 핸들러로 전달")
+    void liveLaneDropsNewestAndReportsIt() throws InterruptedException {
+        start();
+        pipeline.offer(live, "f1");
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 2; i <= 5; i++)
+            pipeline.offer(live, "f" + i);
+        release.countDown();
+
+        assertThat(overflowed).containsExactly("f3", "f4", "f5");
+        assertThat(dropped("kis-0-0")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재생 세션은 링이 가득 차면 자리가 날 때까지 기다려 프레임을 버리지 않음")
+    void replayLaneBlocksInsteadOfDropping() throws InterruptedException {
+        start();
+        CountDownLatch offered = new CountDownLatch(1);
+        Thread replayer = new Thread(() -> {
+            for (int i = 1; i <= 5; i++)
+                pipeline.offer(replay, "r" + i);
+            offered.countDown();
+        });
+        replayer.start();
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 소비 스레드가 멈춰 있는 동안 재생 스레드는 대기
+        assertThat(offered.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        release.countDown();
+
+        assertThat(offered.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (processed.size() < 5 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertThat(processed).containsExactly("r1", "r2", "r3", "r4", "r5");
+        assertThat(overflowed).isEmpty();
+        assertThat(dropped("replay")).isZero();
+    }
+}
@@ -0,0 +1,75 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KisLeaderElectionTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOps;
+    private KisWebSocketService kisWebSocketService;
+    private KisLeaderElection election;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        kisWebSocketService = mock(KisWebSocketService.class);
+        election = new KisLeaderElection(new KisProperties(), redisTemplate, kisWebSocketService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renewReturns(long result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("리스를 얻은 노드만 KIS 세션을 시작")
+    void onlyLeaseHolderStartsUpstream() {
+        when(valueOps.setIfAbsent(eq("kis:leader"), anyString(), any(Duration.class))).thenReturn(false);
+        election.tick();
+        assertThat(election.isLeader()).isFalse();
+        verify(kisWebSocketService, never()).startUpstream();
+
+        when(valueOps.setIfAbsent(eq("kis:leader"), anyString(), any(Duration.class))).thenReturn(true);
+        election.tick();
+        assertThat(election.isLeader()).isTrue();
+        verify(kisWebSocketService).startUpstream();
+    }
+
+    @Test
+    @DisplayName("갱신에 실패하면(다른 노드가 가져감) 세션을 닫고 내려옴")
+    void stepsDownWhenRenewFails() {
+        when(valueOps.setIfAbsent(eq("kis:leader"), anyString(), any(Duration.class))).thenReturn(true);
+        election.tick();
+
+        renewReturns(1);
+        election.tick();
+        assertThat(election.isLeader()).isTrue();
+
+        renewReturns(0);
+        election.tick();
+        assertThat(election.isLeader()).isFalse();
+        verify(kisWebSocketService).stopUpstream();
+    }
+}
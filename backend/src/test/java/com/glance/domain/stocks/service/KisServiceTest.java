@@ -0,0 +1,71 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class KisServiceTest {
+
+    private LastPriceCache lastPriceCache;
+    private KisService kisService;
+
+    @BeforeEach
+    void setUp() {
+        lastPriceCache = mock(LastPriceCache.class);
+        kisService = spy(new KisService(new KisProperties(), mock(KisAccessTokenService.class),
+                mock(StockSymbolCache.class), mock(FinnhubService.class), lastPriceCache));
+    }
+
+    @Test
+    @DisplayName("같은 종목의 동시 캐시 미스는 REST 조회 한 번을 함께 기다림")
+    void concurrentMissesShareOneFetch() throws Exception {
+        StockPriceMessage quote = StockPriceMessage.builder().symbol("005930").price("71500").build();
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            fetching.countDown();
+            release.await();
+            return quote;
+        }).when(kisService).getCurrentPrice("005930");
+
+        CompletableFuture<StockPriceMessage> first = CompletableFuture.supplyAsync(
+                () -> kisService.getLatestPrice("005930"));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<StockPriceMessage> second = CompletableFuture.supplyAsync(
+                () -> kisService.getLatestPrice("005930"));
+        // 두 번째 요청이 진행 중인 조회에 합류할 시간
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(quote);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(quote);
+        verify(kisService, times(1)).getCurrentPrice("005930");
+        verify(lastPriceCache, times(1)).put("005930", quote);
+    }
+
+    @Test
+    @DisplayName("조회가 끝나면 다음 캐시 미스는 다시 조회")
+    void completedFetchIsNotReused() {
+        StockPriceMessage quote = StockPriceMessage.builder().symbol("AAPL").price("190.1200").build();
+        doReturn(quote).when(kisService).getCurrentPrice("AAPL");
+
+        kisService.getLatestPrice("AAPL");
+        kisService.getLatestPrice("AAPL");
+
+        verify(kisService, times(2)).getCurrentPrice("AAPL");
+    }
+}
@@ -0,0 +1,92 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisSessionPoolTest {
+
+    private List<KisConnection> connections;
+
+    @BeforeEach
+    void setUp() {
+        connections = IntStream.range(0, 3)
+                .mapToObj(i -> new KisConnection("kis-" + i, "key", "secret", null))
+                .toList();
+    }
+
+    private KisSessionPool pool(int maxSlots) {
+        // 숫자로 시작하면 국내(2슬롯), 아니면 해외(1슬롯)
+        return new KisSessionPool(connections, maxSlots, 32,
+                s -> Character.isDigit(s.charAt(0)) ? 2 : 1);
+    }
+
+    @Test
+    @DisplayName("세션별 슬롯 한도를 넘지 않고 여유 세션으로 분산")
+    void respectsSlotCapacity() {
+        KisSessionPool pool = pool(4);
+        for (int i = 0; i < 6; i++) {
+            pool.add(String.format("%06d", i));
+        }
+
+        connections.forEach(c -> assertThat(c.usedSlots).isLessThanOrEqualTo(4));
+        assertThat(connections.stream().mapToInt(c -> c.usedSlots).sum()).isEqualTo(12);
+
+        // 전체 용량(12) 초과분은 대기열로
+        pool.add("AAPL");
+        assertThat(pool.status().get("unassigned")).isEqualTo(List.of("AAPL"));
+
+        // 슬롯이 풀리면 대기 종목이 배치됨
+        pool.remove("000000");
+        assertThat(pool.ownerOf("AAPL")).isNotNull();
+        assertThat(pool.status().get("unassigned")).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("세션이 끊기면 해당 세션의 종목만 이동")
+    void connectionLostMovesOnlyItsSymbols() {
+        KisSessionPool pool = pool(100);
+        for (int i = 0; i < 60; i++) {
+            pool.add("SYM" + i);
+        }
+        Map<String, KisConnection> before = new HashMap<>();
+        pool.symbols().forEach(s -> before.put(s, pool.ownerOf(s)));
+
+        KisConnection lost = connections.get(1);
+        pool.connectionLost(lost);
+
+        assertThat(lost.symbols).isEmpty();
+        before.forEach((symbol, owner) -> {
+            if (owner == lost) {
+                assertThat(pool.ownerOf(symbol)).isNotEqualTo(lost);
+            } else {
+                assertThat(pool.ownerOf(symbol)).isSameAs(owner);
+            }
+        });
+
+        // 복구된 세션은 다른 세션의 종목을 다시 가져오지 않음
+        pool.connectionEstablished(lost);
+        before.keySet().forEach(s -> assertThat(pool.ownerOf(s)).isNotEqualTo(lost));
+    }
+
+    @Test
+    @DisplayName("중복 구독/미등록 해지는 무시")
+    void duplicateAndUnknownSymbols() {
+        KisSessionPool pool = pool(10);
+
+        assertThat(pool.add("AAPL")).isTrue();
+        assertThat(pool.add("AAPL")).isFalse();
+        assertThat(pool.remove("TSLA")).isFalse();
+        assertThat(pool.symbols()).containsExactly("AAPL");
+
+        assertThat(pool.remove("AAPL")).isTrue();
+        assertThat(pool.symbols()).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.KisFrameScanner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisSimulatorTest {
+
+    private KisProperties properties;
+    private KisSimulator simulator;
+    private final KisFrameScanner scanner = new KisFrameScanner();
+
+    @BeforeEach
+    void setUp() {
+        properties = new KisProperties();
+        properties.getSimulator().setMaxRegistrationsPerSession(2);
+        simulator = new KisSimulator(properties);
+        simulator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.stop();
+    }
+
+    private static String request(String trType, String trId, String trKey) {
+        return "{\"header\":{\"approval_key\":\"k\",\"custtype\":\"P\",\"tr_type\":\"" + trType
+                + "\",\"content-type\":\"utf-8\"},\"body\":{\"input\":{\"tr_id\":\"" + trId
+                + "\",\"tr_key\":\"" + trKey + "\"}}}";
+    }
+
+    @Test
+    @DisplayName("KIS와 같은 구독 응답, 중복 구독과 세션 등록 한도 초과는 rt_cd 1")
+    void subscribeAcksAndLimit() {
+        Map<String, KisSimulator.Instrument> registrations = new HashMap<>();
+
+        assertThat(simulator.onRequest(registrations, request("1", "H0STCNT0", "005930")))
+                .contains("\"rt_cd\":\"0\"", "SUBSCRIBE SUCCESS", "\"tr_key\":\"005930\"");
+        assertThat(simulator.onRequest(registrations, request("1", "H0STCNT0", "005930")))
+                .contains("\"rt_cd\":\"1\"", "ALREADY IN SUBSCRIBE");
+        simulator.onRequest(registrations, request("1", "H0NXMKO0", "005930"));
+        assertThat(simulator.onRequest(registrations, request("1", "HDFSCNT0", "DNASAAPL")))
+                .contains("MAX SUBSCRIBE OVER");
+
+        assertThat(simulator.onRequest(registrations, request("2", "H0STCNT0", "005930")))
+                .contains("UNSUBSCRIBE SUCCESS");
+        assertThat(registrations).containsOnlyKeys("H0NXMKO0|005930");
+        assertThat(simulator.onRequest(registrations, "PING")).isNull();
+    }
+
+    @Test
+    @DisplayName("국내 체결 프레임은 호가 단위 위에서 움직이고 스캐너로 읽힘")
+    void koreaFrameParses() {
+        KisSimulator.Instrument instrument = simulator.instrument("H0STCNT0", "005930");
+        for (int i = 0; i < 100; i++) {
+            String frame = simulator.nextFrame(instrument, 20250303, 93015);
+
+            assertThat(scanner.scan(frame)).isTrue();
+            assertThat(scanner.trId()).isEqualTo(KisFrameScanner.TrId.KRX_TRADE);
+            assertThat(scanner.field(0)).isEqualTo("005930");
+            assertThat(scanner.field(1)).isEqualTo("093015");
+            long price = scanner.decimal(2, 0);
+            assertThat(price % KisSimulator.koreaTickSize(price)).isZero();
+            assertThat(scanner.decimal(4, 0)).isEqualTo(price - instrument.prevClose);
+            assertThat(scanner.decimal(13, 0)).isEqualTo(instrument.volume);
+            assertThat(scanner.fieldCount()).isGreaterThan(42);
+        }
+    }
+
+    @Test
+    @DisplayName("해외 체결 프레임의 가격 소수 자릿수와 부호")
+    void usFrameParses() {
+        KisSimulator.Instrument instrument = simulator.instrument("HDFSCNT0", "DNASNVDA");
+        String frame = simulator.nextFrame(instrument, 20250303, 233015);
+
+        assertThat(scanner.scan(frame)).isTrue();
+        assertThat(scanner.trId()).isEqualTo(KisFrameScanner.TrId.US_TRADE);
+        assertThat(scanner.field(0, 4)).isEqualTo("NVDA");
+        assertThat(scanner.fractionDigits(11)).isEqualTo(4);
+        assertThat(scanner.decimal(11, 4)).isEqualTo(instrument.price);
+        assertThat(scanner.decimal(7, 0)).isEqualTo(233015);
+        long change = instrument.price - instrument.prevClose;
+        assertThat(scanner.fieldEquals(12, change < 0 ? '5' : change > 0 ? '2' : '3')).isTrue();
+    }
+}
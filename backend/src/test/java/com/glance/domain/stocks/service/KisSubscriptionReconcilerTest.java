@@ -0,0 +1,93 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class KisSubscriptionReconcilerTest {
+
+    private final List<String> frames = new ArrayList<>();
+    private KisConnection connection;
+    private KisSessionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        connection = new KisConnection("kis-0", "key", "secret", mock(KisConnection.Listener.class));
+        WebSocketSession session = mock(WebSocketSession.class);
+        given(session.isOpen()).willReturn(true);
+        connection.afterConnectionEstablished(session);
+
+        pool = new KisSessionPool(List.of(connection), 41, 16, s -> Character.isDigit(s.charAt(0)) ? 2 : 1);
+    }
+
+    private KisSubscriptionReconciler reconciler(double framesPerSecond) {
+        return new KisSubscriptionReconciler(pool, framesPerSecond, 2,
+                action -> frames.add((action.subscribe() ? "+" : "-") + action.symbol()));
+    }
+
+    @Test
+    @DisplayName("같은 주기 안의 구독/해지 쌍은 프레임을 보내지 않음")
+    void cancelsSubscribeUnsubscribePairs() {
+        KisSubscriptionReconciler reconciler = reconciler(100);
+
+        reconciler.want("AAPL");
+        reconciler.drop("AAPL");
+        reconciler.want("TSLA");
+        reconciler.reconcile();
+
+        assertThat(frames).containsExactly("+TSLA");
+        assertThat(reconciler.stats().get("cancelled")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("해지 후 전송 전에 다시 구독하면 KIS 등록을 그대로 유지")
+    void resubscribeBeforeUnsubscribeIsSent() {
+        KisSubscriptionReconciler reconciler = reconciler(100);
+        reconciler.want("005930");
+        reconciler.reconcile();
+        frames.clear();
+
+        reconciler.drop("005930");
+        reconciler.want("005930");
+        reconciler.reconcile();
+
+        assertThat(frames).isEmpty();
+    }
+
+    @Test
+    @DisplayName("초당 프레임 한도를 넘는 변경은 다음 주기로 이월")
+    void rateLimitsFrames() {
+        KisSubscriptionReconciler reconciler = reconciler(3);
+        for (String symbol : List.of("AAPL", "TSLA", "NVDA", "MSFT", "AMZN")) {
+            reconciler.want(symbol);
+        }
+
+        reconciler.reconcile();
+
+        assertThat(frames).hasSize(3);
+        assertThat(pool.pendingFrames()).isEqualTo(2);
+        assertThat(pool.symbols()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("초당 프레임 한도가 국내 종목 비용보다 작아도 국내 종목 구독을 보냄")
+    void sendsDomesticSymbolBelowItsCost() {
+        KisSubscriptionReconciler reconciler = reconciler(1);
+
+        reconciler.want("005930");
+        reconciler.want("000660");
+        reconciler.reconcile();
+
+        // 두 번째 국내 종목은 버킷이 다시 찰 때까지 대기
+        assertThat(frames).hasSize(1).allMatch(frame -> frame.startsWith("+0"));
+        assertThat(pool.pendingFrames()).isEqualTo(2);
+    }
+}
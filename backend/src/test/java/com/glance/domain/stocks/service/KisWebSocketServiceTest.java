@@ -0,0 +1,51 @@
+package com.glance.domain.stocks.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisWebSocketServiceTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private static ZonedDateTime kst(String localDateTime) {
+        return ZonedDateTime.parse(localDateTime + "+09:00[Asia/Seoul]");
+    }
+
+    @Test
+    @DisplayName("장 시작 경계: 08:00 KST부터 조용한 국내 세션을 멈춘 것으로 봄")
+    void stallAtKoreaOpen() {
+        List<String> symbols = List.of("005930", "000660");
+
+        assertThat(KisWebSocketService.isStalled(symbols, TIMEOUT, TIMEOUT, kst("2025-03-03T07:59:59"))).isFalse();
+        assertThat(KisWebSocketService.isStalled(symbols, TIMEOUT, TIMEOUT, kst("2025-03-03T08:00:00"))).isTrue();
+        assertThat(KisWebSocketService.isStalled(symbols, TIMEOUT, TIMEOUT, kst("2025-03-03T19:59:59"))).isTrue();
+        assertThat(KisWebSocketService.isStalled(symbols, TIMEOUT, TIMEOUT, kst("2025-03-03T20:00:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("장중이어도 조용한 시간이 타임아웃보다 짧으면 멈춘 것이 아님")
+    void silenceBelowTimeout() {
+        assertThat(KisWebSocketService.isStalled(List.of("005930"), TIMEOUT - 1, TIMEOUT,
+                kst("2025-03-03T10:00:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("국내 장이 끝난 뒤에도 미국 장중인 종목이 있으면 멈춘 것으로 봄")
+    void mixedMarkets() {
+        // 2025-03-03 (월) 20:00 KST = 06:00 EST
+        ZonedDateTime now = kst("2025-03-03T20:00:00");
+
+        assertThat(KisWebSocketService.isStalled(List.of("005930"), TIMEOUT, TIMEOUT, now)).isFalse();
+        assertThat(KisWebSocketService.isStalled(List.of("005930", "AAPL"), TIMEOUT, TIMEOUT, now)).isTrue();
+        // 주말과 종목 없는 세션은 조용해도 정상
+        assertThat(KisWebSocketService.isStalled(List.of("005930"), TIMEOUT, TIMEOUT,
+                kst("2025-03-08T10:00:00"))).isFalse();
+        assertThat(KisWebSocketService.isStalled(List.of(), TIMEOUT, TIMEOUT, now)).isFalse();
+    }
+}
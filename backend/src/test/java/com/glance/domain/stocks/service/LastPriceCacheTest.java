@@ -0,0 +1,89 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastPriceCacheTest {
+
+    private KisProperties properties;
+    private RedisTemplate<String, Object> redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private LastPriceCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new KisProperties();
+        redisTemplate = mock(RedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(anyString())).thenReturn(Map.of());
+        cache = new LastPriceCache(properties, redisTemplate);
+    }
+
+    private static StockPriceMessage tick(String price) {
+        return StockPriceMessage.builder().symbol("005930").price(price).ingestNanos(123L).build();
+    }
+
+    @Test
+    @DisplayName("발행한 가격은 Redis 조회 없이 near-cache에서 읽음")
+    void nearCacheHitAfterPut() {
+        cache.put("005930", tick("71500"));
+
+        StockPriceMessage cached = cache.get("005930");
+
+        assertThat(cached.price()).isEqualTo("71500");
+        assertThat(cached.ingestNanos()).isNull();
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    @DisplayName("버린 체결로 무효화되면 Redis 해시에서 다시 읽음")
+    void invalidatedEntryFallsBackToRedis() {
+        cache.onDelivered("005930", tick("71500"));
+        cache.invalidateLocal("005930");
+        when(hashOperations.entries("stock:last:005930")).thenReturn(Map.of("price", "71600", "change", "100",
+                "updatedMs", Long.toString(System.currentTimeMillis())));
+
+        assertThat(cache.get("005930").price()).isEqualTo("71600");
+        assertThat(cache.get("005930").price()).isEqualTo("71600");
+        verify(hashOperations, times(1)).entries("stock:last:005930");
+    }
+
+    @Test
+    @DisplayName("max-age보다 오래된 값과 없는 종목은 miss")
+    void staleOrMissingIsMiss() {
+        when(hashOperations.entries("stock:last:000660")).thenReturn(Map.of("price", "180000",
+                "updatedMs", Long.toString(System.currentTimeMillis() - 120_000)));
+
+        assertThat(cache.get("000660")).isNull();
+        assertThat(cache.get("035420")).isNull();
+        assertThat(cache.stats()).containsEntry("misses", 2L);
+    }
+
+    @Test
+    @DisplayName("near-cache는 설정된 종목 수를 넘지 않음")
+    void nearCacheIsBounded() {
+        properties.getLastValue().setNearCacheSize(2);
+        cache.onDelivered("A", tick("1"));
+        cache.onDelivered("B", tick("2"));
+        cache.onDelivered("C", tick("3"));
+
+        assertThat(cache.stats()).containsEntry("nearSize", 2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PriceConflatorTest {
+
+    private RedisStockService redisStockService;
+    private KisProperties kisProperties;
+    private PriceConflator conflator;
+
+    @BeforeEach
+    void setUp() {
+        redisStockService = mock(RedisStockService.class);
+        kisProperties = new KisProperties();
+        kisProperties.getConflation().setMaxUpdatesPerSecond(4);
+        conflator = new PriceConflator(redisStockService, kisProperties);
+    }
+
+    private static PriceTick tick(String symbol, long price) {
+        return PriceTick.builder().symbol(symbol).price(price).build();
+    }
+
+    @Test
+    @DisplayName("플러시 사이의 틱은 최신 값만 발행")
+    void latestValueWins() {
+        conflator.offer(tick("005930", 71500));
+        conflator.offer(tick("005930", 71600));
+        conflator.offer(tick("005930", 71700));
+
+        conflator.flush(TimeUnit.SECONDS.toNanos(10));
+
+        ArgumentCaptor<PriceTick> captor = ArgumentCaptor.forClass(PriceTick.class);
+        verify(redisStockService, times(1)).publish(captor.capture());
+        assertThat(captor.getValue().price()).isEqualTo(71700);
+        assertThat(conflator.stats()).containsEntry("conflated", 2L).containsEntry("published", 1L);
+    }
+
+    @Test
+    @DisplayName("종목별 최대 발행 빈도를 넘으면 다음 주기로 미룸")
+    void respectsPerSymbolRate() {
+        long t0 = TimeUnit.SECONDS.toNanos(10);
+        conflator.offer(tick("NVDA", 1));
+        conflator.flush(t0);
+
+        // 4Hz → 250ms 이내의 다음 틱은 보류
+        conflator.offer(tick("NVDA", 2));
+        conflator.offer(tick("AAPL", 3));
+        conflator.flush(t0 + TimeUnit.MILLISECONDS.toNanos(100));
+        verify(redisStockService, times(2)).publish(any(PriceTick.class));
+
+        conflator.flush(t0 + TimeUnit.MILLISECONDS.toNanos(260));
+        verify(redisStockService, times(3)).publish(any(PriceTick.class));
+        assertThat(conflator.stats()).containsEntry("pendingSymbols", 0);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 모든 틱을 즉시 발행")
+    void disabledPublishesEveryTick() {
+        kisProperties.getConflation().setEnabled(false);
+
+        conflator.offer(tick("AAPL", 1));
+        conflator.offer(tick("AAPL", 2));
+
+        verify(redisStockService, times(2)).publish(any(PriceTick.class));
+        assertThat(conflator.stats()).containsEntry("conflated", 0L).containsEntry("pendingSymbols", 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceDeltaStreamTest {
+
+    private static final String DESTINATION = "/api/v1/sub/stocks-v2/005930";
+
+    private PriceFanoutHub hub;
+    private LastPriceCache lastPriceCache;
+    private PriceDeltaStream stream;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hub = new PriceFanoutHub(new KisProperties());
+        lastPriceCache = mock(LastPriceCache.class);
+        stream = new PriceDeltaStream(new ObjectMapper(), hub, lastPriceCache);
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("a");
+        hub.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+    }
+
+    private static StockPriceMessage tick(String price, String volume) {
+        return StockPriceMessage.builder().symbol("005930").price(price).change("500").changeRate("0.70")
+                .volume(volume).time("093015").marketStatus("REGULAR").build();
+    }
+
+    private List<String> bodies(int count) throws Exception {
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(count)).sendMessage(sent.capture());
+        return sent.getAllValues().stream()
+                .map(m -> m.getPayload().substring(m.getPayload().indexOf("\n\n") + 2).replace("\0", ""))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후에는 바뀐 필드와 다음 일련번호만 보냄")
+    void sendsSnapshotThenChangedFields() throws Exception {
+        stream.onTick("005930", tick("71500", "100"));
+        verify(session, never()).sendMessage(any());
+
+        hub.subscribe("a", "sub-0", DESTINATION);
+        stream.resync("a", "005930");
+        stream.onTick("005930", tick("71600", "100"));
+
+        List<String> bodies = bodies(2);
+        assertThat(bodies.get(0)).startsWith("{\"t\":\"s\",\"q\":1,\"e\":")
+                .contains("\"p\":\"71500\"", "\"c\":\"500\"", "\"v\":\"100\"");
+        assertThat(bodies.get(1)).isEqualTo("{\"t\":\"d\",\"q\":2,\"p\":\"71600\"}");
+        assertThat(stream.stats()).containsEntry("snapshots", 1L).containsEntry("deltas", 1L);
+    }
+
+    @Test
+    @DisplayName("공유 최종가는 상태 잠금 밖에서 읽고, 그 사이 들어온 체결이 있으면 그 값으로 스냅샷")
+    void readsSharedPriceOutsideLock() throws Exception {
+        hub.subscribe("a", "sub-0", DESTINATION);
+        when(lastPriceCache.get("005930")).thenAnswer(inv -> {
+            // Redis 조회 중 다른 스레드(디스패치 레인)에 체결 도착, 잠금을 잡고 있었다면 여기서 멈춤
+            CompletableFuture.runAsync(() -> stream.onTick("005930", tick("71500", "100")))
+                    .get(5, TimeUnit.SECONDS);
+            return tick("70000", "90");
+        });
+
+        stream.resync("a", "005930");
+
+        List<String> bodies = bodies(2);
+        assertThat(bodies.get(1)).startsWith("{\"t\":\"s\",\"q\":1,").contains("\"p\":\"71500\"")
+                .doesNotContain("70000");
+    }
+}
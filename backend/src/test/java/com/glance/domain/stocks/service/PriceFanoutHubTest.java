@@ -0,0 +1,86 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceFanoutHubTest {
+
+    private PriceFanoutHub hub;
+    private WebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        hub = new PriceFanoutHub(new KisProperties());
+        handler = hub.decorate(mock(WebSocketHandler.class));
+    }
+
+    private WebSocketSession connect(String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private static final String DESTINATION = "/api/v1/sub/stocks/005930";
+    private static final byte[] BODY = "{\"symbol\":\"005930\",\"price\":\"71500\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("같은 구독 ID의 세션들은 한 번 인코딩한 같은 프레임을 받음")
+    void encodesOncePerSubscriptionId() throws Exception {
+        WebSocketSession a = connect("a");
+        WebSocketSession b = connect("b");
+        WebSocketSession c = connect("c");
+        hub.subscribe("a", "sub-0", DESTINATION);
+        hub.subscribe("b", "sub-0", DESTINATION);
+        hub.subscribe("c", "sub-3", DESTINATION);
+
+        assertThat(hub.publish("005930", BODY)).isEqualTo(3);
+
+        ArgumentCaptor<TextMessage> fromA = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> fromB = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> fromC = ArgumentCaptor.forClass(TextMessage.class);
+        verify(a).sendMessage(fromA.capture());
+        verify(b).sendMessage(fromB.capture());
+        verify(c).sendMessage(fromC.capture());
+        assertThat(fromA.getValue()).isSameAs(fromB.getValue());
+        assertThat(fromA.getValue().getPayload())
+                .startsWith("MESSAGE\ndestination:/api/v1/sub/stocks/005930\n")
+                .contains("\nsubscription:sub-0\n", "\ncontent-length:" + BODY.length + "\n\n{\"symbol\"")
+                .endsWith("}\0");
+        assertThat(fromC.getValue().getPayload()).contains("\nsubscription:sub-3\n");
+        assertThat(hub.stats()).containsEntry("framesEncoded", 2L).containsEntry("framesSent", 3L);
+    }
+
+    @Test
+    @DisplayName("UNSUBSCRIBE와 연결 종료 후에는 보내지 않음")
+    void stopsAfterUnsubscribeAndClose() throws Exception {
+        WebSocketSession a = connect("a");
+        WebSocketSession b = connect("b");
+        hub.subscribe("a", "sub-0", DESTINATION);
+        hub.subscribe("b", "sub-0", DESTINATION);
+
+        hub.unsubscribe("a", "sub-0");
+        handler.afterConnectionClosed(b, CloseStatus.NORMAL);
+
+        assertThat(hub.publish("005930", BODY)).isZero();
+        verify(a, never()).sendMessage(any());
+        assertThat(hub.stats()).containsEntry("destinations", 0).containsEntry("sessions", 1);
+    }
+}
@@ -0,0 +1,149 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisPriceStreamTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private StockPriceRedisListener listener;
+    private RedisPriceStream stream;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        listener = mock(StockPriceRedisListener.class);
+        KisProperties properties = new KisProperties();
+        properties.getDistribution().setTransport(KisProperties.Distribution.Transport.STREAMS);
+        properties.getDistribution().setConsumerName("node-a");
+        stream = new RedisPriceStream(properties, mock(RedisConnectionFactory.class), redisTemplate, listener);
+    }
+
+    private void savedOffsets(Map<Object, Object> offsets) {
+        when(hashOperations.entries("stock:stream:offsets:node-a")).thenReturn(offsets);
+    }
+
+    private static MapRecord<String, String, byte[]> record(int shard, String id, String symbol, byte[] payload) {
+        Map<String, byte[]> fields = new LinkedHashMap<>();
+        fields.put("s", symbol.getBytes(StandardCharsets.UTF_8));
+        fields.put("p", payload);
+        return MapRecord.create(RedisPriceStream.STREAM_PREFIX + shard, fields).withId(RecordId.of(id));
+    }
+
+    @Test
+    @DisplayName("같은 종목은 항상 같은 샤드, 샤드 번호는 범위 안")
+    void shardOfIsStableAndInRange() {
+        for (String symbol : new String[] { "005930", "000660", "AAPL", "NVDA", "DNASSIM0001", "" }) {
+            int shard = RedisPriceStream.shardOf(symbol, 16);
+            assertThat(shard).isBetween(0, 15).isEqualTo(RedisPriceStream.shardOf(symbol, 16));
+        }
+        assertThat(RedisPriceStream.shardOf("005930", 0)).isZero();
+    }
+
+    @Test
+    @DisplayName("스트림 엔트리 ID의 밀리초 부분")
+    void idMillis() {
+        assertThat(RedisPriceStream.idMillis("1712345678901-3")).isEqualTo(1712345678901L);
+        assertThat(RedisPriceStream.idMillis("1712345678901")).isEqualTo(1712345678901L);
+        assertThat(RedisPriceStream.idMillis(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("종목 샤드에 MAXLEN ~으로 기록한 엔트리를 읽으면 리스너에 그대로 전달")
+    @SuppressWarnings("unchecked")
+    void appendedRecordIsDelivered() {
+        savedOffsets(Map.of());
+        stream.loadShards();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        byte[] payload = "{\"symbol\":\"005930\",\"price\":\"71500\"}".getBytes(StandardCharsets.UTF_8);
+
+        stream.append("005930", payload);
+
+        ArgumentCaptor<RedisCallback<RecordId>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(callback.capture());
+        callback.getValue().doInRedis(connection);
+        ArgumentCaptor<MapRecord<byte[], byte[], byte[]>> written = ArgumentCaptor.forClass(MapRecord.class);
+        ArgumentCaptor<RedisStreamCommands.XAddOptions> options =
+                ArgumentCaptor.forClass(RedisStreamCommands.XAddOptions.class);
+        verify(streamCommands).xAdd(written.capture(), options.capture());
+        int shard = RedisPriceStream.shardOf("005930", 16);
+        assertThat(new String(written.getValue().getStream(), StandardCharsets.UTF_8))
+                .isEqualTo(RedisPriceStream.STREAM_PREFIX + shard);
+        assertThat(options.getValue().getMaxlen()).isEqualTo(10_000L);
+        assertThat(options.getValue().isApproximateTrimming()).isTrue();
+
+        // 컨테이너가 읽어 온 형태 (필드 이름은 문자열, 값은 바이트 그대로)
+        Map<String, byte[]> fields = new LinkedHashMap<>();
+        written.getValue().getValue().forEach((k, v) -> fields.put(new String(k, StandardCharsets.UTF_8), v));
+        stream.onRecord(shard, MapRecord.create(RedisPriceStream.STREAM_PREFIX + shard, fields)
+                .withId(RecordId.of("1712345678901-0")));
+
+        verify(listener).deliver("005930", payload);
+        assertThat(stream.resumeOffset(shard).getOffset()).isEqualTo("1712345678901-0");
+    }
+
+    @Test
+    @DisplayName("저장된 위치가 있는 샤드는 그 다음부터, 없는 샤드는 새 엔트리부터 읽음")
+    void resumesFromSavedOffsets() {
+        savedOffsets(Map.of("3", "1712345678901-2"));
+
+        assertThat(stream.loadShards()).isEqualTo(1);
+        assertThat(stream.resumeOffset(3).getOffset()).isEqualTo("1712345678901-2");
+        assertThat(stream.resumeOffset(0).getOffset()).isEqualTo("$");
+
+        // 읽기 오류 후 다시 읽을 위치도 마지막으로 받은 엔트리 기준
+        stream.onRecord(0, record(0, "1712345679000-0", "AAPL", new byte[] { '{' }));
+        assertThat(stream.resumeOffset(0).getOffset()).isEqualTo("1712345679000-0");
+    }
+
+    @Test
+    @DisplayName("오프셋 저장은 마지막 저장 이후 새로 읽은 샤드만 기록")
+    @SuppressWarnings("unchecked")
+    void flushOffsetsWritesOnlyChangedShards() {
+        savedOffsets(Map.of("3", "1712345678901-2"));
+        stream.loadShards();
+
+        stream.flushOffsets();
+        verify(hashOperations, never()).putAll(anyString(), anyMap());
+
+        stream.onRecord(5, record(5, "1712345679000-0", "NVDA", new byte[] { '{' }));
+        stream.onRecord(3, record(3, "1712345678901-2", "005930", new byte[] { '{' }));
+        stream.flushOffsets();
+        stream.flushOffsets();
+
+        ArgumentCaptor<Map<String, String>> written = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations, times(1)).putAll(any(), written.capture());
+        assertThat(written.getValue()).containsExactly(Map.entry("5", "1712345679000-0"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.ClusterNodeId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the per-node refcount Lua scripts of {@link RedisStockService} against
+ * a real Redis. Another node's counts are written directly into the hash and
+ * the heartbeat zset.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRefCountScriptTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final String NODE = ClusterNodeId.LOCAL;
+    private static final String REFS = "stock:refs:";
+    private static final String NODES = "stock:nodes";
+
+    private final KisProperties kisProperties = new KisProperties();
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisStockService service;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        // RedisConfig와 같은 직렬화
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        service = new RedisStockService(redisTemplate, mock(RedisMessageListenerContainer.class),
+                mock(StockPriceRedisListener.class), new ObjectMapper(), mock(RedisPriceStream.class),
+                mock(LastPriceCache.class), new TickLatencyRecorder(), kisProperties);
+        service.heartbeat();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    // 다른 노드의 구독 수와 마지막 하트비트 (heartbeatAgoMs가 null이면 하트비트 기록 없음)
+    private void otherNode(String node, String symbol, int count, Long heartbeatAgoMs) {
+        redisTemplate.opsForHash().put(REFS + symbol, node, Integer.toString(count));
+        if (heartbeatAgoMs != null)
+            redisTemplate.opsForZSet().add(NODES, node, System.currentTimeMillis() - heartbeatAgoMs);
+    }
+
+    private Map<Object, Object> refs(String symbol) {
+        return redisTemplate.opsForHash().entries(REFS + symbol);
+    }
+
+    @Test
+    @DisplayName("리스가 살아있는 노드의 구독 수만 합산하고, 만료/미등록 노드의 필드는 지움")
+    void countsOnlyLiveLeases() {
+        long lease = kisProperties.getRefCount().getLeaseMs();
+        otherNode("node-live", "005930", 2, 1_000L);
+        otherNode("node-dead", "005930", 3, lease * 2);
+        otherNode("node-ghost", "005930", 1, null);
+
+        assertThat(service.getGlobalSubscriptionCount("005930")).isEqualTo(2);
+        assertThat(refs("005930")).containsOnlyKeys("node-live");
+
+        // 자기 자신은 하트비트와 상관없이 항상 살아있는 것으로 셈
+        assertThat(service.subscribe("005930")).isFalse();
+        assertThat(refs("005930")).containsEntry("node-live", "2").containsEntry(NODE, "1");
+        assertThat(service.getGlobalSubscriptionCount("005930")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("죽은 노드만 남은 종목은 합계 0, 이 노드의 첫 구독이 0 -> 1이 되고 마지막 해제가 1 -> 0")
+    void crossingsIgnoreDeadNodes() {
+        otherNode("node-dead", "AAPL", 5, kisProperties.getRefCount().getLeaseMs() * 2);
+
+        assertThat(service.subscribe("AAPL")).isTrue();
+        assertThat(service.subscribe("AAPL")).isFalse();
+        assertThat(refs("AAPL")).containsOnly(Map.entry(NODE, "2"));
+
+        assertThat(service.unsubscribe("AAPL")).isFalse();
+        assertThat(service.unsubscribe("AAPL")).isTrue();
+        assertThat(redisTemplate.hasKey(REFS + "AAPL")).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 구독 중이면 이 노드의 구독/해제는 0 <-> 1을 넘지 않음")
+    void crossingsWithLivePeer() {
+        otherNode("node-live", "005930", 1, 1_000L);
+
+        assertThat(service.addSessionSymbol("s1", "005930")).isEqualTo(2);
+        assertThat(service.removeSessionSymbol("s1", "005930")).isEqualTo(1);
+        assertThat(refs("005930")).containsOnly(Map.entry("node-live", "1"));
+    }
+
+    @Test
+    @DisplayName("세션 등록/해제 스크립트: 새 종목만 세고 0 -> 1, 1 -> 0이 된 종목을 돌려줌")
+    void registerAndUnregisterSession() {
+        otherNode("node-live", "000660", 1, 1_000L);
+
+        List<String> first = service.registerSession("7", "s1", List.of("005930", "000660", "005930"));
+        assertThat(first).containsExactly("005930");
+        assertThat(redisTemplate.opsForSet().members("user:sessions:7")).containsExactly("s1");
+        assertThat(redisTemplate.opsForSet().members("session:stocks:s1")).containsExactlyInAnyOrder("005930",
+                "000660");
+        // 이미 세션에 있는 종목은 다시 세지 않음
+        assertThat(service.addSessionSymbol("s1", "005930")).isEqualTo(-1);
+        assertThat(refs("005930")).containsOnly(Map.entry(NODE, "1"));
+
+        RedisStockService.SessionTeardown teardown = service.unregisterSession("7", "s1");
+
+        assertThat(teardown.symbols()).containsExactlyInAnyOrder("005930", "000660");
+        assertThat(teardown.lastUnsubscribed()).containsExactly("005930");
+        assertThat(redisTemplate.hasKey("session:stocks:s1")).isFalse();
+        assertThat(redisTemplate.opsForSet().members("user:sessions:7")).isEmpty();
+        assertThat(refs("000660")).containsOnly(Map.entry("node-live", "1"));
+    }
+
+    @Test
+    @DisplayName("이 노드가 센 적 없는 종목을 내리면 -1, 다른 노드의 구독 수는 그대로")
+    void decrementWithoutOwnCountReturnsMinusOne() {
+        otherNode("node-live", "005930", 2, 1_000L);
+        // 세션 집합에는 있지만 이 노드의 카운트에는 없는 종목 (예: 다른 노드가 쓴 세션 키)
+        redisTemplate.opsForSet().add("session:stocks:s1", "005930");
+
+        assertThat(service.removeSessionSymbol("s1", "005930")).isEqualTo(-1);
+        assertThat(service.unsubscribe("005930")).isFalse();
+        assertThat(refs("005930")).containsOnly(Map.entry("node-live", "2"));
+        assertThat(service.getNodeSubscriptionCounts()).doesNotContainKey("005930");
+
+        // 세션 해제도 이 노드가 센 적 없는 종목은 1 -> 0으로 보지 않음
+        redisTemplate.opsForSet().add("session:stocks:s2", "AAPL");
+        assertThat(service.unregisterSession(null, "s2").lastUnsubscribed()).isEmpty();
+    }
+}
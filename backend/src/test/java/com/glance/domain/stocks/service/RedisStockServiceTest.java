@@ -0,0 +1,173 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.utils.ClusterNodeId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisStockServiceTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private SetOperations<String, Object> setOperations;
+    private RedisMessageListenerContainer container;
+    private RedisStockService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        setOperations = mock(SetOperations.class);
+        ZSetOperations<String, Object> zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.count(anyString(), anyDouble(), anyDouble())).thenReturn(0L);
+        container = mock(RedisMessageListenerContainer.class);
+        service = new RedisStockService(redisTemplate, container,
+                mock(StockPriceRedisListener.class), new ObjectMapper(), mock(RedisPriceStream.class),
+                mock(LastPriceCache.class), new TickLatencyRecorder(), new KisProperties());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scriptReturns(Object first, Object... rest) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(first, rest);
+    }
+
+    @Test
+    @DisplayName("세션 등록은 스크립트 한 번, 0 -> 1이 된 종목만 반환하고 노드 카운트에 반영")
+    void registerSessionInOneCall() {
+        scriptReturns(List.of(List.of("005930", "AAPL"), List.of("AAPL")));
+
+        assertThat(service.registerSession("7", "s1", List.of("005930", "AAPL"))).containsExactly("AAPL");
+        assertThat(service.getNodeSubscriptionCounts()).containsEntry("005930", 1).containsEntry("AAPL", 1);
+    }
+
+    @Test
+    @DisplayName("세션 해제는 보던 종목 전체와 1 -> 0이 된 종목을 나눠 반환")
+    void unregisterSessionSplitsResult() {
+        scriptReturns(List.of(List.of("005930", "AAPL"), List.of("AAPL")),
+                List.of(List.of("005930", "AAPL"), List.of("005930")));
+        service.registerSession("7", "s1", List.of("005930", "AAPL"));
+
+        RedisStockService.SessionTeardown teardown = service.unregisterSession("7", "s1");
+
+        assertThat(teardown.symbols()).containsExactlyInAnyOrder("005930", "AAPL");
+        assertThat(teardown.lastUnsubscribed()).containsExactly("005930");
+        assertThat(service.getNodeSubscriptionCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("살아있는 노드 합계가 1이면 첫 구독, 0이면 마지막 해제")
+    void subscribeCrossings() {
+        scriptReturns(1L, 2L, 1L, 0L);
+
+        assertThat(service.subscribe("005930")).isTrue();
+        assertThat(service.subscribe("005930")).isFalse();
+        assertThat(service.getNodeSubscriptionCounts()).containsEntry("005930", 2);
+        assertThat(service.unsubscribe("005930")).isFalse();
+        assertThat(service.unsubscribe("005930")).isTrue();
+        assertThat(service.getNodeSubscriptionCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("하트비트가 끊겼던 노드는 자기 카운트를 Redis에 다시 씀")
+    void heartbeatRestoresLapsedLease() {
+        scriptReturns(1L, (Object) null);
+        service.subscribe("005930");
+
+        service.heartbeat();
+
+        verify(hashOperations).put("stock:refs:005930", ClusterNodeId.LOCAL, "1");
+        verify(setOperations).add("kis:desired", "005930");
+    }
+
+    @Test
+    @DisplayName("리스가 살아있으면 하트비트는 복구하지 않음")
+    void heartbeatWithinLease() {
+        scriptReturns(1L, Long.toString(System.currentTimeMillis()));
+        service.subscribe("005930");
+
+        service.heartbeat();
+
+        verify(hashOperations, never()).put(anyString(), any(), any());
+        verify(setOperations, never()).add(eq("kis:desired"), any());
+    }
+
+    @Test
+    @DisplayName("이 노드에 연결된 회원 세션만 기억하고, 세션 종목 변경은 실제로 바뀐 경우만 노드 카운트에 반영")
+    void tracksLocalUserSessions() {
+        scriptReturns(List.of(List.of(), List.of()), 1L, -1L, List.of(List.of("AAPL"), List.of()));
+        service.registerSession("7", "s1", List.of());
+
+        assertThat(service.getLocalUserSessions("7")).containsExactly("s1");
+        assertThat(service.addSessionSymbol("s1", "AAPL")).isEqualTo(1L);
+        assertThat(service.addSessionSymbol("s1", "AAPL")).isEqualTo(-1L);
+        assertThat(service.getNodeSubscriptionCounts()).containsEntry("AAPL", 1);
+
+        service.unregisterSession("7", "s1");
+
+        assertThat(service.getLocalUserSessions("7")).isEmpty();
+        assertThat(service.getNodeSubscriptionCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("관심 종목 변경 알림은 수신 스레드에서 파싱만 하고 적용은 별도 스레드에서")
+    void appliesInterestChangeOffReceiveThread() throws Exception {
+        CompletableFuture<String> applied = new CompletableFuture<>();
+        service.onInterestChanged(change -> applied.complete(
+                Thread.currentThread().getName() + " " + change.userId() + " " + change.symbol() + " " + change.added()));
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), isA(ChannelTopic.class));
+
+        listener.getValue().onMessage(new DefaultMessage("user.interest.changed".getBytes(StandardCharsets.UTF_8),
+                "7 +AAPL".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(applied.get(5, TimeUnit.SECONDS)).isEqualTo("redis-control 7 AAPL true");
+    }
+
+    @Test
+    @DisplayName("kis:desired 변경 알림도 수신 스레드가 아닌 redis-control 스레드에서 처리")
+    void desiredChangeRunsOffReceiveThread() throws Exception {
+        CompletableFuture<String> notified = new CompletableFuture<>();
+        service.onDesiredKisSymbolsChanged(() -> notified.complete(Thread.currentThread().getName()));
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), isA(ChannelTopic.class));
+
+        listener.getValue().onMessage(new DefaultMessage("kis.desired.changed".getBytes(StandardCharsets.UTF_8),
+                "005930".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(notified.get(5, TimeUnit.SECONDS)).isEqualTo("redis-control");
+    }
+}
@@ -0,0 +1,80 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockPricePollingServiceTest {
+
+    private KisService kisService;
+    private RedisStockService redisStockService;
+    private StockPriceRedisListener listener;
+    private StockPricePollingService pollingService;
+
+    @BeforeEach
+    void setUp() {
+        kisService = mock(KisService.class);
+        redisStockService = mock(RedisStockService.class);
+        // KIS 세션이 없는 노드: 시세는 Redis 리스너로만 들어옴
+        listener = new StockPriceRedisListener(new ObjectMapper(), mock(SimpMessagingTemplate.class),
+                new TickLatencyRecorder(), mock(LastPriceCache.class), new KisProperties(),
+                mock(PriceFanoutHub.class), mock(PriceDeltaStream.class), mock(WatchlistBatcher.class));
+        pollingService = new StockPricePollingService(listener, kisService, redisStockService);
+        when(kisService.getCurrentPrice("AAPL"))
+                .thenReturn(StockPriceMessage.builder().symbol("AAPL").price("190.1200").build());
+    }
+
+    private void receive(String body) {
+        listener.deliver("AAPL", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("리더의 실시간 체결이 Redis로 들어오는 팔로워 노드는 REST 폴링을 하지 않음")
+    void followerReceivingLiveTicksDoesNotPoll() {
+        listener.addInterest("AAPL");
+        pollingService.registerUssSymbol("AAPL");
+        receive("{\"symbol\":\"AAPL\",\"price\":\"190.1500\",\"ingestNanos\":" + System.nanoTime()
+                + "}");
+
+        pollingService.pollFallbackPrices();
+
+        verify(kisService, never()).getCurrentPrice(anyString());
+        verify(redisStockService, never()).publish(anyString(), any(StockPriceMessage.class));
+    }
+
+    @Test
+    @DisplayName("실시간 체결이 끊기면 폴링하고, 자신이 발행한 REST 스냅샷은 수신으로 치지 않음")
+    void pollsWhenLiveTicksStop() {
+        listener.addInterest("AAPL");
+        pollingService.registerUssSymbol("AAPL");
+        // 이전 폴링 결과 (수신 시각 없음)
+        receive("{\"symbol\":\"AAPL\",\"price\":\"190.1200\"}");
+
+        pollingService.pollFallbackPrices();
+
+        verify(redisStockService).publish(anyString(), any(StockPriceMessage.class));
+    }
+
+    @Test
+    @DisplayName("이 노드에 구독자가 없는 종목은 폴링하지 않음")
+    void skipsSymbolsWithoutLocalInterest() {
+        pollingService.registerUssSymbol("AAPL");
+
+        pollingService.pollFallbackPrices();
+
+        verify(kisService, never()).getCurrentPrice(anyString());
+    }
+}
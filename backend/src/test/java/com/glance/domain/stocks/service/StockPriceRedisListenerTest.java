@@ -0,0 +1,81 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.utils.MarketUtils;
+import com.glance.domain.stocks.utils.PriceTickCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class StockPriceRedisListenerTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private StockPriceRedisListener listener;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        listener = new StockPriceRedisListener(new ObjectMapper(), messagingTemplate, new TickLatencyRecorder(),
+                mock(LastPriceCache.class), new KisProperties(), mock(PriceFanoutHub.class),
+                mock(PriceDeltaStream.class), mock(WatchlistBatcher.class));
+    }
+
+    private void receive(String symbol) {
+        String body = "{\"symbol\":\"" + symbol + "\",\"price\":\"71500\"}";
+        listener.onMessage(new DefaultMessage(("stock.price." + symbol).getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), "stock.price.*".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("로컬 구독자가 없는 종목은 파싱 없이 버림")
+    void dropsSymbolsWithoutLocalInterest() {
+        receive("005930");
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertThat(listener.stats()).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    @DisplayName("마지막 로컬 구독자가 나가면 라우팅 테이블에서 제거")
+    void routesUntilLastSubscriberLeaves() {
+        listener.addInterest("005930");
+        listener.addInterest("005930");
+        receive("005930");
+
+        listener.removeInterest("005930");
+        receive("005930");
+        listener.removeInterest("005930");
+        receive("005930");
+
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/api/v1/sub/stocks/005930"), any(Object.class));
+        assertThat(listener.getLocalInterest()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("바이너리 페이로드도 같은 STOMP 메시지로 전달")
+    void deliversBinaryPayload() {
+        listener.addInterest("005930");
+        PriceTick tick = PriceTick.builder().symbol("005930").price(71500).change(500).changeRate(70).scale(0)
+                .volume(100).epochNanos(MarketUtils.koreaEpochNanos(20250303, 93015))
+                .marketStatus(PriceTick.MarketStatus.REGULAR).venue(PriceTick.Venue.KRX).build();
+
+        listener.deliver("005930", PriceTickCodec.encode(tick));
+
+        verify(messagingTemplate).convertAndSend("/api/v1/sub/stocks/005930", (Object) tick.toMessage());
+    }
+}
@@ -0,0 +1,76 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.dto.StockSymbolInfo;
+import com.glance.domain.stocks.entity.Market;
+import com.glance.domain.stocks.entity.StockStatus;
+import com.glance.domain.stocks.entity.StockSymbol;
+import com.glance.domain.stocks.repository.StockSymbolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class StockSymbolCacheTest {
+
+    private StockSymbolRepository repository;
+    private StockSymbolCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StockSymbolRepository.class);
+        cache = new StockSymbolCache(repository);
+    }
+
+    private static StockSymbol symbol(long id, String symbol, Market market) {
+        StockSymbol entity = StockSymbol.builder()
+                .symbol(symbol)
+                .market(market)
+                .nameKr(symbol + " 한글명")
+                .nameEn(symbol + " Inc.")
+                .status(StockStatus.ACTIVE)
+                .build();
+        ReflectionTestUtils.setField(entity, "id", id);
+        return entity;
+    }
+
+    @Test
+    @DisplayName("심볼, (심볼, 시장), id로 조회")
+    void lookups() {
+        given(repository.findAll()).willReturn(List.of(
+                symbol(1, "005930", Market.KOSPI),
+                symbol(2, "AAPL", Market.NASDAQ),
+                symbol(3, "USD", Market.CASH),
+                symbol(4, "USD", Market.NYSE)));
+        cache.reload();
+
+        assertThat(cache.find("AAPL")).map(StockSymbolInfo::market).contains(Market.NASDAQ);
+        assertThat(cache.find("005930", Market.KOSPI)).map(StockSymbolInfo::id).contains(1L);
+        assertThat(cache.find("005930", Market.KOSDAQ)).isEmpty();
+        assertThat(cache.findById(2L)).map(StockSymbolInfo::symbol).contains("AAPL");
+        assertThat(cache.findAll(List.of("AAPL", "TSLA")).keySet()).containsExactly("AAPL");
+        assertThat(cache.size()).isEqualTo(4);
+
+        // 심볼만으로 조회하면 현금보다 실제 종목 우선, 시장을 지정하면 정확히 일치
+        assertThat(cache.marketOf("USD")).isEqualTo(Market.NYSE);
+        assertThat(cache.find("USD", Market.CASH)).map(StockSymbolInfo::id).contains(3L);
+    }
+
+    @Test
+    @DisplayName("마스터 동기화 후 새 스냅샷으로 교체")
+    void reloadSwapsSnapshot() {
+        given(repository.findAll()).willReturn(List.of(symbol(1, "AAPL", Market.NASDAQ)));
+        cache.reload();
+
+        given(repository.findAll()).willReturn(List.of(symbol(2, "NVDA", Market.NASDAQ)));
+        cache.onMasterSynced(new StockSymbolCache.MasterSynced("US"));
+
+        assertThat(cache.find("AAPL")).isEmpty();
+        assertThat(cache.find("NVDA")).isPresent();
+    }
+}
@@ -0,0 +1,63 @@
+package com.glance.domain.stocks.service;
+
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.PriceTick;
+import com.glance.domain.stocks.utils.MarketUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VenueConsolidatorTest {
+
+    private VenueConsolidator consolidator;
+
+    @BeforeEach
+    void setUp() {
+        KisProperties properties = new KisProperties();
+        properties.getConsolidation().setPrimaryStaleMs(3000);
+        consolidator = new VenueConsolidator(properties);
+    }
+
+    private static PriceTick tick(PriceTick.Venue venue, int hhmmss, long price) {
+        return PriceTick.builder()
+                .symbol("005930")
+                .price(price)
+                .epochNanos(MarketUtils.koreaEpochNanos(20250303, hhmmss))
+                .venue(venue)
+                .build();
+    }
+
+    @Test
+    @DisplayName("정규장에는 KRX가 우선, NXT는 KRX가 끊겼을 때만 발행")
+    void regularSessionPrefersKrx() {
+        assertThat(consolidator.accept(tick(PriceTick.Venue.KRX, 100000, 71500))).isNotNull();
+        assertThat(consolidator.accept(tick(PriceTick.Venue.NXT, 100001, 71600))).isNull();
+
+        // KRX 마지막 체결 후 3초 초과 → NXT로 대체
+        assertThat(consolidator.accept(tick(PriceTick.Venue.NXT, 100004, 71700))).isNotNull();
+
+        // 과거 시각의 KRX 틱은 발행하지 않지만 거래소별 최신 값에는 반영
+        assertThat(consolidator.accept(tick(PriceTick.Venue.KRX, 100002, 71550))).isNull();
+        assertThat(consolidator.venues("005930").get(PriceTick.Venue.KRX).price()).isEqualTo(71550);
+        assertThat(consolidator.venues("005930").get(PriceTick.Venue.NXT).price()).isEqualTo(71700);
+    }
+
+    @Test
+    @DisplayName("장전/장후에는 NXT가 주 거래소")
+    void extendedSessionPrefersNxt() {
+        assertThat(consolidator.accept(tick(PriceTick.Venue.NXT, 163000, 71500))).isNotNull();
+        assertThat(consolidator.accept(tick(PriceTick.Venue.KRX, 163001, 71400))).isNull();
+        assertThat(consolidator.accept(tick(PriceTick.Venue.NXT, 163002, 71450))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("해외 종목은 그대로 통과")
+    void passesThroughOtherVenues() {
+        PriceTick us = PriceTick.builder().symbol("AAPL").venue(PriceTick.Venue.US).build();
+
+        assertThat(consolidator.accept(us)).isSameAs(us);
+        assertThat(consolidator.venues("AAPL")).isEmpty();
+    }
+}
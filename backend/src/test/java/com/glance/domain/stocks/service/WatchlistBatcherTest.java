@@ -0,0 +1,121 @@
+package com.glance.domain.stocks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glance.domain.stocks.config.KisProperties;
+import com.glance.domain.stocks.dto.StockPriceMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WatchlistBatcherTest {
+
+    private PriceFanoutHub hub;
+    private WatchlistBatcher batcher;
+    private WebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        KisProperties properties = new KisProperties();
+        // 플러시는 테스트에서 직접 호출
+        properties.getWatchlist().setWindowMs(60_000);
+        hub = new PriceFanoutHub(properties);
+        handler = hub.decorate(mock(WebSocketHandler.class));
+        batcher = new WatchlistBatcher(new ObjectMapper(), hub, properties);
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    private WebSocketSession connect(String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private static StockPriceMessage tick(String symbol, String price) {
+        return StockPriceMessage.builder().symbol(symbol).price(price).build();
+    }
+
+    @Test
+    @DisplayName("한 창 동안의 관심 종목 시세를 종목별 최신값 배열 한 프레임으로 보냄")
+    void sendsOneArrayFramePerWindow() throws Exception {
+        WebSocketSession a = connect("a");
+        WebSocketSession b = connect("b");
+        batcher.register("a", List.of("005930", "000660"));
+        batcher.register("b", List.of("005930"));
+        hub.subscribe("a", "sub-0", WatchlistBatcher.DESTINATION);
+
+        batcher.onTick("005930", tick("005930", "71500"));
+        batcher.onTick("000660", tick("000660", "180000"));
+        batcher.onTick("005930", tick("005930", "71600"));
+        batcher.onTick("035720", tick("035720", "41000"));
+        batcher.flush();
+
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(a).sendMessage(sent.capture());
+        assertThat(sent.getValue().getPayload())
+                .startsWith("MESSAGE\ndestination:/api/v1/sub/watchlist\n")
+                .contains("[{\"symbol\":\"005930\",\"price\":\"71600\"", "{\"symbol\":\"000660\"")
+                .doesNotContain("71500", "035720");
+        // watchlist를 구독하지 않은 세션
+        verify(b, never()).sendMessage(any());
+        assertThat(batcher.stats()).containsEntry("frames", 1L).containsEntry("conflated", 1L);
+    }
+
+    @Test
+    @DisplayName("연결이 끊긴 세션의 대기 중인 묶음은 보내지 않음")
+    void dropsBatchOfUnregisteredSession() throws Exception {
+        WebSocketSession a = connect("a");
+        batcher.register("a", List.of("005930"));
+        hub.subscribe("a", "sub-0", WatchlistBatcher.DESTINATION);
+
+        batcher.onTick("005930", tick("005930", "71500"));
+        batcher.unregister("a");
+        batcher.flush();
+
+        verify(a, never()).sendMessage(any());
+        assertThat(batcher.stats()).containsEntry("sessions", 0);
+    }
+
+    @Test
+    @DisplayName("연결 후 추가/삭제된 관심 종목이 묶음에 반영됨")
+    void followsInterestChanges() throws Exception {
+        WebSocketSession a = connect("a");
+        batcher.register("a", List.of());
+        hub.subscribe("a", "sub-0", WatchlistBatcher.DESTINATION);
+
+        batcher.addSymbol("a", "005930");
+        batcher.onTick("005930", tick("005930", "71500"));
+        batcher.removeSymbol("a", "005930");
+        batcher.onTick("005930", tick("005930", "71600"));
+        batcher.flush();
+
+        verify(a, never()).sendMessage(any());
+
+        batcher.addSymbol("a", "000660");
+        batcher.onTick("000660", tick("000660", "180000"));
+        batcher.flush();
+
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(a).sendMessage(sent.capture());
+        assertThat(sent.getValue().getPayload()).contains("000660").doesNotContain("005930");
+    }
+}
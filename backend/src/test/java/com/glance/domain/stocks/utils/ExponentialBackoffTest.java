@@ -0,0 +1,65 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExponentialBackoffTest {
+
+    @Test
+    @DisplayName("지터가 없으면 대기 시간은 시도마다 배수로 늘어남")
+    void growsByMultiplier() {
+        ExponentialBackoff backoff = new ExponentialBackoff(100, 60_000, 2.0, 0.0);
+
+        assertThat(backoff.delayMs(0)).isEqualTo(100);
+        assertThat(backoff.delayMs(1)).isEqualTo(200);
+        assertThat(backoff.delayMs(2)).isEqualTo(400);
+        assertThat(backoff.delayMs(5)).isEqualTo(3200);
+        // 음수 시도 횟수는 첫 시도로 취급
+        assertThat(backoff.delayMs(-1)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("대기 시간은 최대값을 넘지 않고, 시도 횟수가 아주 커도 최대값 유지")
+    void cappedAtMax() {
+        ExponentialBackoff backoff = new ExponentialBackoff(1000, 60_000, 2.0, 0.0);
+
+        assertThat(backoff.delayMs(5)).isEqualTo(32_000);
+        assertThat(backoff.delayMs(6)).isEqualTo(60_000);
+        assertThat(backoff.delayMs(100)).isEqualTo(60_000);
+        assertThat(backoff.delayMs(Integer.MAX_VALUE)).isEqualTo(60_000);
+    }
+
+    @Test
+    @DisplayName("지터는 대기 시간을 최대 jitter 비율만큼만 줄이고 값이 흩어짐")
+    void jitterStaysInRange() {
+        ExponentialBackoff backoff = new ExponentialBackoff(1000, 60_000, 2.0, 0.5);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            long delay = backoff.delayMs(3);
+            assertThat(delay).isBetween(4000L, 8000L);
+            seen.add(delay);
+        }
+        assertThat(seen).hasSizeGreaterThan(1);
+
+        // 최대값에 걸린 뒤에도 같은 범위로 줄어듦
+        for (int i = 0; i < 1000; i++)
+            assertThat(backoff.delayMs(50)).isBetween(30_000L, 60_000L);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 설정값은 보정 (jitter 0~1, 배수 1 이상, 대기 1ms 이상)")
+    void clampsSettings() {
+        ExponentialBackoff fullJitter = new ExponentialBackoff(0, 0, 0.5, 2.0);
+        for (int i = 0; i < 100; i++)
+            assertThat(fullJitter.delayMs(i)).isEqualTo(1);
+
+        ExponentialBackoff noGrowth = new ExponentialBackoff(500, 100, 0.5, -1.0);
+        assertThat(noGrowth.delayMs(0)).isEqualTo(500);
+        assertThat(noGrowth.delayMs(10)).isEqualTo(500);
+    }
+}
@@ -0,0 +1,77 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisFrameScannerTest {
+
+    private final KisFrameScanner scanner = new KisFrameScanner();
+
+    @Test
+    @DisplayName("국내 체결 프레임에서 필요한 필드만 추출")
+    void scanKoreaTrade() {
+        String data = "005930^093015^71500^2^500^0.70^71200";
+        boolean ok = scanner.scan("0|H0STCNT0|001|" + data);
+
+        assertThat(ok).isTrue();
+        assertThat(scanner.trId()).isEqualTo(KisFrameScanner.TrId.KRX_TRADE);
+        assertThat(scanner.fieldCount()).isEqualTo(data.split("\\^").length);
+        assertThat(scanner.field(0)).isEqualTo("005930");
+        assertThat(scanner.field(2)).isEqualTo("71500");
+        assertThat(scanner.field(5)).isEqualTo("0.70");
+        assertThat(scanner.compareField(1, "090000")).isPositive();
+        assertThat(scanner.compareField(1, "153000")).isNegative();
+    }
+
+    @Test
+    @DisplayName("해외 체결 프레임의 시장 접두사 제거 및 부호 비교")
+    void scanUsTrade() {
+        String[] fields = new String[26];
+        java.util.Arrays.fill(fields, "0");
+        fields[0] = "DNASAAPL";
+        fields[12] = "5";
+        fields[13] = "1.25";
+        scanner.scan("0|HDFSCNT0|001|" + String.join("^", fields));
+
+        assertThat(scanner.trId()).isEqualTo(KisFrameScanner.TrId.US_TRADE);
+        assertThat(scanner.field(0, 4)).isEqualTo("AAPL");
+        assertThat(scanner.fieldEquals(12, '5')).isTrue();
+        assertThat(scanner.field(13)).isEqualTo("1.25");
+    }
+
+    @Test
+    @DisplayName("끝쪽 빈 필드는 split과 동일하게 개수에서 제외")
+    void trailingEmptyFieldsAreIgnored() {
+        scanner.scan("0|H0STCNT0|001|A^B^^C^^");
+
+        assertThat(scanner.fieldCount()).isEqualTo("A^B^^C^^".split("\\^").length);
+    }
+
+    @Test
+    @DisplayName("파이프 구분이 부족한 프레임과 알 수 없는 TR_ID 처리")
+    void malformedFrames() {
+        assertThat(scanner.scan("PINGPONG")).isFalse();
+        assertThat(scanner.scan("0|H0STCNT0|001")).isFalse();
+
+        assertThat(scanner.scan("0|H0UNKNWN|001|X^Y")).isTrue();
+        assertThat(scanner.trId()).isEqualTo(KisFrameScanner.TrId.UNKNOWN);
+        assertThat(scanner.trIdText()).isEqualTo("H0UNKNWN");
+    }
+
+    @Test
+    @DisplayName("소수 필드를 문자열 생성 없이 스케일 정수로 파싱")
+    void decimalFields() {
+        scanner.scan("0|HDFSCNT0|001|135.21^-1.05^+0.7^^12.34567^71500");
+
+        assertThat(scanner.decimal(0, 4)).isEqualTo(1352100);
+        assertThat(scanner.decimal(1, 2)).isEqualTo(-105);
+        assertThat(scanner.decimal(2, 2)).isEqualTo(70);
+        assertThat(scanner.decimal(3, 2)).isZero();
+        assertThat(scanner.decimal(4, 2)).isEqualTo(1234);
+        assertThat(scanner.decimal(5, 0)).isEqualTo(71500);
+        assertThat(scanner.fractionDigits(4)).isEqualTo(5);
+        assertThat(scanner.fractionDigits(5)).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("버킷 인덱스가 연속적이고 대표값의 오차가 2% 이내")
+    void bucketsAreContiguousAndPrecise() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 1 + value / 100) {
+            int index = LatencyHistogram.index(value);
+            assertThat(index).isBetween(previous, previous + 1 + (int) (value / 50));
+            previous = index;
+            assertThat((double) LatencyHistogram.midpoint(index)).isCloseTo(value, within(value * 0.02 + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("백분위는 기록한 분포를 따르고 음수는 0으로 기록")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L); // 1µs ~ 1ms
+        }
+        histogram.record(-5);
+
+        assertThat(histogram.count()).isEqualTo(1001);
+        assertThat((double) histogram.valueAt(0.5)).isCloseTo(500_000, within(10_000.0));
+        assertThat((double) histogram.valueAt(0.99)).isCloseTo(990_000, within(20_000.0));
+        assertThat(histogram.valueAt(1.0)).isEqualTo(1_000_000);
+        assertThat(histogram.max()).isEqualTo(1_000_000);
+        assertThat(histogram.valueAt(0.0001)).isZero();
+
+        histogram.reset();
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.valueAt(0.99)).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketUtilsTest {
+
+    private static ZonedDateTime kst(String localDateTime) {
+        return ZonedDateTime.parse(localDateTime + "+09:00[Asia/Seoul]");
+    }
+
+    private static ZonedDateTime utc(String localDateTime) {
+        return ZonedDateTime.of(LocalDateTime.parse(localDateTime), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("국내 종목은 평일 08:00(포함) ~ 20:00(미포함) KST")
+    void koreaBoundaries() {
+        // 2025-03-03 월요일
+        assertThat(MarketUtils.isTradingHours("005930", kst("2025-03-03T07:59:59"))).isFalse();
+        assertThat(MarketUtils.isTradingHours("005930", kst("2025-03-03T08:00:00"))).isTrue();
+        assertThat(MarketUtils.isTradingHours("005930", kst("2025-03-03T19:59:59"))).isTrue();
+        assertThat(MarketUtils.isTradingHours("005930", kst("2025-03-03T20:00:00"))).isFalse();
+        // 2025-03-08 토요일
+        assertThat(MarketUtils.isTradingHours("005930", kst("2025-03-08T10:00:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 시간대로 주어진 시각도 KST로 바꿔 판단")
+    void koreaFromOtherZone() {
+        // 2025-03-02 23:00 UTC = 2025-03-03 (월) 08:00 KST
+        assertThat(MarketUtils.isTradingHours("005930", utc("2025-03-02T23:00:00"))).isTrue();
+        assertThat(MarketUtils.isTradingHours("005930", utc("2025-03-02T22:59:59"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("미국 종목은 평일 04:00 ~ 20:00 ET, 서머타임 전후 모두")
+    void usBoundariesAcrossDst() {
+        // 2025-03-07 (금) EST, UTC-5
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-07T08:59:59"))).isFalse();
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-07T09:00:00"))).isTrue();
+        // 2025-03-10 (월) EDT, UTC-4
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-10T07:59:59"))).isFalse();
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-10T08:00:00"))).isTrue();
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-10T23:59:59"))).isTrue();
+        assertThat(MarketUtils.isTradingHours("AAPL", utc("2025-03-11T00:00:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("요일은 각 시장의 현지 날짜 기준 (미국 금요일 저녁은 한국 토요일 아침)")
+    void weekdayInLocalZone() {
+        // 2025-03-07 (금) 19:00 EST = 2025-03-08 (토) 09:00 KST
+        ZonedDateTime now = kst("2025-03-08T09:00:00");
+        assertThat(MarketUtils.isTradingHours("AAPL", now)).isTrue();
+        assertThat(MarketUtils.isTradingHours("005930", now)).isFalse();
+    }
+
+    @Test
+    @DisplayName("거래소 접두어가 붙은 코인/환율 심볼은 주말에도 항상 장중")
+    void cryptoAlwaysTrading() {
+        assertThat(MarketUtils.isTradingHours("BINANCE:BTCUSDT", kst("2025-03-09T03:00:00"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("KST 날짜는 KST 자정에 바뀌고, 시계가 뒤로 가도 그 시각의 날짜")
+    void koreaEpochDayRollsAtKstMidnight() {
+        long midnight = kst("2025-03-04T00:00:00").toInstant().toEpochMilli();
+        long march3 = LocalDate.of(2025, 3, 3).toEpochDay();
+
+        assertThat(MarketUtils.koreaEpochDay(midnight - 1)).isEqualTo(march3);
+        assertThat(MarketUtils.koreaEpochDay(midnight)).isEqualTo(march3 + 1);
+        assertThat(MarketUtils.koreaEpochDay(midnight - 1)).isEqualTo(march3);
+        // 2025-03-03 09:00 KST = 2025-03-03 00:00 UTC
+        assertThat(MarketUtils.koreaEpochDay(utc("2025-03-03T00:00:00").toInstant().toEpochMilli()))
+                .isEqualTo(march3);
+        assertThat(MarketUtils.koreaEpochDay(utc("2025-03-02T14:59:59").toInstant().toEpochMilli()))
+                .isEqualTo(march3 - 1);
+    }
+
+    @Test
+    @DisplayName("날짜 없는 체결 시각은 오늘(KST) 날짜로 환산")
+    void koreaEpochNanosOfToday() {
+        LocalDate today = LocalDate.now(MarketUtils.KOREA_ZONE);
+        int yyyymmdd = today.getYear() * 10000 + today.getMonthValue() * 100 + today.getDayOfMonth();
+        long nanos = MarketUtils.koreaEpochNanos(0, 93015);
+        long expected = MarketUtils.koreaEpochNanos(yyyymmdd, 93015);
+
+        assertThat(nanos).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,59 @@
+package com.glance.domain.stocks.utils;
+
+import com.glance.domain.stocks.dto.PriceTick;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceTickCodecTest {
+
+    private static PriceTick tick(long price, long change, long changeRate, int scale) {
+        return PriceTick.builder()
+                .symbol("005930")
+                .price(price)
+                .change(change)
+                .changeRate(changeRate)
+                .scale(scale)
+                .volume(12_345_678)
+                .epochNanos(MarketUtils.koreaEpochNanos(20250303, 93015))
+                .marketStatus(PriceTick.MarketStatus.REGULAR)
+                .venue(PriceTick.Venue.KRX)
+                .ingestNanos(1_740_962_115_123_456_789L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("인코딩 후 디코딩하면 같은 체결, JSON보다 훨씬 작음")
+    void roundTrip() {
+        PriceTick original = tick(71500, -500, -69, 0);
+
+        byte[] payload = PriceTickCodec.encode(original);
+
+        assertThat(PriceTickCodec.isBinary(payload)).isTrue();
+        assertThat(PriceTickCodec.decode("005930", payload)).isEqualTo(original);
+        assertThat(payload.length).isLessThan(40);
+    }
+
+    @Test
+    @DisplayName("음수/큰 값과 null 상태·거래소도 보존")
+    void edgeValues() {
+        PriceTick original = new PriceTick("AAPL", Long.MAX_VALUE, Long.MIN_VALUE, -1, 4, 0, 0, null, null, 0);
+
+        assertThat(PriceTickCodec.decode("AAPL", PriceTickCodec.encode(original))).isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("JSON 페이로드는 바이너리로 보지 않고, 잘린 페이로드는 거부")
+    void rejectsForeignPayloads() {
+        assertThat(PriceTickCodec.isBinary("{\"symbol\":\"005930\"}".getBytes(StandardCharsets.UTF_8))).isFalse();
+
+        byte[] payload = PriceTickCodec.encode(tick(71500, 500, 70, 0));
+        assertThatThrownBy(() -> PriceTickCodec.decode("005930", Arrays.copyOf(payload, payload.length - 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
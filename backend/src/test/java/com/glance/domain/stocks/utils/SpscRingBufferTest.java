@@ -0,0 +1,81 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpscRingBufferTest {
+
+    private static final class Slot {
+        long value;
+    }
+
+    @Test
+    @DisplayName("가득 차면 claim이 null을 반환하고, 소비 후 슬롯을 재사용")
+    void fullBufferRejectsUntilDrained() {
+        SpscRingBuffer<Slot> ring = new SpscRingBuffer<>(4, Slot::new);
+        for (int i = 0; i < 4; i++) {
+            ring.claim().value = i;
+            ring.publish();
+        }
+        assertThat(ring.claim()).isNull();
+        assertThat(ring.size()).isEqualTo(4);
+
+        List<Long> seen = new ArrayList<>();
+        assertThat(ring.drain(s -> seen.add(s.value), 3)).isEqualTo(3);
+        assertThat(seen).containsExactly(0L, 1L, 2L);
+
+        ring.claim().value = 4;
+        ring.publish();
+        ring.drain(s -> seen.add(s.value), 10);
+        assertThat(seen).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("생산자/소비자 스레드 간 순서와 값 보존")
+    void preservesOrderAcrossThreads() throws InterruptedException {
+        SpscRingBuffer<Slot> ring = new SpscRingBuffer<>(64, Slot::new);
+        int count = 100_000;
+        long[] sum = new long[1];
+        long[] last = { -1 };
+        boolean[] ordered = { true };
+
+        Thread consumer = new Thread(() -> {
+            int received = 0;
+            while (received < count) {
+                received += ring.drain(s -> {
+                    if (s.value != last[0] + 1)
+                        ordered[0] = false;
+                    last[0] = s.value;
+                    sum[0] += s.value;
+                }, 32);
+            }
+        });
+        consumer.start();
+        for (int i = 0; i < count; i++) {
+            Slot slot;
+            while ((slot = ring.claim()) == null) {
+                Thread.onSpinWait();
+            }
+            slot.value = i;
+            ring.publish();
+        }
+        consumer.join(10_000);
+
+        assertThat(ordered[0]).isTrue();
+        assertThat(sum[0]).isEqualTo((long) count * (count - 1) / 2);
+    }
+
+    @Test
+    @DisplayName("용량은 2의 거듭제곱이어야 함")
+    void capacityMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new SpscRingBuffer<>(100, Slot::new))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
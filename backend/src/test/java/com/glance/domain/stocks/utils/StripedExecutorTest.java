@@ -0,0 +1,134 @@
+package com.glance.domain.stocks.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedExecutorTest {
+
+    private StripedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 실행")
+    void keepsOrderPerKey() throws InterruptedException {
+        executor = new StripedExecutor("test", 4, 10_000);
+        List<Integer> a = new CopyOnWriteArrayList<>();
+        List<Integer> b = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2000);
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            executor.execute("005930", () -> {
+                a.add(n);
+                done.countDown();
+            });
+            executor.execute("AAPL", () -> {
+                b.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(a).isSorted().hasSize(1000);
+        assertThat(b).isSorted().hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 같은 키의 오래된 작업을 버리고 최신 작업은 남김")
+    void dropsOldestWhenFull() throws InterruptedException {
+        executor = new StripedExecutor("test", 1, 2);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        executor.execute("k", () -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 1; i <= 4; i++) {
+            int n = i;
+            executor.execute("k", () -> {
+                ran.add(n);
+                done.countDown();
+            });
+        }
+        blocker.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly(3, 4);
+        assertThat(executor.stats()).containsEntry("dropped", 2L);
+    }
+
+    @Test
+    @DisplayName("바쁜 키가 레인을 채워도 조용한 키의 하나뿐인 작업은 버리지 않음")
+    void hotKeyNeverEvictsQuietKey() throws InterruptedException {
+        executor = new StripedExecutor("test", 1, 2);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        executor.execute("hot", () -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 1; i <= 3; i++) {
+            String tick = "hot" + i;
+            executor.execute("hot", () -> {
+                ran.add(tick);
+                done.countDown();
+            });
+        }
+        // 레인이 가득 찬 뒤 들어온 조용한 키: 바쁜 키의 밀린 작업을 대신 버림
+        executor.execute("quiet", () -> {
+            ran.add("quiet1");
+            done.countDown();
+        });
+        // 모든 키가 작업 하나씩이면 용량을 넘어도 받음
+        executor.execute("other", () -> {
+            ran.add("other1");
+            done.countDown();
+        });
+        blocker.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactlyInAnyOrder("hot3", "quiet1", "other1");
+        assertThat(executor.stats()).containsEntry("dropped", 2L);
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 집계만 하고 레인은 계속 동작")
+    void failedTaskKeepsLaneRunning() throws InterruptedException {
+        executor = new StripedExecutor("test", 1, 10);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute("k", done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.stats()).containsEntry("failed", 1L);
+    }
+}